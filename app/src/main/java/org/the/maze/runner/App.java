@@ -1,53 +0,0 @@
-package org.the.maze.runner;
-
-import java.util.HashMap;
-import java.util.Map;
-
-import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
-
-public class App extends Application {
-
-    private static Stage primaryStage;
-    private static String mazeStore;
-
-    public static Stage getPrimaryStage() {
-        return primaryStage;
-    }
-
-    @Override
-    public void start(Stage stage) throws Exception {
-        System.out.println(App.class.getResource("main-view.fxml"));
-
-        primaryStage = stage;
-        setRoot("main-view");
-        stage.setTitle("The Maze Runner lnwza");
-        stage.show();
-    }
-
-    public static void setRoot(String fxml) {
-        try {
-            FXMLLoader loader = new FXMLLoader(App.class.getResource(fxml + ".fxml"));
-            double width = 1080;
-            double height = 600;
-
-            Scene scene = new Scene(loader.load(), width, height);
-            primaryStage.setScene(scene);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
-    // -----------------------------
-    // DATA PASSING BETWEEN PAGES
-    // -----------------------------
-    public static void setMaze(String maze) {
-        mazeStore = maze;
-    }
-
-    public static String getMaze() {
-        return mazeStore;
-    }
-}
@@ -0,0 +1,58 @@
+package org.the.maze.runner.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.the.maze.runner.algorithm.AlgorithmUtils;
+import org.the.maze.runner.algorithm.PathFindingAlgorithm;
+import org.the.maze.runner.maze_generate.ParallelMazeGenerator;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Times the grid solvers on a generated maze (corner to corner) and prints
+ * the median and best run of each.
+ *
+ * Usage: SolverBenchmark [size] [runs] [algorithm...]
+ */
+public class SolverBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 501;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<String> names = args.length > 2 ? Arrays.asList(args).subList(2, args.length)
+                : List.of("bfs", "astar", "dijkstra");
+
+        long started = System.nanoTime();
+        Grid grid = ParallelMazeGenerator.generate(size, size, 42, Runtime.getRuntime().availableProcessors())
+                .getGrid();
+        Node start = grid.getNode(0, 0);
+        Node end = grid.getNode(grid.getWidth() - 1, grid.getHeight() - 1);
+        System.out.printf("%dx%d maze generated in %d ms%n", grid.getWidth(), grid.getHeight(),
+                (System.nanoTime() - started) / 1_000_000);
+
+        for (String name : names) {
+            PathFindingAlgorithm algorithm = AlgorithmUtils.byName(name);
+            if (algorithm == null) {
+                System.err.println("Unknown algorithm: " + name);
+                continue;
+            }
+
+            for (int i = 0; i < WARMUP_RUNS; i++)
+                algorithm.findPath(grid, start, end);
+
+            long[] micros = new long[runs];
+            int length = 0;
+            for (int i = 0; i < runs; i++) {
+                long t0 = System.nanoTime();
+                length = algorithm.findPath(grid, start, end).size();
+                micros[i] = (System.nanoTime() - t0) / 1_000;
+            }
+            Arrays.sort(micros);
+            System.out.printf("%-10s median %8d us   best %8d us   path %d cells%n", name, micros[runs / 2],
+                    micros[0], length);
+        }
+    }
+}
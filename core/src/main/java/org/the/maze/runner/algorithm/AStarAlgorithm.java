@@ -5,6 +5,24 @@ import java.util.*;
 
 public class AStarAlgorithm implements PathFindingAlgorithm {
 
+    // Optional expansion log for animating the search; null when off
+    private SearchTrace trace;
+
+    private int expanded;
+
+    public void setTrace(SearchTrace trace) {
+        this.trace = trace;
+    }
+
+    // Nodes taken off the open set by the last search
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // A queued node with the fScore it had when queued
+    private record OpenEntry(Node node, int fScore) {
+    }
+
     // Heuristic function: estimate cost from current node to the end node.
     // Using Manhattan Distance because movement is restricted to 4 directions.
     private int calculateHeuristic(Node current,Node end){
@@ -14,6 +32,22 @@ public class AStarAlgorithm implements PathFindingAlgorithm {
 
     @Override
     public List<Node> findPath(Grid grid, Node start, Node end) {
+        if (trace != null)
+            trace.begin(grid);
+        expanded = 0;
+
+        // Start and goal in different regions: skip the search entirely
+        if (!grid.mayReach(start, end)) {
+            return Collections.emptyList();
+        }
+
+        // Too big for per-node maps: keep the search state off-heap instead
+        if (!grid.fitsCellArrays()) {
+            LargeGridSearch search = new LargeGridSearch(grid, trace);
+            List<Node> path = search.cheapest(start, end);
+            expanded = search.getExpanded();
+            return path;
+        }
 
         // gScore: actual cost from start to a given node.
         // Initialize g(start) = 0.
@@ -28,14 +62,30 @@ public class AStarAlgorithm implements PathFindingAlgorithm {
         Map<Node,Node> parentMap = new HashMap<>();
 
         // Open Set: nodes to be evaluated (priority queue sorted by best fScore).
-        PriorityQueue<Node> openSet = new PriorityQueue<>(
-            Comparator.comparingInt(node -> fScore.get(node))
+        // Entries keep the fScore they were queued with, so improving a node
+        // queues it again instead of reordering the heap under its feet.
+        PriorityQueue<OpenEntry> openSet = new PriorityQueue<>(
+            Comparator.comparingInt(OpenEntry::fScore)
         );
-        openSet.add(start);
+        openSet.add(new OpenEntry(start, fScore.get(start)));
 
         while(!openSet.isEmpty()){
             // Select the node with the lowest fScore.
-            Node current = openSet.poll();
+            OpenEntry entry = openSet.poll();
+            Node current = entry.node();
+
+            // Skip entries superseded by a cheaper path found later
+            if(entry.fScore() != fScore.get(current)){
+                continue;
+            }
+
+            // Cancelled (e.g. lost a PortfolioAlgorithm race)
+            if(Thread.currentThread().isInterrupted()){
+                return Collections.emptyList();
+            }
+            expanded++;
+            if (trace != null)
+                trace.record(SearchTrace.CLOSE, current.x, current.y);
 
             // If we reached the goal, reconstruct the full path.
             if(current.equals(end)){
@@ -72,9 +122,9 @@ public class AStarAlgorithm implements PathFindingAlgorithm {
                     int new_fScore = gScore.get(neighbor) + calculateHeuristic(neighbor,end);
                     fScore.put(neighbor,new_fScore);
 
-                    if(!openSet.contains(neighbor)){
-                        openSet.add(neighbor);
-                    }
+                    openSet.add(new OpenEntry(neighbor, new_fScore));
+                    if (trace != null)
+                        trace.record(SearchTrace.OPEN, neighbor.x, neighbor.y);
                 }
 
             }
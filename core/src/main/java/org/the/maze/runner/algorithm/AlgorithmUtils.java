@@ -0,0 +1,89 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.the.maze.runner.model.Node;
+
+public class AlgorithmUtils {
+
+    /**
+     * Creates a fresh solver from its short name (as used by the solve service).
+     * Solvers with a setting take it after a colon: "budget-weight:40" is the
+     * fewest steps within a total weight of 40, "budget-steps:60" the lowest
+     * weight within 60 steps. Returns null when the name is unknown; a
+     * malformed setting throws NumberFormatException.
+     */
+    public static PathFindingAlgorithm byName(String name) {
+        String key = name.toLowerCase();
+        int colon = key.indexOf(':');
+        if (colon >= 0) {
+            int limit = Integer.parseInt(key.substring(colon + 1).trim());
+            switch (key.substring(0, colon)) {
+                case "budget-weight":
+                    return new ResourceConstrainedAlgorithm(
+                            ResourceConstrainedAlgorithm.Objective.FEWEST_STEPS_WITHIN_WEIGHT, limit);
+                case "budget-steps":
+                    return new ResourceConstrainedAlgorithm(
+                            ResourceConstrainedAlgorithm.Objective.LOWEST_WEIGHT_WITHIN_STEPS, limit);
+                default:
+                    return null;
+            }
+        }
+
+        switch (key) {
+            case "bfs":
+                return new BFSAlgorithm();
+            case "astar":
+                return new AStarAlgorithm();
+            case "dijkstra":
+                return new DijkstraAlgorithm();
+            case "jps":
+                return new JumpPointAlgorithm();
+            case "time-windows":
+                return new TimeWindowAlgorithm();
+            case "pareto":
+                return new ParetoFrontAlgorithm();
+            case "k-shortest":
+                // findPath gives the cheapest path; findPaths ranks the rest
+                return new KShortestPathsAlgorithm(1);
+            case "ga-simple":
+                return new GaSimple();
+            case "ga-complex":
+                return new GaComplex();
+            case "portfolio":
+                return PortfolioAlgorithm.standard(10_000);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Helper function to backtrack from the end node to the start node
+     * using the parentMap to build the final path list.
+     */
+    public static List<Node> reconstructPath(Map<Node, Node> parentMap, Node start, Node end) {
+        List<Node> path = new LinkedList<>();
+        Node current = end;
+
+        // Backtrack from end to start using the recorded parents
+        while (current != null) {
+            path.add(0, current); // Add to the front to maintain correct order (start -> end)
+            current = parentMap.get(current);
+
+            // Safety break if we somehow cycle or reach the start node (which has no parent
+            // in the map)
+            if (current != null && current.equals(start)) {
+                path.add(0, start);
+                break;
+            }
+        }
+
+        // If the path reconstruction started correctly but didn't find the start node,
+        // the path will be incomplete. Since we ensure it breaks on finding the end
+        // node,
+        // this is mostly for completeness.
+        return path;
+    }
+}
@@ -7,8 +7,28 @@ import java.util.*;
 
 public class BFSAlgorithm implements PathFindingAlgorithm {
 
+    // Optional expansion log for animating the search; null when off
+    private SearchTrace trace;
+
+    public void setTrace(SearchTrace trace) {
+        this.trace = trace;
+    }
+
     @Override
     public List<Node> findPath(Grid grid, Node start, Node end) {
+        if (trace != null)
+            trace.begin(grid);
+
+        // Start and goal in different regions: skip the search entirely
+        if (!grid.mayReach(start, end)) {
+            return Collections.emptyList();
+        }
+
+        // Too big for a visited set: keep the search state off-heap instead
+        if (!grid.fitsCellArrays()) {
+            return new LargeGridSearch(grid, trace).fewestSteps(start, end);
+        }
+
         // 1. Queue for nodes to visit
         Queue<Node> queue = new LinkedList<>();
         queue.add(start);
@@ -25,6 +45,13 @@ public class BFSAlgorithm implements PathFindingAlgorithm {
         while (!queue.isEmpty()) {
             Node current = queue.poll();
 
+            // Cancelled (e.g. lost a PortfolioAlgorithm race)
+            if (Thread.currentThread().isInterrupted()) {
+                return Collections.emptyList();
+            }
+            if (trace != null)
+                trace.record(SearchTrace.CLOSE, current.x, current.y);
+
             // Check if we reached the goal
             if (current.equals(end)) {
                 return AlgorithmUtils.reconstructPath(parentMap, start, end);
@@ -45,6 +72,8 @@ public class BFSAlgorithm implements PathFindingAlgorithm {
 
                     // Add to the queue for next iteration
                     queue.add(neighbor);
+                    if (trace != null)
+                        trace.record(SearchTrace.OPEN, neighbor.x, neighbor.y);
                 }
             }
         }
@@ -0,0 +1,563 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Compact search graph for a {@link Grid}, built in two passes:
+ *
+ * 1. Dead-end filling. Cells with at most one free neighbour are removed
+ * repeatedly. Each removed cell remembers the neighbour it was attached to
+ * ({@code exit}), so every removed cell hangs off a tree whose unique path
+ * leads back to the remaining core. A perfect maze is one tree and loses
+ * every cell.
+ *
+ * 2. Corridor contraction. Core cells with exactly two core neighbours are
+ * folded into weighted edges between the remaining junction cells. Edges are
+ * stored as CSR arrays (per-vertex offsets into flat target/cost arrays).
+ *
+ * Queries walk the exit trees for the endpoints, run Dijkstra on the
+ * contracted graph only when the core is involved, and expand the result
+ * back into grid cells. Moving into a cell costs that cell's weight, as in
+ * {@link AStarAlgorithm}.
+ */
+public class ContractedGraph {
+
+    private static final int NONE = -1;
+    private static final int INF = Integer.MAX_VALUE;
+
+    private final Grid grid;
+    private final int width;
+    private final int passableCount;
+
+    // --- Per cell (index y * width + x) ---
+    private final int[] weight;
+    private final int[] exit; // removed cells: next cell towards the core, NONE at a tree root
+    private final boolean[] core;
+    private final int[] vertexOf; // vertex id of a junction cell, else NONE
+    private final int[] corridorOf; // corridor id of a corridor cell, else NONE
+    private final int[] positionOf; // index of a corridor cell inside its corridor
+
+    // --- Vertices and corridors ---
+    private final int[] vertexCell;
+    private final int[] corridorOffset; // corridor k owns corridorCells[offset[k] .. offset[k+1])
+    private final int[] corridorCells; // ordered from corridorFrom towards corridorTo
+    private final int[] corridorFrom;
+    private final int[] corridorTo;
+
+    // --- CSR adjacency: arcs of vertex v are arcOffset[v] .. arcOffset[v+1] ---
+    private final int[] arcOffset;
+    private final int[] arcTarget;
+    private final int[] arcCost;
+    private final int[] arcCorridor; // corridor * 2 + (0 forward, 1 backward)
+
+    // Needs grid.fitsCellArrays()
+    public static ContractedGraph of(Grid grid) {
+        return grid.getDerived(ContractedGraph.class, ContractedGraph::new);
+    }
+
+    private ContractedGraph(Grid grid) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        if (!grid.fitsCellArrays())
+            throw new IllegalArgumentException("Grid too large to contract: " + width + "x" + grid.getHeight());
+        int n = width * grid.getHeight();
+
+        weight = new int[n];
+        exit = new int[n];
+        core = new boolean[n];
+        vertexOf = new int[n];
+        corridorOf = new int[n];
+        positionOf = new int[n];
+        Arrays.fill(exit, NONE);
+        Arrays.fill(vertexOf, NONE);
+        Arrays.fill(corridorOf, NONE);
+
+        // --- Pass 1: dead-end filling ---
+        int[] degree = new int[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        int passable = 0;
+
+        for (int cell = 0; cell < n; cell++) {
+            int x = cell % width;
+            int y = cell / width;
+            if (grid.isPassable(x, y)) {
+                passable++;
+                core[cell] = true;
+                weight[cell] = grid.getWeight(x, y);
+            }
+        }
+        for (int cell = 0; cell < n; cell++) {
+            if (!core[cell])
+                continue;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = neighbour(cell, dir);
+                if (next != NONE && core[next])
+                    degree[cell]++;
+            }
+            if (degree[cell] <= 1)
+                queue[tail++] = cell;
+        }
+        passableCount = passable;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            core[cell] = false;
+
+            // At most one neighbour is still in the core: that is the way out
+            for (int dir = 0; dir < 4; dir++) {
+                int next = neighbour(cell, dir);
+                if (next != NONE && core[next]) {
+                    exit[cell] = next;
+                    if (--degree[next] == 1)
+                        queue[tail++] = next;
+                }
+            }
+        }
+
+        // --- Pass 2: junctions become vertices, runs of degree-2 cells become corridors ---
+        int vertices = 0;
+        for (int cell = 0; cell < n; cell++) {
+            if (core[cell] && degree[cell] != 2)
+                vertexOf[cell] = vertices++;
+        }
+
+        List<int[]> corridors = new ArrayList<>();
+        int[] run = new int[16];
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int cell = 0; cell < n; cell++) {
+                if (!core[cell])
+                    continue;
+
+                // Second pass: cycles made only of degree-2 cells get one vertex
+                if (pass == 1) {
+                    if (vertexOf[cell] != NONE || corridorOf[cell] != NONE)
+                        continue;
+                    vertexOf[cell] = vertices++;
+                } else if (vertexOf[cell] == NONE) {
+                    continue;
+                }
+
+                for (int dir = 0; dir < 4; dir++) {
+                    int first = neighbour(cell, dir);
+                    if (first == NONE || !core[first] || corridorOf[first] != NONE)
+                        continue;
+                    // Adjacent junctions: record the edge once
+                    if (vertexOf[first] != NONE && first < cell)
+                        continue;
+
+                    int length = 0;
+                    int previous = cell;
+                    int current = first;
+                    while (vertexOf[current] == NONE) {
+                        if (length == run.length)
+                            run = Arrays.copyOf(run, length * 2);
+                        run[length++] = current;
+                        corridorOf[current] = corridors.size();
+                        positionOf[current] = length - 1;
+
+                        int next = NONE;
+                        for (int d = 0; d < 4; d++) {
+                            int candidate = neighbour(current, d);
+                            if (candidate != NONE && core[candidate] && candidate != previous) {
+                                next = candidate;
+                                break;
+                            }
+                        }
+                        previous = current;
+                        current = next;
+                    }
+
+                    int[] corridor = new int[length + 2];
+                    corridor[0] = vertexOf[cell];
+                    corridor[1] = vertexOf[current];
+                    System.arraycopy(run, 0, corridor, 2, length);
+                    corridors.add(corridor);
+                }
+            }
+        }
+
+        vertexCell = new int[vertices];
+        for (int cell = 0; cell < n; cell++) {
+            if (vertexOf[cell] != NONE)
+                vertexCell[vertexOf[cell]] = cell;
+        }
+
+        int corridorCount = corridors.size();
+        corridorOffset = new int[corridorCount + 1];
+        corridorFrom = new int[corridorCount];
+        corridorTo = new int[corridorCount];
+        int totalCells = 0;
+        for (int k = 0; k < corridorCount; k++) {
+            corridorOffset[k] = totalCells;
+            totalCells += corridors.get(k).length - 2;
+        }
+        corridorOffset[corridorCount] = totalCells;
+        corridorCells = new int[totalCells];
+
+        int[] arcCount = new int[vertices + 1];
+        for (int k = 0; k < corridorCount; k++) {
+            int[] corridor = corridors.get(k);
+            corridorFrom[k] = corridor[0];
+            corridorTo[k] = corridor[1];
+            System.arraycopy(corridor, 2, corridorCells, corridorOffset[k], corridor.length - 2);
+            // Loops back to the same junction never shorten a path
+            if (corridor[0] != corridor[1]) {
+                arcCount[corridor[0]]++;
+                arcCount[corridor[1]]++;
+            }
+        }
+
+        arcOffset = new int[vertices + 1];
+        for (int v = 0; v < vertices; v++)
+            arcOffset[v + 1] = arcOffset[v] + arcCount[v];
+
+        int arcs = arcOffset[vertices];
+        arcTarget = new int[arcs];
+        arcCost = new int[arcs];
+        arcCorridor = new int[arcs];
+        int[] fill = Arrays.copyOf(arcOffset, vertices);
+
+        for (int k = 0; k < corridorCount; k++) {
+            int from = corridorFrom[k];
+            int to = corridorTo[k];
+            if (from == to)
+                continue;
+
+            int inner = 0;
+            for (int i = corridorOffset[k]; i < corridorOffset[k + 1]; i++)
+                inner += weight[corridorCells[i]];
+
+            int a = fill[from]++;
+            arcTarget[a] = to;
+            arcCost[a] = inner + weight[vertexCell[to]];
+            arcCorridor[a] = k * 2;
+
+            int b = fill[to]++;
+            arcTarget[b] = from;
+            arcCost[b] = inner + weight[vertexCell[from]];
+            arcCorridor[b] = k * 2 + 1;
+        }
+    }
+
+    public int getPassableCount() {
+        return passableCount;
+    }
+
+    public int getVertexCount() {
+        return vertexCell.length;
+    }
+
+    public int getArcCount() {
+        return arcTarget.length;
+    }
+
+    /**
+     * Cheapest path from start to end as grid nodes, or an empty list when
+     * end cannot be reached.
+     */
+    public List<Node> findPath(Node start, Node end) {
+        if (!grid.isPassable(start.x, start.y) || !grid.isPassable(end.x, end.y))
+            return Collections.emptyList();
+
+        int s = start.y * width + start.x;
+        int t = end.y * width + end.x;
+
+        // Walk both endpoints out of their dead-end trees
+        int[] chainS = exitChain(s);
+        int[] chainT = exitChain(t);
+
+        // Meeting inside a tree (or at its attachment cell): the tree path is the only simple path
+        Map<Integer, Integer> onChainS = new HashMap<>();
+        for (int i = 0; i < chainS.length; i++)
+            onChainS.put(chainS[i], i);
+        for (int j = 0; j < chainT.length; j++) {
+            Integer i = onChainS.get(chainT[j]);
+            if (i != null) {
+                int[] cells = new int[i + j + 1];
+                System.arraycopy(chainS, 0, cells, 0, i + 1);
+                for (int k = 0; k < j; k++)
+                    cells[i + j - k] = chainT[k];
+                return toNodes(cells);
+            }
+        }
+
+        int cs = chainS[chainS.length - 1];
+        int ct = chainT[chainT.length - 1];
+        if (!core[cs] || !core[ct])
+            return Collections.emptyList(); // different components
+
+        int[] middle = corePath(cs, ct);
+        if (middle == null)
+            return Collections.emptyList();
+
+        // chainS (s..cs) + middle (cs..ct) + reversed chainT (ct..t)
+        int[] cells = new int[chainS.length - 1 + middle.length + chainT.length - 1];
+        System.arraycopy(chainS, 0, cells, 0, chainS.length - 1);
+        System.arraycopy(middle, 0, cells, chainS.length - 1, middle.length);
+        int at = chainS.length - 1 + middle.length;
+        for (int k = chainT.length - 2; k >= 0; k--)
+            cells[at++] = chainT[k];
+        return toNodes(cells);
+    }
+
+    // cell, exit[cell], ... up to the first core cell or tree root
+    private int[] exitChain(int cell) {
+        int length = 1;
+        for (int c = cell; !core[c] && exit[c] != NONE; c = exit[c])
+            length++;
+
+        int[] chain = new int[length];
+        int c = cell;
+        for (int i = 0; i < length; i++) {
+            chain[i] = c;
+            c = exit[c];
+        }
+        return chain;
+    }
+
+    /**
+     * Cheapest path between two core cells: Dijkstra over the vertices,
+     * seeded from the corridor ends around cs and stopped once no cheaper
+     * arrival at ct is possible.
+     */
+    private int[] corePath(int cs, int ct) {
+        int vertices = vertexCell.length;
+        int[] dist = new int[vertices];
+        int[] parentArc = new int[vertices];
+        boolean[] settled = new boolean[vertices];
+        Arrays.fill(dist, INF);
+        Arrays.fill(parentArc, NONE);
+
+        LongMinHeap open = new LongMinHeap();
+
+        // Seed: the start cell itself, or both ends of its corridor
+        if (vertexOf[cs] != NONE) {
+            dist[vertexOf[cs]] = 0;
+            open.push(LongMinHeap.pack(0, vertexOf[cs]));
+        } else {
+            int k = corridorOf[cs];
+            relaxSeed(dist, open, corridorFrom[k], costAlong(k, positionOf[cs], -1));
+            relaxSeed(dist, open, corridorTo[k], costAlong(k, positionOf[cs], +1));
+        }
+
+        // Direct walk when both cells share a corridor
+        int best = INF;
+        int bestVertex = NONE;
+        if (vertexOf[cs] == NONE && corridorOf[cs] == corridorOf[ct]) {
+            int p = positionOf[cs];
+            int q = positionOf[ct];
+            int base = corridorOffset[corridorOf[cs]];
+            int cost = 0;
+            for (int i = Math.min(p, q); i <= Math.max(p, q); i++)
+                cost += weight[corridorCells[base + i]];
+            best = cost - weight[cs];
+        }
+
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            int d = LongMinHeap.priority(entry);
+            int v = LongMinHeap.value(entry);
+            if (settled[v] || d != dist[v])
+                continue;
+            if (d >= best)
+                break;
+            if (Thread.currentThread().isInterrupted())
+                return null; // cancelled, e.g. lost a PortfolioAlgorithm race
+            settled[v] = true;
+
+            int arrival = arrivalCost(v, ct);
+            if (arrival != INF && d + arrival < best) {
+                best = d + arrival;
+                bestVertex = v;
+            }
+
+            for (int a = arcOffset[v]; a < arcOffset[v + 1]; a++) {
+                int u = arcTarget[a];
+                int nd = d + arcCost[a];
+                if (nd < dist[u]) {
+                    dist[u] = nd;
+                    parentArc[u] = a;
+                    open.push(LongMinHeap.pack(nd, u));
+                }
+            }
+        }
+
+        if (best == INF)
+            return null;
+
+        IntList cells = new IntList();
+        if (bestVertex == NONE) {
+            // Straight along the shared corridor
+            walkCorridor(cells, corridorOf[cs], positionOf[cs], positionOf[ct]);
+            return cells.toArray();
+        }
+
+        // Vertices from bestVertex back to the seed, then unwind in order
+        IntList vertexPath = new IntList();
+        IntList arcPath = new IntList();
+        for (int v = bestVertex; parentArc[v] != NONE; v = arcSource(parentArc[v])) {
+            arcPath.add(parentArc[v]);
+            vertexPath.add(v);
+        }
+        int seed = arcPath.size() == 0 ? bestVertex : arcSource(arcPath.get(arcPath.size() - 1));
+
+        // cs .. seed vertex
+        if (vertexOf[cs] == NONE) {
+            int k = corridorOf[cs];
+            int target = corridorFrom[k] == seed && (corridorTo[k] != seed
+                    || costAlong(k, positionOf[cs], -1) <= costAlong(k, positionOf[cs], +1)) ? -1 : corridorLength(k);
+            walkCorridor(cells, k, positionOf[cs], target);
+        }
+        cells.add(vertexCell[seed]);
+
+        // seed .. bestVertex through contracted arcs
+        for (int i = arcPath.size() - 1; i >= 0; i--) {
+            int a = arcPath.get(i);
+            int k = arcCorridor[a] >> 1;
+            int base = corridorOffset[k];
+            int length = corridorLength(k);
+            if ((arcCorridor[a] & 1) == 0) {
+                for (int j = 0; j < length; j++)
+                    cells.add(corridorCells[base + j]);
+            } else {
+                for (int j = length - 1; j >= 0; j--)
+                    cells.add(corridorCells[base + j]);
+            }
+            cells.add(vertexCell[vertexPath.get(i)]);
+        }
+
+        // bestVertex .. ct
+        if (vertexCell[bestVertex] != ct) {
+            int k = corridorOf[ct];
+            int from = corridorFrom[k] == bestVertex && (corridorTo[k] != bestVertex
+                    || arrivalFrom(k, positionOf[ct], -1) <= arrivalFrom(k, positionOf[ct], +1)) ? -1 : corridorLength(k);
+            int step = from < positionOf[ct] ? 1 : -1;
+            int base = corridorOffset[k];
+            for (int i = from + step; i != positionOf[ct] + step; i += step)
+                cells.add(corridorCells[base + i]);
+        }
+        return cells.toArray();
+    }
+
+    private void relaxSeed(int[] dist, LongMinHeap open, int v, int cost) {
+        if (cost < dist[v]) {
+            dist[v] = cost;
+            open.push(LongMinHeap.pack(cost, v));
+        }
+    }
+
+    // Cost from corridor position p to the corridor end in direction dir (-1 from, +1 to)
+    private int costAlong(int k, int p, int dir) {
+        int base = corridorOffset[k];
+        int cost = 0;
+        for (int i = p + dir; i >= 0 && i < corridorLength(k); i += dir)
+            cost += weight[corridorCells[base + i]];
+        return cost + weight[vertexCell[dir < 0 ? corridorFrom[k] : corridorTo[k]]];
+    }
+
+    // Cost from the corridor end in direction dir (-1 from, +1 to) into position q
+    private int arrivalFrom(int k, int q, int dir) {
+        int base = corridorOffset[k];
+        int cost = 0;
+        if (dir < 0) {
+            for (int i = 0; i <= q; i++)
+                cost += weight[corridorCells[base + i]];
+        } else {
+            for (int i = corridorLength(k) - 1; i >= q; i--)
+                cost += weight[corridorCells[base + i]];
+        }
+        return cost;
+    }
+
+    // Cheapest finish from vertex v to ct, INF when ct is not next to v
+    private int arrivalCost(int v, int ct) {
+        if (vertexCell[v] == ct)
+            return 0;
+        int k = corridorOf[ct];
+        if (k == NONE)
+            return INF;
+
+        int cost = INF;
+        if (corridorFrom[k] == v)
+            cost = arrivalFrom(k, positionOf[ct], -1);
+        if (corridorTo[k] == v)
+            cost = Math.min(cost, arrivalFrom(k, positionOf[ct], +1));
+        return cost;
+    }
+
+    // Adds corridor cells strictly after position p up to and including q (q may be -1 or length for the ends)
+    private void walkCorridor(IntList cells, int k, int p, int q) {
+        int base = corridorOffset[k];
+        int step = q < p ? -1 : 1;
+        cells.add(corridorCells[base + p]);
+        for (int i = p + step; i != q + step && i >= 0 && i < corridorLength(k); i += step)
+            cells.add(corridorCells[base + i]);
+    }
+
+    private int corridorLength(int k) {
+        return corridorOffset[k + 1] - corridorOffset[k];
+    }
+
+    private int arcSource(int a) {
+        int k = arcCorridor[a] >> 1;
+        return (arcCorridor[a] & 1) == 0 ? corridorFrom[k] : corridorTo[k];
+    }
+
+    // Neighbour cell in direction 0..3 (right, left, down, up), NONE outside the grid
+    private int neighbour(int cell, int dir) {
+        int x = cell % width;
+        int y = cell / width;
+        switch (dir) {
+            case 0:
+                return x + 1 < width ? cell + 1 : NONE;
+            case 1:
+                return x > 0 ? cell - 1 : NONE;
+            case 2:
+                return y + 1 < grid.getHeight() ? cell + width : NONE;
+            default:
+                return y > 0 ? cell - width : NONE;
+        }
+    }
+
+    private List<Node> toNodes(int[] cells) {
+        List<Node> path = new ArrayList<>(cells.length);
+        for (int cell : cells)
+            path.add(grid.getNode(cell % width, cell / width));
+        return path;
+    }
+
+    // Growable int array used while expanding paths
+    private static final class IntList {
+        private int[] values = new int[32];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
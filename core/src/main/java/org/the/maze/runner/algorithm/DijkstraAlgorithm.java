@@ -0,0 +1,24 @@
+package org.the.maze.runner.algorithm;
+
+import org.the.maze.runner.model.*;
+import java.util.*;
+
+public class DijkstraAlgorithm implements PathFindingAlgorithm {
+
+    @Override
+    public List<Node> findPath(Grid grid, Node start, Node end) {
+        // Start and goal in different regions: skip the search entirely
+        if (!grid.mayReach(start, end)) {
+            return Collections.emptyList();
+        }
+
+        // Too large (or off-heap) for the per-cell arrays of the contracted graph
+        if (!grid.fitsCellArrays()) {
+            return new AStarAlgorithm().findPath(grid, start, end);
+        }
+
+        // Dijkstra runs on the dead-end-filled, corridor-contracted graph,
+        // built once per grid and expanded back to grid cells afterwards.
+        return ContractedGraph.of(grid).findPath(start, end);
+    }
+}
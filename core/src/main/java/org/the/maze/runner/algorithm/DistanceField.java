@@ -0,0 +1,189 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Costs from one or more sources to every cell of a {@link Grid} (or from
+ * every cell to one or more targets), filled by a single Dijkstra sweep.
+ *
+ * The result is a primitive {@code int[]} of costs plus a parent array, so
+ * any number of goals can be answered afterwards without searching again.
+ * Moving into a cell costs that cell's weight, as in {@link AStarAlgorithm}.
+ */
+public class DistanceField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int NONE = -1;
+    private static final int CACHED_FIELDS_PER_GRID = 16;
+
+    private final Grid grid;
+    private final int width;
+    private final boolean towardsTargets;
+    private final int[] dist;
+    // Next cell towards the nearest source (or target, for reverse fields)
+    private final int[] parent;
+
+    // Every factory below needs grid.fitsCellArrays()
+    private DistanceField(Grid grid, boolean towardsTargets, List<Node> roots) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.towardsTargets = towardsTargets;
+        if (!grid.fitsCellArrays())
+            throw new IllegalArgumentException(
+                    "Grid too large for a distance field: " + width + "x" + grid.getHeight());
+
+        int n = width * grid.getHeight();
+        dist = new int[n];
+        parent = new int[n];
+        Arrays.fill(dist, UNREACHABLE);
+        Arrays.fill(parent, NONE);
+
+        int[] weight = new int[n];
+        for (int cell = 0; cell < n; cell++) {
+            int x = cell % width;
+            int y = cell / width;
+            weight[cell] = grid.isPassable(x, y) ? grid.getWeight(x, y) : NONE;
+        }
+
+        LongMinHeap open = new LongMinHeap();
+        for (Node root : roots) {
+            int cell = root.y * width + root.x;
+            if (weight[cell] != NONE && dist[cell] != 0) {
+                dist[cell] = 0;
+                open.push(LongMinHeap.pack(0, cell));
+            }
+        }
+
+        int height = grid.getHeight();
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            int d = LongMinHeap.priority(entry);
+            int cell = LongMinHeap.value(entry);
+            if (d != dist[cell])
+                continue;
+
+            int x = cell % width;
+            int y = cell / width;
+            for (int dir = 0; dir < 4; dir++) {
+                int next;
+                if (dir == 0 && x + 1 < width)
+                    next = cell + 1;
+                else if (dir == 1 && x > 0)
+                    next = cell - 1;
+                else if (dir == 2 && y + 1 < height)
+                    next = cell + width;
+                else if (dir == 3 && y > 0)
+                    next = cell - width;
+                else
+                    continue;
+
+                if (weight[next] == NONE)
+                    continue;
+
+                // Forward: entering next costs its weight. Reverse: leaving next into cell costs cell's weight.
+                int nd = d + (towardsTargets ? weight[cell] : weight[next]);
+                if (nd < dist[next]) {
+                    dist[next] = nd;
+                    parent[next] = cell;
+                    open.push(LongMinHeap.pack(nd, next));
+                }
+            }
+        }
+    }
+
+    // Cost from the nearest of the sources to every cell
+    public static DistanceField from(Grid grid, Node... sources) {
+        return new DistanceField(grid, false, Arrays.asList(sources));
+    }
+
+    // Cost from every cell to the nearest of the targets
+    public static DistanceField to(Grid grid, Node... targets) {
+        return new DistanceField(grid, true, Arrays.asList(targets));
+    }
+
+    /**
+     * Single-root fields kept per grid (least recently used dropped first),
+     * so repeated queries from the same cell reuse one sweep.
+     */
+    public static DistanceField cachedFrom(Grid grid, Node source) {
+        return grid.getDerived(FieldCache.class, g -> new FieldCache()).get(grid, false, source);
+    }
+
+    public static DistanceField cachedTo(Grid grid, Node target) {
+        return grid.getDerived(FieldCache.class, g -> new FieldCache()).get(grid, true, target);
+    }
+
+    public int distance(Node node) {
+        return distance(node.x, node.y);
+    }
+
+    public int distance(int x, int y) {
+        return dist[y * width + x];
+    }
+
+    public boolean isReachable(Node node) {
+        return distance(node) != UNREACHABLE;
+    }
+
+    public boolean isTowardsTargets() {
+        return towardsTargets;
+    }
+
+    // Raw costs indexed by y * width + x; callers must not modify it
+    public int[] distances() {
+        return dist;
+    }
+
+    // Next cell on each cell's path (towards the root for a reverse field), NONE at roots; do not modify
+    int[] parents() {
+        return parent;
+    }
+
+    /**
+     * For a forward field: path from the nearest source to the node.
+     * For a reverse field: path from the node to the nearest target.
+     * Empty when the node is unreachable.
+     */
+    public List<Node> path(Node node) {
+        int cell = node.y * width + node.x;
+        if (dist[cell] == UNREACHABLE)
+            return Collections.emptyList();
+
+        List<Node> path = new ArrayList<>();
+        for (int c = cell; c != NONE; c = parent[c])
+            path.add(grid.getNode(c % width, c / width));
+
+        if (!towardsTargets)
+            Collections.reverse(path);
+        return path;
+    }
+
+    // Per-grid LRU of single-root fields
+    private static final class FieldCache {
+        private final Map<Long, DistanceField> fields = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, DistanceField> eldest) {
+                return size() > CACHED_FIELDS_PER_GRID;
+            }
+        };
+
+        synchronized DistanceField get(Grid grid, boolean towardsTargets, Node root) {
+            long key = ((long) (root.y * grid.getWidth() + root.x) << 1) | (towardsTargets ? 1 : 0);
+            DistanceField field = fields.get(key);
+            if (field == null) {
+                field = new DistanceField(grid, towardsTargets, List.of(root));
+                fields.put(key, field);
+            }
+            return field;
+        }
+    }
+}
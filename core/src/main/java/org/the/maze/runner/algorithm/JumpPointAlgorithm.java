@@ -0,0 +1,354 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * A* with Jump Point Search (JPS+) for the 4-connected grid.
+ *
+ * Among equally cheap paths through a region of equal weights only the
+ * canonical ones are searched: vertical moves may turn sideways anywhere,
+ * horizontal moves only turn up or down where a wall ends beside them (a
+ * forced neighbour). Cells where nothing can turn are jumped over, using a
+ * table of distances to the next jump point per cell and direction that is
+ * built once per grid and rebuilt after edits.
+ *
+ * Cells next to (or diagonal to) a cell of different weight are boundary
+ * cells: jumps stop on them and they are expanded in every direction, as in
+ * plain A*, so the result is still a cheapest path on weighted mazes. The
+ * arrival direction does not matter there, so a boundary cell has a single
+ * search state; with every cell expanded at most once, weighted mazes cost
+ * no more expansions than plain A*.
+ */
+public class JumpPointAlgorithm implements PathFindingAlgorithm {
+
+    // Directions in the usual order: right, left, down, up
+    private static final int[] DX = { 1, -1, 0, 0 };
+    private static final int[] DY = { 0, 0, 1, -1 };
+    private static final int NONE = -1;
+
+    // Optional expansion log for animating the search; null when off
+    private SearchTrace trace;
+
+    // Search state indexed by cell * 4 + arrival direction (always 0 on boundary cells), reused between searches
+    private int[] g = new int[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    // Per cell: equal to generation once expanded in any direction
+    private int[] closed = new int[0];
+    private int generation;
+    // Low bits of a heap value holding the state; the bits above break f ties
+    private int stateBits;
+
+    private int expanded;
+    private int pushed;
+
+    public void setTrace(SearchTrace trace) {
+        this.trace = trace;
+    }
+
+    // Nodes taken off the open set by the last search
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // Entries pushed onto the open set by the last search
+    public int getPushed() {
+        return pushed;
+    }
+
+    @Override
+    public List<Node> findPath(Grid grid, Node start, Node end) {
+        if (trace != null)
+            trace.begin(grid);
+        expanded = 0;
+        pushed = 0;
+
+        // Start and goal in different regions: skip the search entirely
+        if (!grid.mayReach(start, end)) {
+            return Collections.emptyList();
+        }
+        if (start.equals(end)) {
+            return new ArrayList<>(List.of(start));
+        }
+
+        // Four search states per cell must fit an int index
+        if (!grid.fitsCellArrays() || (long) grid.getWidth() * grid.getHeight() * 4 > Integer.MAX_VALUE) {
+            return viaAStar(grid, start, end);
+        }
+
+        JumpTable table = grid.getDerived(JumpTable.class, JumpTable::new);
+        int width = table.width;
+        int startCell = start.y * width + start.x;
+        int goalCell = end.y * width + end.x;
+        if (table.weight[startCell] == NONE || table.weight[goalCell] == NONE) {
+            return Collections.emptyList();
+        }
+
+        prepare(table.weight.length * 4);
+
+        LongMinHeap open = new LongMinHeap();
+        int startState = startCell * 4;
+        stamp[startState] = generation;
+        g[startState] = 0;
+        parent[startState] = NONE;
+        open.push(entry(0, heuristic(table, startCell, end), startState));
+        pushed++;
+
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            int state = LongMinHeap.value(entry) & ((1 << stateBits) - 1);
+            int cell = state >> 2;
+            int cost = g[state];
+            if (LongMinHeap.priority(entry) != cost + heuristic(table, cell, end))
+                continue; // stale entry
+            // Popped in f order, the first arrival at a cell is the cheapest; later ones add nothing
+            if (closed[cell] == generation)
+                continue;
+            closed[cell] = generation;
+
+            // Cancelled (e.g. lost a PortfolioAlgorithm race)
+            if (Thread.currentThread().isInterrupted()) {
+                return Collections.emptyList();
+            }
+            expanded++;
+            if (trace != null)
+                trace.record(SearchTrace.CLOSE, cell % width, cell / width);
+
+            if (cell == goalCell) {
+                return buildPath(grid, table, state);
+            }
+
+            int arrived = state & 3;
+            int x = cell % width;
+            int y = cell / width;
+            boolean anyDirection = cell == startCell || table.boundary[cell];
+            for (int dir = 0; dir < 4; dir++) {
+                if (!anyDirection && !canonical(table, x, y, arrived, dir))
+                    continue;
+
+                int steps = table.jump(cell, x, y, dir, end);
+                if (steps <= 0)
+                    continue;
+
+                int first = cell + table.step[dir];
+                int next = cell + table.step[dir] * steps;
+                // Every cell passed over shares the first cell's weight
+                int nextCost = cost + steps * table.weight[first];
+                int nextState = next * 4 + (table.boundary[next] || next == startCell ? 0 : dir);
+                if (stamp[nextState] == generation && g[nextState] <= nextCost)
+                    continue;
+
+                stamp[nextState] = generation;
+                g[nextState] = nextCost;
+                parent[nextState] = state;
+                open.push(entry(nextCost, heuristic(table, next, end), nextState));
+                pushed++;
+                if (trace != null)
+                    trace.record(SearchTrace.OPEN, next % width, next / width);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    // Plain A*, reporting its expansions (and trace) as this search's own
+    private List<Node> viaAStar(Grid grid, Node start, Node end) {
+        AStarAlgorithm astar = new AStarAlgorithm();
+        astar.setTrace(trace);
+        List<Node> path = astar.findPath(grid, start, end);
+        expanded = astar.getExpanded();
+        return path;
+    }
+
+    /**
+     * Whether a node reached moving in direction arrived is expanded in
+     * direction dir. The start and boundary cells expand everywhere instead.
+     */
+    private static boolean canonical(JumpTable table, int x, int y, int arrived, int dir) {
+        if (dir == (arrived ^ 1))
+            return false; // never straight back
+        if (dir == arrived || arrived >= 2)
+            return true;
+
+        // Horizontal move turning vertical: only past the end of a wall
+        return dir >= 2 && table.forced(x, y, DX[arrived], DY[dir]);
+    }
+
+    // Manhattan distance scaled by the cheapest cell, so it never overestimates
+    private static int heuristic(JumpTable table, int cell, Node end) {
+        int x = cell % table.width;
+        int y = cell / table.width;
+        return (Math.abs(x - end.x) + Math.abs(y - end.y)) * table.minWeight;
+    }
+
+    /**
+     * Heap entry ordered by f = g + h and, among equal f, by smaller h: the
+     * node nearer the goal goes first, so the last f layer is not flooded.
+     * h is capped to the bits the state leaves free.
+     */
+    private long entry(int cost, int h, int state) {
+        int tie = Math.min(h, (1 << (31 - stateBits)) - 1);
+        return LongMinHeap.pack(cost + h, tie << stateBits | state);
+    }
+
+    private void prepare(int states) {
+        stateBits = 32 - Integer.numberOfLeadingZeros(states - 1);
+        if (stamp.length < states) {
+            g = new int[states];
+            parent = new int[states];
+            stamp = new int[states];
+            closed = new int[states / 4];
+            generation = 0;
+        }
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+
+    // Walks the parent states back and fills in the cells each jump passed over
+    private List<Node> buildPath(Grid grid, JumpTable table, int goalState) {
+        int width = table.width;
+        List<Node> path = new ArrayList<>();
+        int state = goalState;
+        while (parent[state] != NONE) {
+            int from = parent[state] >> 2;
+            int to = state >> 2;
+            // Boundary states do not record their direction: jumps run along a row or a column
+            int step = to / width == from / width ? Integer.signum(to - from) : Integer.signum(to - from) * width;
+            for (int cell = to; cell != from; cell -= step)
+                path.add(grid.getNode(cell % width, cell / width));
+            state = parent[state];
+        }
+        int startCell = state >> 2;
+        path.add(grid.getNode(startCell % width, startCell / width));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Per-grid jump distances. For every cell and direction: the number of
+     * steps to the next jump point (positive), or minus the number of free
+     * steps before a wall or the grid edge when there is none.
+     */
+    static final class JumpTable {
+
+        final int width;
+        final int height;
+        final int[] weight; // NONE for cells that cannot be entered
+        final boolean[] boundary;
+        final int[] step;
+        final int minWeight;
+        private final int[] jump;
+
+        JumpTable(Grid grid) {
+            width = grid.getWidth();
+            height = grid.getHeight();
+            int n = width * height;
+            step = new int[] { 1, -1, width, -width };
+
+            weight = new int[n];
+            int min = Integer.MAX_VALUE;
+            for (int cell = 0; cell < n; cell++) {
+                int x = cell % width;
+                int y = cell / width;
+                weight[cell] = grid.isPassable(x, y) ? grid.getWeight(x, y) : NONE;
+                if (weight[cell] != NONE)
+                    min = Math.min(min, weight[cell]);
+            }
+            minWeight = min == Integer.MAX_VALUE ? 0 : min;
+
+            // A weight change anywhere in the 3x3 block breaks the symmetry jumps rely on
+            boundary = new boolean[n];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int w = weight[y * width + x];
+                    if (w == NONE)
+                        continue;
+                    for (int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ny++)
+                        for (int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); nx++) {
+                            int other = weight[ny * width + nx];
+                            if (other != NONE && other != w)
+                                boundary[y * width + x] = true;
+                        }
+                }
+            }
+
+            jump = new int[n * 4];
+            // Horizontal first: vertical jump points depend on them
+            for (int y = 0; y < height; y++) {
+                for (int x = width - 1; x >= 0; x--)
+                    fill(x, y, 0);
+                for (int x = 0; x < width; x++)
+                    fill(x, y, 1);
+            }
+            for (int x = 0; x < width; x++) {
+                for (int y = height - 1; y >= 0; y--)
+                    fill(x, y, 2);
+                for (int y = 0; y < height; y++)
+                    fill(x, y, 3);
+            }
+        }
+
+        // Jump distance from (x, y) in dir, given the entry of the next cell in dir
+        private void fill(int x, int y, int dir) {
+            int cell = y * width + x;
+            int nx = x + DX[dir];
+            int ny = y + DY[dir];
+            if (!passable(nx, ny)) {
+                jump[cell * 4 + dir] = 0;
+                return;
+            }
+            int next = ny * width + nx;
+            if (isJumpPoint(next, nx, ny, dir)) {
+                jump[cell * 4 + dir] = 1;
+                return;
+            }
+            int onward = jump[next * 4 + dir];
+            jump[cell * 4 + dir] = onward > 0 ? onward + 1 : onward - 1;
+        }
+
+        // Whether a node entered moving in dir has to stop at this cell
+        private boolean isJumpPoint(int cell, int x, int y, int dir) {
+            if (boundary[cell])
+                return true;
+            if (dir < 2)
+                return forced(x, y, DX[dir], 1) || forced(x, y, DX[dir], -1);
+            return jump[cell * 4] > 0 || jump[cell * 4 + 1] > 0;
+        }
+
+        // Moving by dx into (x, y), can the path turn dy here but not one cell earlier?
+        boolean forced(int x, int y, int dx, int dy) {
+            return passable(x, y + dy) && !passable(x - dx, y + dy);
+        }
+
+        boolean passable(int x, int y) {
+            return x >= 0 && x < width && y >= 0 && y < height && weight[y * width + x] != NONE;
+        }
+
+        /**
+         * Steps from (x, y) in dir to the next node to generate, or 0. Besides
+         * the table's jump points this stops on the goal, and vertical jumps
+         * stop on the goal's row, where the path may turn towards it.
+         */
+        int jump(int cell, int x, int y, int dir, Node goal) {
+            int t = jump[cell * 4 + dir];
+            int reach = Math.abs(t);
+            int toGoal = switch (dir) {
+                case 0 -> goal.y == y ? goal.x - x : 0;
+                case 1 -> goal.y == y ? x - goal.x : 0;
+                case 2 -> goal.y - y;
+                default -> y - goal.y;
+            };
+            if (toGoal > 0 && toGoal <= reach)
+                return toGoal;
+            return Math.max(t, 0);
+        }
+    }
+}
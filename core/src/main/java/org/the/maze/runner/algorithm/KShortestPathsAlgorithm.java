@@ -0,0 +1,438 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Yen's k shortest simple paths between two cells, cheapest first.
+ *
+ * One reverse {@link DistanceField} towards the goal serves every spur
+ * search: it is an exact A* heuristic, and its parent array is the
+ * shortest-path tree, so the search stops at the first cell whose tree path
+ * avoids the banned root and follows the tree from there. Whether a tree
+ * path crosses the root is one Fenwick query over an Euler tour of the
+ * tree, and the next steps already taken from a root are the children of
+ * its node in a prefix trie of the found paths, so a spur costs no more
+ * than its own search. Only spur cells at or after a path's deviation
+ * point are tried (Lawler); candidates keep their root as a reference and
+ * are only copied out when they are taken. Paths are kept as int arrays of
+ * cell indexes.
+ */
+public class KShortestPathsAlgorithm implements PathFindingAlgorithm {
+
+    private static final int NONE = -1;
+
+    /** One of the k paths: cells as y * width + x indexes, and its total weight. */
+    public record RankedPath(int[] cells, long cost) {
+
+        public List<Node> toNodes(Grid grid) {
+            List<Node> path = new ArrayList<>(cells.length);
+            for (int cell : cells)
+                path.add(grid.getNode(cell % grid.getWidth(), cell / grid.getWidth()));
+            return path;
+        }
+    }
+
+    // A taken path with the index of the cell where it left its parent path
+    private record Found(int[] cells, long cost, int deviation) {
+    }
+
+    // Root of found path source before deviation, then head from the spur, then the tree path on from there
+    private record Candidate(int source, int deviation, int[] head, long cost) {
+    }
+
+    private final int k;
+
+    // Spur search workspace, reused while the grid size stays the same
+    private int[] g = new int[0];
+    private int[] parent = new int[0];
+    private int[] seen = new int[0];
+    private int[] banned = new int[0];
+    private int[] reach = new int[0];
+    private int[] stack = new int[0];
+    private int searchStamp;
+    private int banStamp;
+    private int reachStamp;
+    private final LongMinHeap open = new LongMinHeap();
+
+    // Euler tour of the last field's shortest-path tree: a cell's subtree is enter..exit
+    private DistanceField toured;
+    private int[] enter = new int[0];
+    private int[] exit = new int[0];
+    // Fenwick tree over tour positions: banned root cells on the tree path from a cell
+    private int[] rootCover = new int[1];
+
+    public KShortestPathsAlgorithm(int k) {
+        this.k = k;
+    }
+
+    // The cheapest path; use findPaths for the alternatives
+    @Override
+    public List<Node> findPath(Grid grid, Node start, Node end) {
+        List<RankedPath> paths = findPaths(grid, start, end, 1);
+        return paths.isEmpty() ? Collections.emptyList() : paths.get(0).toNodes(grid);
+    }
+
+    public List<RankedPath> findPaths(Grid grid, Node start, Node end) {
+        return findPaths(grid, start, end, k);
+    }
+
+    public List<RankedPath> findPaths(Grid grid, Node start, Node end, int count) {
+        if (!grid.mayReach(start, end))
+            return Collections.emptyList();
+
+        int width = grid.getWidth();
+        int n = width * grid.getHeight();
+        int s = start.y * width + start.x;
+
+        DistanceField toGoal = DistanceField.cachedTo(grid, end);
+        int[] h = toGoal.distances();
+        int[] next = toGoal.parents();
+        if (h[s] == DistanceField.UNREACHABLE)
+            return Collections.emptyList();
+
+        int[] weight = new int[n];
+        for (int cell = 0; cell < n; cell++) {
+            int x = cell % width;
+            int y = cell / width;
+            weight[cell] = grid.isPassable(x, y) ? grid.getWeight(x, y) : NONE;
+        }
+        prepareWorkspace(n);
+        tour(toGoal, n);
+
+        List<Found> found = new ArrayList<>();
+        found.add(new Found(treePath(next, s), h[s], 0));
+        PrefixTrie trie = new PrefixTrie(s);
+        trie.add(found.get(0).cells());
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>((a, b) -> Long.compare(a.cost(), b.cost()));
+
+        while (found.size() < count) {
+            Found previous = found.get(found.size() - 1);
+            int[] cells = previous.cells();
+            int deviation = previous.deviation();
+
+            // Root (and spur) cells are off limits so spur paths stay simple. Spurs go
+            // last to first: the banned cells only shrink, and so the cells still
+            // reaching the goal around them only grow, one flood per path in all
+            int spurs = cells.length - 1;
+            int[] nodes = new int[spurs];
+            long[] rootCosts = new long[spurs];
+            banStamp++;
+            for (int i = 0, node = PrefixTrie.ROOT; i < spurs; i++) {
+                if (i > 0) {
+                    node = trie.child(node, cells[i]);
+                    rootCosts[i] = rootCosts[i - 1] + weight[cells[i]];
+                }
+                nodes[i] = node;
+                ban(cells[i]);
+            }
+            reachStamp++;
+            flood(grid, cells[spurs], weight);
+
+            for (int i = spurs - 1; i >= deviation; i--) {
+                int spur = cells[i];
+                int[] head = spurSearch(grid, spur, h, weight, trie, nodes[i]);
+                if (head != null) {
+                    int last = head[head.length - 1];
+                    candidates.add(new Candidate(found.size() - 1, i, head, rootCosts[i] + g[last] + h[last]));
+                }
+
+                banned[spur] = 0;
+                cover(spur, -1);
+                if (touchesReach(grid, spur))
+                    flood(grid, spur, weight);
+            }
+            for (int i = 0; i < deviation; i++)
+                cover(cells[i], -1);
+
+            if (candidates.isEmpty())
+                break;
+            Candidate best = candidates.poll();
+            int[] root = found.get(best.source()).cells();
+            int[] head = best.head();
+            int[] tail = treePath(next, next[head[head.length - 1]]);
+            int[] path = Arrays.copyOf(root, best.deviation() + head.length + tail.length);
+            System.arraycopy(head, 0, path, best.deviation(), head.length);
+            System.arraycopy(tail, 0, path, best.deviation() + head.length, tail.length);
+            found.add(new Found(path, best.cost(), best.deviation()));
+            trie.add(path);
+        }
+
+        List<RankedPath> ranked = new ArrayList<>(found.size());
+        for (Found path : found)
+            ranked.add(new RankedPath(path.cells(), path.cost()));
+        return ranked;
+    }
+
+    /**
+     * A* from the spur, through cells that still reach the goal around the
+     * banned ones, avoiding the steps already taken from the spur's root
+     * (children of node), up to the first cell whose tree path is clear of
+     * the root. With the exact heuristic that cell's g + h is the cheapest
+     * spur path, and its tree path cannot run back into the search path:
+     * every cell on that was taken earlier, and its own (shorter) clear tree
+     * path would have stopped the search. Returns the spur .. cell part, or
+     * null when the goal cannot be reached.
+     */
+    private int[] spurSearch(Grid grid, int spur, int[] h, int[] weight, PrefixTrie trie, int node) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int stamp = ++searchStamp;
+        open.clear();
+        g[spur] = 0;
+        parent[spur] = NONE;
+        seen[spur] = stamp;
+        open.push(LongMinHeap.pack(h[spur], spur));
+
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            int cell = LongMinHeap.value(entry);
+            if (LongMinHeap.priority(entry) != g[cell] + h[cell])
+                continue;
+
+            if (covered(cell) == 0) {
+                int length = 0;
+                for (int c = cell; c != NONE; c = parent[c])
+                    length++;
+                int[] path = new int[length];
+                for (int c = cell; c != NONE; c = parent[c])
+                    path[--length] = c;
+                return path;
+            }
+
+            int x = cell % width;
+            int y = cell / width;
+            for (int dir = 0; dir < 4; dir++) {
+                int next;
+                if (dir == 0 && x + 1 < width)
+                    next = cell + 1;
+                else if (dir == 1 && x > 0)
+                    next = cell - 1;
+                else if (dir == 2 && y + 1 < height)
+                    next = cell + width;
+                else if (dir == 3 && y > 0)
+                    next = cell - width;
+                else
+                    continue;
+
+                if (reach[next] != reachStamp)
+                    continue;
+                if (cell == spur && trie.hasChild(node, next))
+                    continue;
+
+                int ng = g[cell] + weight[next];
+                if (seen[next] != stamp || ng < g[next]) {
+                    seen[next] = stamp;
+                    g[next] = ng;
+                    parent[next] = cell;
+                    open.push(LongMinHeap.pack(ng + h[next], next));
+                }
+            }
+        }
+        return null;
+    }
+
+    private void prepareWorkspace(int n) {
+        if (g.length != n) {
+            g = new int[n];
+            parent = new int[n];
+            seen = new int[n];
+            banned = new int[n];
+            reach = new int[n];
+            stack = new int[n];
+            searchStamp = 0;
+            banStamp = 0;
+            reachStamp = 0;
+        }
+    }
+
+    // Cell to goal along the shortest-path tree; empty from NONE
+    private static int[] treePath(int[] next, int cell) {
+        int length = 0;
+        for (int c = cell; c != NONE; c = next[c])
+            length++;
+        int[] path = new int[length];
+        for (int c = cell, i = 0; c != NONE; c = next[c], i++)
+            path[i] = c;
+        return path;
+    }
+
+    // Marks a root cell banned for spur searches and for tree paths through it
+    private void ban(int cell) {
+        banned[cell] = banStamp;
+        cover(cell, 1);
+    }
+
+    // Adds the open cells connected to from (when not reached yet) to the reached set
+    private void flood(Grid grid, int from, int[] weight) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int depth = 0;
+        reach[from] = reachStamp;
+        stack[depth++] = from;
+        while (depth > 0) {
+            int cell = stack[--depth];
+            int x = cell % width;
+            int y = cell / width;
+            for (int dir = 0; dir < 4; dir++) {
+                int next;
+                if (dir == 0 && x + 1 < width)
+                    next = cell + 1;
+                else if (dir == 1 && x > 0)
+                    next = cell - 1;
+                else if (dir == 2 && y + 1 < height)
+                    next = cell + width;
+                else if (dir == 3 && y > 0)
+                    next = cell - width;
+                else
+                    continue;
+
+                if (weight[next] != NONE && banned[next] != banStamp && reach[next] != reachStamp) {
+                    reach[next] = reachStamp;
+                    stack[depth++] = next;
+                }
+            }
+        }
+    }
+
+    private boolean touchesReach(Grid grid, int cell) {
+        int width = grid.getWidth();
+        int x = cell % width;
+        int y = cell / width;
+        return (x + 1 < width && reach[cell + 1] == reachStamp) || (x > 0 && reach[cell - 1] == reachStamp)
+                || (y + 1 < grid.getHeight() && reach[cell + width] == reachStamp)
+                || (y > 0 && reach[cell - width] == reachStamp);
+    }
+
+    /**
+     * Numbers the tree's cells in depth-first order from the goal, so the
+     * cells whose tree path runs through c are exactly enter[c]..exit[c].
+     * Kept while the same (cached) field comes back.
+     */
+    private void tour(DistanceField field, int n) {
+        if (toured == field)
+            return;
+        int[] next = field.parents();
+        int[] dist = field.distances();
+
+        // Children grouped by tree parent (counting sort)
+        int[] first = new int[n + 1];
+        for (int c = 0; c < n; c++) {
+            if (next[c] != NONE)
+                first[next[c] + 1]++;
+        }
+        for (int c = 0; c < n; c++)
+            first[c + 1] += first[c];
+        int[] cursor = Arrays.copyOf(first, n);
+        int[] children = new int[first[n]];
+        for (int c = 0; c < n; c++) {
+            if (next[c] != NONE)
+                children[cursor[next[c]]++] = c;
+        }
+
+        if (enter.length != n) {
+            enter = new int[n];
+            exit = new int[n];
+        }
+        System.arraycopy(first, 0, cursor, 0, n);
+        int[] stack = new int[n];
+        int time = 0;
+        for (int root = 0; root < n; root++) {
+            if (next[root] != NONE || dist[root] == DistanceField.UNREACHABLE)
+                continue;
+            int depth = 0;
+            stack[depth++] = root;
+            enter[root] = time++;
+            while (depth > 0) {
+                int c = stack[depth - 1];
+                if (cursor[c] < first[c + 1]) {
+                    int child = children[cursor[c]++];
+                    enter[child] = time++;
+                    stack[depth++] = child;
+                } else {
+                    exit[c] = time - 1;
+                    depth--;
+                }
+            }
+        }
+        rootCover = new int[time + 1];
+        toured = field;
+    }
+
+    // Adds delta on the tree paths of every cell below (and at) cell
+    private void cover(int cell, int delta) {
+        for (int i = enter[cell] + 1; i < rootCover.length; i += i & -i)
+            rootCover[i] += delta;
+        for (int i = exit[cell] + 2; i < rootCover.length; i += i & -i)
+            rootCover[i] -= delta;
+    }
+
+    // Banned root cells on the tree path from cell to the goal
+    private int covered(int cell) {
+        int sum = 0;
+        for (int i = enter[cell] + 1; i > 0; i -= i & -i)
+            sum += rootCover[i];
+        return sum;
+    }
+
+    /**
+     * Found paths merged on common prefixes, all starting at the source
+     * (node 0). A node's children are the cells paths took next from it.
+     */
+    private static final class PrefixTrie {
+        static final int ROOT = 0;
+
+        private int[] cell = new int[64];
+        private int[] firstChild = new int[64];
+        private int[] sibling = new int[64];
+        private int size;
+
+        PrefixTrie(int source) {
+            newNode(source);
+        }
+
+        void add(int[] path) {
+            int node = ROOT;
+            for (int i = 1; i < path.length; i++) {
+                int child = child(node, path[i]);
+                if (child == NONE) {
+                    child = newNode(path[i]);
+                    sibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                }
+                node = child;
+            }
+        }
+
+        int child(int node, int value) {
+            for (int c = firstChild[node]; c != NONE; c = sibling[c]) {
+                if (cell[c] == value)
+                    return c;
+            }
+            return NONE;
+        }
+
+        boolean hasChild(int node, int value) {
+            return child(node, value) != NONE;
+        }
+
+        private int newNode(int value) {
+            if (size == cell.length) {
+                cell = Arrays.copyOf(cell, size * 2);
+                firstChild = Arrays.copyOf(firstChild, size * 2);
+                sibling = Arrays.copyOf(sibling, size * 2);
+            }
+            cell[size] = value;
+            firstChild[size] = NONE;
+            sibling[size] = NONE;
+            return size++;
+        }
+    }
+}
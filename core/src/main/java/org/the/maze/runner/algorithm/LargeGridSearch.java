@@ -0,0 +1,185 @@
+package org.the.maze.runner.algorithm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * BFS and A* for grids too large for cell arrays, such as a
+ * {@link org.the.maze.runner.model.TiledGrid} of 50k x 50k cells.
+ *
+ * Visited flags, the direction each cell was reached from and the costs so
+ * far live in a {@link SearchScratch} off the heap, instead of the per-cell
+ * hash maps of {@link BFSAlgorithm} and {@link AStarAlgorithm}; only the
+ * frontier is kept on the heap, as long cell indexes (y * width + x).
+ */
+final class LargeGridSearch {
+
+    // Flag byte per cell: bit 0 reached, bits 1-2 the direction it was reached in
+    private static final int REACHED = 1;
+    private static final int[] DX = { 1, -1, 0, 0 };
+    private static final int[] DY = { 0, 0, 1, -1 };
+
+    private final Grid grid;
+    private final SearchTrace trace;
+    private long expanded;
+
+    LargeGridSearch(Grid grid, SearchTrace trace) {
+        this.grid = grid;
+        this.trace = trace;
+    }
+
+    // Cells taken off the frontier by the last search, capped at Integer.MAX_VALUE
+    int getExpanded() {
+        return (int) Math.min(expanded, Integer.MAX_VALUE);
+    }
+
+    List<Node> fewestSteps(Node start, Node end) {
+        expanded = 0;
+        try (SearchScratch scratch = new SearchScratch(grid, false)) {
+            long width = grid.getWidth();
+            LongQueue queue = new LongQueue();
+            scratch.setFlags(start.x, start.y, REACHED);
+            queue.add(start.y * width + start.x);
+
+            while (!queue.isEmpty()) {
+                long cell = queue.poll();
+                int x = (int) (cell % width);
+                int y = (int) (cell / width);
+
+                // Cancelled (e.g. lost a PortfolioAlgorithm race)
+                if (Thread.currentThread().isInterrupted())
+                    return Collections.emptyList();
+                expanded++;
+                if (trace != null)
+                    trace.record(SearchTrace.CLOSE, x, y);
+                if (x == end.x && y == end.y)
+                    return path(scratch, start, end);
+
+                for (int dir = 0; dir < 4; dir++) {
+                    int nx = x + DX[dir];
+                    int ny = y + DY[dir];
+                    if (!grid.isPassable(nx, ny) || scratch.flags(nx, ny) != 0)
+                        continue;
+                    scratch.setFlags(nx, ny, REACHED | dir << 1);
+                    queue.add(ny * width + nx);
+                    if (trace != null)
+                        trace.record(SearchTrace.OPEN, nx, ny);
+                }
+            }
+            return Collections.emptyList();
+        } catch (IOException e) {
+            return failed(e);
+        }
+    }
+
+    // Same rules as AStarAlgorithm: Manhattan heuristic, stale entries skipped when popped
+    List<Node> cheapest(Node start, Node end) {
+        expanded = 0;
+        try (SearchScratch scratch = new SearchScratch(grid, true)) {
+            long width = grid.getWidth();
+            LongKeyHeap open = new LongKeyHeap();
+            scratch.setFlags(start.x, start.y, REACHED);
+            scratch.setCost(start.x, start.y, 0);
+            open.push(heuristic(start.x, start.y, end), start.y * width + start.x);
+
+            while (!open.isEmpty()) {
+                long f = open.peekKey();
+                long cell = open.pop();
+                int x = (int) (cell % width);
+                int y = (int) (cell / width);
+                long g = scratch.cost(x, y);
+                if (g + heuristic(x, y, end) != f)
+                    continue;
+
+                // Cancelled (e.g. lost a PortfolioAlgorithm race)
+                if (Thread.currentThread().isInterrupted())
+                    return Collections.emptyList();
+                expanded++;
+                if (trace != null)
+                    trace.record(SearchTrace.CLOSE, x, y);
+                if (x == end.x && y == end.y)
+                    return path(scratch, start, end);
+
+                for (int dir = 0; dir < 4; dir++) {
+                    int nx = x + DX[dir];
+                    int ny = y + DY[dir];
+                    if (!grid.isPassable(nx, ny))
+                        continue;
+                    long ng = g + grid.getWeight(nx, ny);
+                    if (scratch.flags(nx, ny) != 0 && ng >= scratch.cost(nx, ny))
+                        continue;
+                    scratch.setFlags(nx, ny, REACHED | dir << 1);
+                    scratch.setCost(nx, ny, ng);
+                    open.push(ng + heuristic(nx, ny, end), ny * width + nx);
+                    if (trace != null)
+                        trace.record(SearchTrace.OPEN, nx, ny);
+                }
+            }
+            return Collections.emptyList();
+        } catch (IOException e) {
+            return failed(e);
+        }
+    }
+
+    private static long heuristic(int x, int y, Node end) {
+        return Math.abs(x - end.x) + Math.abs(y - end.y);
+    }
+
+    // Walks the stored directions back from end to start
+    private List<Node> path(SearchScratch scratch, Node start, Node end) {
+        List<Node> path = new ArrayList<>();
+        int x = end.x;
+        int y = end.y;
+        path.add(grid.getNode(x, y));
+        while (x != start.x || y != start.y) {
+            int dir = scratch.flags(x, y) >> 1 & 3;
+            x -= DX[dir];
+            y -= DY[dir];
+            path.add(grid.getNode(x, y));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // A cancelled search may find its scratch file channel closed by the interrupt
+    private static List<Node> failed(IOException e) {
+        if (Thread.currentThread().isInterrupted())
+            return Collections.emptyList();
+        throw new UncheckedIOException("Search scratch file failed", e);
+    }
+
+    // FIFO of cell indexes in a growable ring buffer
+    private static final class LongQueue {
+        private long[] items = new long[1024];
+        private int head;
+        private int size;
+
+        void add(long item) {
+            if (size == items.length) {
+                long[] grown = new long[size * 2];
+                for (int i = 0; i < size; i++)
+                    grown[i] = items[(head + i) % items.length];
+                items = grown;
+                head = 0;
+            }
+            items[(head + size++) % items.length] = item;
+        }
+
+        long poll() {
+            long item = items[head];
+            head = (head + 1) % items.length;
+            size--;
+            return item;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of (long key, long value) pairs in parallel arrays, for
+ * searches whose priorities or values do not fit the 32 bits each that
+ * {@link LongMinHeap#pack} allows. Stale entries are skipped when popped, as
+ * with LongMinHeap.
+ */
+final class LongKeyHeap {
+
+    private long[] keys = new long[64];
+    private long[] values = new long[64];
+    private int size;
+
+    void push(long key, long value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key)
+                break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    // Key of the entry pop would return
+    long peekKey() {
+        return keys[0];
+    }
+
+    long pop() {
+        long top = values[0];
+        long key = keys[--size];
+        long value = values[size];
+
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child])
+                child++;
+            if (key <= keys[child])
+                break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+        return top;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
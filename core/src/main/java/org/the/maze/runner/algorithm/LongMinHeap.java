@@ -0,0 +1,87 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of primitive longs.
+ *
+ * Solvers pack (priority, value) into one long with {@link #pack} so the
+ * open set needs no boxing and no per-entry objects. Stale entries are left
+ * in the heap and skipped when popped (lazy deletion).
+ */
+public class LongMinHeap {
+
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap() {
+        this(64);
+    }
+
+    public LongMinHeap(int capacity) {
+        heap = new long[Math.max(capacity, 4)];
+    }
+
+    // Priority in the high 32 bits (must be >= 0), value in the low 32 bits
+    public static long pack(int priority, int value) {
+        return ((long) priority << 32) | (value & 0xffffffffL);
+    }
+
+    public static int priority(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    public void push(long entry) {
+        if (size == heap.length)
+            heap = Arrays.copyOf(heap, size * 2);
+
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry)
+                break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    public long peek() {
+        return heap[0];
+    }
+
+    public long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child])
+                child++;
+            if (last <= heap[child])
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,296 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Plans many runners through the same maze at once without collisions.
+ *
+ * Time is counted in steps: every step a runner moves to a neighbouring cell
+ * or waits. Two runners may not share a cell at the same step or swap cells
+ * in one step, and a runner stays on its goal once it arrives. Cell weights
+ * are not used here; the cost of a runner is its arrival step.
+ *
+ * PRIORITIZED plans runners in list order, each with {@link SafeIntervalSearch}
+ * around a {@link ReservationTable} of the runners before it. Runners are
+ * planned a batch at a time in parallel against the table as it was; a
+ * batch member whose route clashes with an earlier member of its batch is
+ * planned again. Fast, but not always optimal, and a runner can end up with
+ * no route.
+ *
+ * CONFLICT_BASED runs Conflict-Based Search: runners are planned alone, the
+ * first clash between two of them is resolved by forbidding it for one or
+ * the other (two branches, planned in parallel), cheapest branch first. The
+ * result has the lowest total arrival time, but the search grows quickly
+ * with the number of clashes, so it stops after a time budget and returns
+ * the prioritized plan instead.
+ */
+public class MultiAgentPlanner {
+
+    public enum Mode {
+        PRIORITIZED,
+        CONFLICT_BASED
+    }
+
+    public record Agent(Node start, Node goal) {
+    }
+
+    /**
+     * paths.get(i).get(t) is runner i's cell at step t; it stays on the last
+     * cell afterwards. Runners without a route get an empty path.
+     */
+    public record Plan(List<List<Node>> paths, long sumOfCosts, int makespan, int unsolved, boolean optimal) {
+    }
+
+    private final Mode mode;
+    private final int threads;
+    private final long budgetMillis;
+
+    public MultiAgentPlanner(Mode mode, int threads, long budgetMillis) {
+        this.mode = mode;
+        this.threads = Math.max(1, threads);
+        this.budgetMillis = budgetMillis;
+    }
+
+    public Plan plan(Grid grid, List<Agent> agents) {
+        int width = grid.getWidth();
+        int[] starts = new int[agents.size()];
+        int[] goals = new int[agents.size()];
+        Set<Integer> seenStarts = new HashSet<>();
+        Set<Integer> seenGoals = new HashSet<>();
+        for (int i = 0; i < agents.size(); i++) {
+            starts[i] = agents.get(i).start().y * width + agents.get(i).start().x;
+            goals[i] = agents.get(i).goal().y * width + agents.get(i).goal().x;
+            if (!seenStarts.add(starts[i]) || !seenGoals.add(goals[i]))
+                throw new IllegalArgumentException("Runners need distinct start and goal cells");
+        }
+
+        SafeIntervalSearch search = new SafeIntervalSearch(grid);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            if (mode == Mode.CONFLICT_BASED) {
+                int[][] optimal = conflictBased(grid, search, starts, goals, pool);
+                if (optimal != null)
+                    return toPlan(grid, optimal, true);
+            }
+            return toPlan(grid, prioritized(grid, search, starts, goals, pool), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return toPlan(grid, new int[agents.size()][], false);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // A route and the heuristic it was searched with (kept, part-explored, for replanning)
+    private record Planned(int[] path, SafeIntervalSearch.GoalDistance steps) {
+    }
+
+    private int[][] prioritized(Grid grid, SafeIntervalSearch search, int[] starts, int[] goals,
+            ExecutorService pool) throws InterruptedException {
+        ReservationTable table = new ReservationTable(grid.getWidth(), grid.getHeight());
+        int[][] paths = new int[starts.length][];
+
+        for (int from = 0; from < starts.length; from += threads) {
+            int to = Math.min(starts.length, from + threads);
+
+            // Plan the batch against the table as it stands (read-only while these run)
+            List<Future<Planned>> batch = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                int agent = i;
+                batch.add(pool.submit(() -> {
+                    SafeIntervalSearch.GoalDistance steps = search.towards(goals[agent], starts[agent]);
+                    return new Planned(search.plan(table, starts[agent], goals[agent], 0, steps), steps);
+                }));
+            }
+
+            // Commit in priority order, replanning a route that clashes with an earlier member
+            for (int i = from; i < to; i++) {
+                Planned planned = get(batch.get(i - from));
+                int[] path = planned.path();
+                // No route with fewer reservations means none with more
+                if (path != null && table.conflicts(path, 0, true))
+                    path = search.plan(table, starts[i], goals[i], 0, planned.steps());
+                if (path != null)
+                    table.reservePath(path, 0, true);
+                paths[i] = path;
+            }
+        }
+        return paths;
+    }
+
+    // A forbidden cell (dir < 0) or move for one runner at one step
+    private record Constraint(int cell, int dir, int time, Constraint next) {
+    }
+
+    private record CbsNode(int[][] paths, Constraint[] constraints, long cost) {
+    }
+
+    // Two runners clashing: on a cell at time, or swapping cellA/cellB between time - 1 and time
+    private record Conflict(int a, int b, int cellA, int cellB, int time, boolean swap) {
+    }
+
+    // Returns null when the budget runs out or some runner cannot reach its goal at all
+    private int[][] conflictBased(Grid grid, SafeIntervalSearch search, int[] starts, int[] goals,
+            ExecutorService pool) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        int k = starts.length;
+        ReservationTable empty = new ReservationTable(grid.getWidth(), grid.getHeight());
+
+        SafeIntervalSearch.GoalDistance[] steps = new SafeIntervalSearch.GoalDistance[k];
+        int[][] paths = new int[k][];
+        List<Future<Planned>> roots = new ArrayList<>();
+        for (int i = 0; i < k; i++) {
+            int agent = i;
+            roots.add(pool.submit(() -> {
+                SafeIntervalSearch.GoalDistance field = search.towards(goals[agent], starts[agent]);
+                return new Planned(search.plan(empty, starts[agent], goals[agent], 0, field), field);
+            }));
+        }
+        for (int i = 0; i < k; i++) {
+            Planned planned = get(roots.get(i));
+            if (planned.path() == null)
+                return null;
+            steps[i] = planned.steps();
+            paths[i] = planned.path();
+        }
+
+        PriorityQueue<CbsNode> open = new PriorityQueue<>((x, y) -> Long.compare(x.cost(), y.cost()));
+        open.add(new CbsNode(paths, new Constraint[k], cost(paths)));
+        int width = grid.getWidth();
+
+        while (!open.isEmpty()) {
+            if (System.nanoTime() > deadline)
+                return null;
+
+            CbsNode node = open.poll();
+            Conflict conflict = firstConflict(node.paths(), width);
+            if (conflict == null)
+                return node.paths();
+
+            // Branch: forbid the clash for one runner or the other, replanning both in parallel
+            // (different runners, so no GoalDistance is used by two threads at once)
+            List<Future<CbsNode>> children = new ArrayList<>(2);
+            for (int side = 0; side < 2; side++) {
+                int agent = side == 0 ? conflict.a() : conflict.b();
+                Constraint[] constraints = node.constraints().clone();
+                if (!conflict.swap()) {
+                    constraints[agent] = new Constraint(conflict.cellA(), -1, conflict.time(), constraints[agent]);
+                } else {
+                    int fromCell = side == 0 ? conflict.cellA() : conflict.cellB();
+                    int toCell = side == 0 ? conflict.cellB() : conflict.cellA();
+                    constraints[agent] = new Constraint(fromCell, empty.direction(fromCell, toCell),
+                            conflict.time() - 1, constraints[agent]);
+                }
+
+                children.add(pool.submit(() -> {
+                    ReservationTable table = new ReservationTable(grid.getWidth(), grid.getHeight());
+                    for (Constraint c = constraints[agent]; c != null; c = c.next()) {
+                        if (c.dir() < 0)
+                            table.reserve(c.cell(), c.time(), c.time());
+                        else
+                            table.blockMove(c.cell(), c.dir(), c.time());
+                    }
+                    int[] path = search.plan(table, starts[agent], goals[agent], 0, steps[agent]);
+                    if (path == null)
+                        return null;
+                    int[][] childPaths = node.paths().clone();
+                    childPaths[agent] = path;
+                    return new CbsNode(childPaths, constraints, cost(childPaths));
+                }));
+            }
+            for (Future<CbsNode> child : children) {
+                CbsNode planned = get(child);
+                if (planned != null)
+                    open.add(planned);
+            }
+        }
+        return null;
+    }
+
+    // Earliest clash between any two routes, with runners staying on their goals
+    private static Conflict firstConflict(int[][] paths, int width) {
+        int makespan = 0;
+        for (int[] path : paths)
+            makespan = Math.max(makespan, path.length - 1);
+
+        Map<Integer, Integer> previous = new HashMap<>();
+        for (int t = 0; t <= makespan; t++) {
+            Map<Integer, Integer> occupied = new HashMap<>();
+            for (int a = 0; a < paths.length; a++) {
+                int cell = at(paths[a], t);
+                Integer b = occupied.put(cell, a);
+                if (b != null)
+                    return new Conflict(b, a, cell, cell, t, false);
+            }
+            if (t > 0) {
+                for (int a = 0; a < paths.length; a++) {
+                    int from = at(paths[a], t - 1);
+                    int to = at(paths[a], t);
+                    if (from == to)
+                        continue;
+                    Integer b = previous.get(to);
+                    if (b != null && b != a && at(paths[b], t) == from)
+                        return new Conflict(a, b, from, to, t, true);
+                }
+            }
+            previous = occupied;
+        }
+        return null;
+    }
+
+    private static int at(int[] path, int t) {
+        return path[Math.min(t, path.length - 1)];
+    }
+
+    private static long cost(int[][] paths) {
+        long sum = 0;
+        for (int[] path : paths)
+            sum += path.length - 1;
+        return sum;
+    }
+
+    private static <T> T get(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Runner planning failed", e.getCause());
+        }
+    }
+
+    private static Plan toPlan(Grid grid, int[][] paths, boolean optimal) {
+        int width = grid.getWidth();
+        List<List<Node>> nodes = new ArrayList<>(paths.length);
+        long sum = 0;
+        int makespan = 0;
+        int unsolved = 0;
+        for (int[] path : paths) {
+            if (path == null) {
+                nodes.add(Collections.emptyList());
+                unsolved++;
+                continue;
+            }
+            List<Node> route = new ArrayList<>(path.length);
+            for (int cell : path)
+                route.add(grid.getNode(cell % width, cell / width));
+            nodes.add(route);
+            sum += path.length - 1;
+            makespan = Math.max(makespan, path.length - 1);
+        }
+        return new Plan(nodes, sum, makespan, unsolved, optimal && unsolved == 0);
+    }
+}
@@ -0,0 +1,212 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Every trade-off between path length and total weight: the Pareto front of
+ * paths from start to goal where no other path has both fewer (or equal)
+ * steps and less (or equal) weight. The front runs from the fewest-steps
+ * path (as BFS finds, but the lightest of those) to the lightest path (as
+ * Dijkstra finds, but the shortest of those).
+ *
+ * Bi-objective A* (BOA*): labels (cell, steps, weight) are expanded in order
+ * of steps + steps to goal, ties by weight + weight to goal, with exact
+ * lower bounds from a reverse BFS and a reverse {@link DistanceField}. In
+ * that order a label can only be non-dominated if it is lighter than every
+ * label already expanded at its cell, so the dominance check is one int
+ * compare per label instead of a per-cell label set. Open labels are
+ * bucketed by the step bound, each bucket a {@link LongMinHeap} on the
+ * weight bound; labels live in primitive arrays reused between searches.
+ *
+ * Paths on the front are found in order of steps and can be streamed to a
+ * {@link FrontListener} as they come. findPath returns the lightest one.
+ */
+public class ParetoFrontAlgorithm implements PathFindingAlgorithm {
+
+    /** One path on the front: cells as y * width + x indexes, its steps and total weight. */
+    public record ParetoPath(int[] cells, int steps, int weight) {
+
+        public List<Node> toNodes(Grid grid) {
+            List<Node> nodes = new ArrayList<>(cells.length);
+            for (int cell : cells)
+                nodes.add(grid.getNode(cell % grid.getWidth(), cell / grid.getWidth()));
+            return nodes;
+        }
+    }
+
+    /** Receives each path of the front as soon as it is found, fewest steps first. */
+    public interface FrontListener {
+        void onPath(ParetoPath path);
+    }
+
+    // Hard stop on label growth (~16 bytes per label)
+    private static final int MAX_LABELS = 50_000_000;
+    private static final int NONE = -1;
+
+    // Label pool, reused across queries on this instance
+    private int[] labelCell = new int[1024];
+    private int[] labelSteps = new int[1024];
+    private int[] labelWeight = new int[1024];
+    private int[] labelParent = new int[1024];
+    private int labels;
+
+    // Open buckets indexed by step bound minus the start's; heaps are kept for reuse
+    private LongMinHeap[] buckets = new LongMinHeap[0];
+
+    private int expanded;
+
+    // Labels taken off the open set by the last search
+    public int getExpanded() {
+        return expanded;
+    }
+
+    @Override
+    public List<Node> findPath(Grid grid, Node start, Node end) {
+        List<ParetoPath> front = front(grid, start, end, null);
+        return front.isEmpty() ? Collections.emptyList() : front.get(front.size() - 1).toNodes(grid);
+    }
+
+    public List<ParetoPath> front(Grid grid, Node start, Node end) {
+        return front(grid, start, end, null);
+    }
+
+    /**
+     * The whole front, fewest steps first; empty when the goal cannot be
+     * reached. The listener (may be null) is called on this thread.
+     */
+    public List<ParetoPath> front(Grid grid, Node start, Node end, FrontListener listener) {
+        expanded = 0;
+        List<ParetoPath> front = new ArrayList<>();
+        if (!grid.mayReach(start, end)) {
+            return front;
+        }
+
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int s = start.y * width + start.x;
+        int t = end.y * width + end.x;
+
+        // Lower bounds from every cell to the goal
+        int[] weightToGoal = DistanceField.cachedTo(grid, end).distances();
+        int[] stepsToGoal = grid.getDerived(SafeIntervalSearch.class, SafeIntervalSearch::new).stepsTo(t);
+        if (weightToGoal[s] == DistanceField.UNREACHABLE || stepsToGoal[s] == Integer.MAX_VALUE) {
+            return front;
+        }
+
+        int n = width * height;
+        // Weight of the lightest label expanded at each cell so far
+        int[] lightest = new int[n];
+        Arrays.fill(lightest, Integer.MAX_VALUE);
+
+        // An earlier search may have stopped with labels still open
+        for (LongMinHeap heap : buckets)
+            heap.clear();
+        labels = 0;
+        int minSteps = stepsToGoal[s];
+        push(addLabel(s, 0, 0, NONE), 0, weightToGoal[s]);
+        int bucketCount = 1;
+
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            LongMinHeap open = buckets[bucket];
+            while (!open.isEmpty()) {
+                int label = Integer.MAX_VALUE - LongMinHeap.value(open.pop());
+                int cell = labelCell[label];
+                int w = labelWeight[label];
+
+                // Dominated by a label expanded earlier here, or cannot beat the lightest path found
+                if (w >= lightest[cell] || w + weightToGoal[cell] >= lightest[t])
+                    continue;
+
+                // Cancelled (e.g. lost a PortfolioAlgorithm race)
+                if (Thread.currentThread().isInterrupted())
+                    return Collections.emptyList();
+
+                lightest[cell] = w;
+                expanded++;
+
+                if (cell == t) {
+                    ParetoPath path = toPath(label);
+                    front.add(path);
+                    if (listener != null)
+                        listener.onPath(path);
+                    // The lightest possible weight is reached: nothing longer can improve on it
+                    if (w == weightToGoal[s])
+                        return front;
+                    continue;
+                }
+
+                int steps = labelSteps[label] + 1;
+                int x = cell % width;
+                int y = cell / width;
+                for (int dir = 0; dir < 4; dir++) {
+                    int next;
+                    if (dir == 0 && x + 1 < width)
+                        next = cell + 1;
+                    else if (dir == 1 && x > 0)
+                        next = cell - 1;
+                    else if (dir == 2 && y + 1 < height)
+                        next = cell + width;
+                    else if (dir == 3 && y > 0)
+                        next = cell - width;
+                    else
+                        continue;
+
+                    if (weightToGoal[next] == DistanceField.UNREACHABLE)
+                        continue;
+                    int nw = w + grid.getWeight(next % width, next / width);
+                    if (nw >= lightest[next] || nw + weightToGoal[next] >= lightest[t])
+                        continue;
+
+                    if (labels == MAX_LABELS) {
+                        System.err.println("Pareto search exceeded " + MAX_LABELS + " labels; front is partial");
+                        return front;
+                    }
+                    int b = steps + stepsToGoal[next] - minSteps;
+                    push(addLabel(next, steps, nw, label), b, nw + weightToGoal[next]);
+                    bucketCount = Math.max(bucketCount, b + 1);
+                }
+            }
+        }
+        return front;
+    }
+
+    private void push(int label, int bucket, int weightBound) {
+        if (bucket >= buckets.length) {
+            int old = buckets.length;
+            buckets = Arrays.copyOf(buckets, Math.max(bucket + 1, old * 2));
+            for (int i = old; i < buckets.length; i++)
+                buckets[i] = new LongMinHeap();
+        }
+        // Among equal bounds the newest (deepest) label comes first, so ties run
+        // straight on to the goal instead of flooding open ground
+        buckets[bucket].push(LongMinHeap.pack(weightBound, Integer.MAX_VALUE - label));
+    }
+
+    private int addLabel(int cell, int steps, int weight, int parent) {
+        if (labels == labelCell.length) {
+            int capacity = (int) Math.min(MAX_LABELS, labels * 2L);
+            labelCell = Arrays.copyOf(labelCell, capacity);
+            labelSteps = Arrays.copyOf(labelSteps, capacity);
+            labelWeight = Arrays.copyOf(labelWeight, capacity);
+            labelParent = Arrays.copyOf(labelParent, capacity);
+        }
+        labelCell[labels] = cell;
+        labelSteps[labels] = steps;
+        labelWeight[labels] = weight;
+        labelParent[labels] = parent;
+        return labels++;
+    }
+
+    private ParetoPath toPath(int label) {
+        int[] cells = new int[labelSteps[label] + 1];
+        for (int l = label, i = cells.length - 1; l != NONE; l = labelParent[l], i--)
+            cells[i] = labelCell[l];
+        return new ParetoPath(cells, labelSteps[label], labelWeight[label]);
+    }
+}
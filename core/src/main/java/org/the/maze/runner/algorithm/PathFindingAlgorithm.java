@@ -0,0 +1,18 @@
+package org.the.maze.runner.algorithm;
+
+import org.the.maze.runner.model.*;
+import java.util.List;
+
+public interface PathFindingAlgorithm {
+    List<Node> findPath(Grid grid, Node start, Node end);
+
+    /**
+     * Names what this solver computes, for caching its paths: two solvers
+     * with equal keys must return the same path on the same maze. Solvers
+     * with settings include them; null means paths must not be cached
+     * (they depend on timing or on state outside the maze text).
+     */
+    default String cacheKey() {
+        return getClass().getName();
+    }
+}
@@ -0,0 +1,227 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Races several solvers on the same (read-only) grid and returns the first
+ * good answer.
+ *
+ * Every member runs on its own virtual thread inside one executor scope that
+ * is closed before the race returns, so no solver outlives the call. The
+ * first answer from an exact member (lowest total weight by construction)
+ * wins at once and the other members are interrupted; the solvers check for
+ * interruption in their main loop. Answers from heuristic members are
+ * checked for validity and kept as a fallback, and when the time budget
+ * runs out the cheapest valid answer so far is returned. A race that ends
+ * without any answer has no winner: its empty path means "unknown", not
+ * "unreachable", so callers that care use {@link #race} and check it.
+ *
+ * Wins are counted per {@link MazeKind}, so callers can see which solver
+ * tends to win on which shape of maze.
+ */
+public class PortfolioAlgorithm implements PathFindingAlgorithm {
+
+    /** A solver in the portfolio; exact members always return a cheapest path. */
+    public record Member(String name, Supplier<PathFindingAlgorithm> factory, boolean exact) {
+    }
+
+    /**
+     * The result of one race. winner is null when no member answered, and
+     * timedOut is set when the budget ran out before an exact member did
+     * (the path is then a fallback, or empty with no winner).
+     */
+    public record Outcome(String winner, List<Node> path, long cost, long micros, MazeKind kind, boolean timedOut) {
+    }
+
+    /**
+     * Coarse description of a maze: log2 of its passable cell count, the
+     * passable share of its cells in quarters, and whether all weights match.
+     */
+    public record MazeKind(int sizeClass, int openQuarter, boolean uniformWeights) {
+
+        public static MazeKind of(Grid grid) {
+            long passable = 0;
+            int weight = -1;
+            boolean uniform = true;
+            for (int y = 0; y < grid.getHeight(); y++) {
+                for (int x = 0; x < grid.getWidth(); x++) {
+                    if (!grid.isPassable(x, y))
+                        continue;
+                    passable++;
+                    int w = grid.getWeight(x, y);
+                    if (weight == -1)
+                        weight = w;
+                    uniform &= w == weight;
+                }
+            }
+            long cells = Math.max(1, (long) grid.getWidth() * grid.getHeight());
+            int sizeClass = passable == 0 ? 0 : 63 - Long.numberOfLeadingZeros(passable);
+            return new MazeKind(sizeClass, (int) Math.min(3, passable * 4 / cells), uniform);
+        }
+    }
+
+    // A member's answer
+    private record Finished(Member member, List<Node> path) {
+    }
+
+    private final List<Member> members;
+    private final long budgetMillis;
+
+    private final Map<MazeKind, Map<String, LongAdder>> wins = new ConcurrentHashMap<>();
+    private volatile Outcome lastOutcome;
+
+    public PortfolioAlgorithm(List<Member> members, long budgetMillis) {
+        this.members = List.copyOf(members);
+        this.budgetMillis = budgetMillis;
+    }
+
+    // A* and Dijkstra (exact) raced with BFS (fewest steps, kept only as a fallback)
+    public static PortfolioAlgorithm standard(long budgetMillis) {
+        return new PortfolioAlgorithm(List.of(
+                new Member("astar", AStarAlgorithm::new, true),
+                new Member("dijkstra", DijkstraAlgorithm::new, true),
+                new Member("bfs", BFSAlgorithm::new, false)), budgetMillis);
+    }
+
+    // Which member wins (and so which of several equal paths comes back) depends on timing
+    @Override
+    public String cacheKey() {
+        return null;
+    }
+
+    // Empty both for "no path" and for a race without a winner; see race
+    @Override
+    public List<Node> findPath(Grid grid, Node start, Node end) {
+        Outcome outcome = race(grid, start, end);
+        if (outcome.winner() == null && outcome.timedOut())
+            System.err.println("Portfolio race used its " + budgetMillis + " ms budget without an answer");
+        return outcome.path();
+    }
+
+    public Outcome race(Grid grid, Node start, Node end) {
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        MazeKind kind = grid.getDerived(MazeKind.class, MazeKind::of);
+
+        Finished best = null;
+        long bestCost = Long.MAX_VALUE;
+        boolean timedOut = false;
+
+        // Structured: closing the scope waits for every (interrupted) member to return
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Finished> done = new ExecutorCompletionService<>(scope);
+            List<Future<Finished>> running = new ArrayList<>(members.size());
+            for (Member member : members)
+                running.add(done.submit(() -> new Finished(member, member.factory().get().findPath(grid, start, end))));
+
+            try {
+                for (int i = 0; i < members.size(); i++) {
+                    long wait = deadline - System.nanoTime();
+                    Future<Finished> next = wait > 0 ? done.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        timedOut = true; // budget spent: keep the best answer so far
+                        break;
+                    }
+
+                    Finished finished;
+                    try {
+                        finished = next.get();
+                    } catch (ExecutionException e) {
+                        System.err.println("Portfolio solver failed: " + e.getCause());
+                        continue;
+                    }
+
+                    // An exact member finding nothing means there is no path
+                    if (finished.path().isEmpty()) {
+                        if (finished.member().exact()) {
+                            best = finished;
+                            bestCost = 0;
+                            break;
+                        }
+                        continue;
+                    }
+
+                    long cost = validCost(grid, finished.path(), start, end);
+                    if (cost < 0) {
+                        System.err.println("Portfolio solver " + finished.member().name() + " returned an invalid path");
+                        continue;
+                    }
+                    if (cost < bestCost) {
+                        best = finished;
+                        bestCost = cost;
+                    }
+                    if (finished.member().exact())
+                        break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (Future<Finished> future : running)
+                    future.cancel(true);
+            }
+        }
+
+        long micros = (System.nanoTime() - started) / 1_000;
+        Outcome outcome = best == null
+                ? new Outcome(null, Collections.emptyList(), 0, micros, kind, timedOut)
+                : new Outcome(best.member().name(), best.path(), best.path().isEmpty() ? 0 : bestCost, micros, kind,
+                        timedOut);
+        if (outcome.winner() != null)
+            wins.computeIfAbsent(kind, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(outcome.winner(), k -> new LongAdder()).increment();
+        lastOutcome = outcome;
+        return outcome;
+    }
+
+    public Outcome getLastOutcome() {
+        return lastOutcome;
+    }
+
+    // Wins per member for each kind of maze seen so far
+    public Map<MazeKind, Map<String, Long>> winCounts() {
+        Map<MazeKind, Map<String, Long>> counts = new ConcurrentHashMap<>();
+        wins.forEach((kind, byName) -> {
+            Map<String, Long> snapshot = new TreeMap<>();
+            byName.forEach((name, adder) -> snapshot.put(name, adder.sum()));
+            counts.put(kind, snapshot);
+        });
+        return counts;
+    }
+
+    // Total weight of a valid start..end walk over passable 4-neighbours, or -1
+    private static long validCost(Grid grid, List<Node> path, Node start, Node end) {
+        if (!path.get(0).equals(start) || !path.get(path.size() - 1).equals(end))
+            return -1;
+
+        long cost = 0;
+        Node previous = null;
+        for (Node n : path) {
+            if (!grid.isPassable(n.x, n.y))
+                return -1;
+            if (previous != null) {
+                if (Math.abs(n.x - previous.x) + Math.abs(n.y - previous.y) != 1)
+                    return -1;
+                cost += grid.getWeight(n.x, n.y);
+            }
+            previous = n;
+        }
+        return cost;
+    }
+}
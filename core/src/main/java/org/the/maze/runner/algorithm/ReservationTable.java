@@ -0,0 +1,283 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Which cells are taken at which time steps, for planning runners that move
+ * one cell (or wait) per time step.
+ *
+ * Each cell keeps a sorted list of disjoint reserved time ranges packed as
+ * pairs in one int array, so a runner waiting ten steps is one range and a
+ * runner parked on its goal is one open-ended range. Only cells that have
+ * reservations take space: they are found through a primitive hash from
+ * cell to list, so a table holding a few constraints stays small however
+ * large the grid. Blocked moves (to stop two runners swapping cells) are
+ * kept in a primitive hash set keyed by time, cell and direction.
+ *
+ * Reading from several threads is safe while nothing is being reserved.
+ */
+public class ReservationTable {
+
+    /** Open end of a range: reserved (or free) from then on. */
+    public static final int FOREVER = Integer.MAX_VALUE;
+
+    private static final int NONE = -1;
+
+    // Directions in the usual order: right, left, down, up
+    static final int[] DX = { 1, -1, 0, 0 };
+    static final int[] DY = { 0, 0, 1, -1 };
+
+    private final int width;
+    private final int cells;
+    // Per used cell: from0, to0, from1, to1, ... and the number of ranges
+    private int[][] ranges = new int[16][];
+    private int[] rangeCount = new int[16];
+    private int usedCells;
+
+    // Open addressing from cell + 1 (0 = empty slot) to its index in ranges
+    private int[] cellKeys = new int[32];
+    private int[] cellIndex = new int[32];
+
+    private long[] blockedMoves;
+    private int blockedCount;
+    // Blocked through blockMove rather than reservePath (see hasLooseBlocks)
+    private int looseBlocks;
+
+    public ReservationTable(int width, int height) {
+        this.width = width;
+        this.cells = width * height;
+        rehash(16);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    // Reserves the cell for every step in from..to (to may be FOREVER)
+    public void reserve(int cell, int from, int to) {
+        int index = indexOf(cell);
+        if (index == NONE)
+            index = addCell(cell);
+        int[] r = ranges[index];
+        int count = rangeCount[index];
+
+        // Ranges overlapping or touching from..to are merged into it
+        int i = firstEndingAtOrAfter(r, count, from == 0 ? 0 : from - 1);
+        int j = i;
+        while (j < count && (to == FOREVER || r[2 * j] <= to + 1)) {
+            from = Math.min(from, r[2 * j]);
+            to = Math.max(to, r[2 * j + 1]);
+            j++;
+        }
+
+        int newCount = count - (j - i) + 1;
+        if (2 * newCount > r.length) {
+            r = ranges[index] = Arrays.copyOf(r, Math.max(2 * newCount, r.length * 2));
+        }
+        System.arraycopy(r, 2 * j, r, 2 * (i + 1), 2 * (count - j));
+        r[2 * i] = from;
+        r[2 * i + 1] = to;
+        rangeCount[index] = newCount;
+    }
+
+    // Forbids moving from cell in direction dir when leaving at step time
+    public void blockMove(int cell, int dir, int time) {
+        if (addBlock(cell, dir, time))
+            looseBlocks++;
+    }
+
+    public boolean isMoveBlocked(int cell, int dir, int time) {
+        return blockedCount > 0 && containsMove(moveKey(cell, dir, time));
+    }
+
+    /**
+     * Whether some move is blocked while its cell is free the step after.
+     * Moves blocked by {@link #reservePath} never are (the runner that
+     * blocks the swap stands on the cell then), so without blockMove calls
+     * a searcher only needs to ask about moves out of a cell's last free step.
+     */
+    public boolean hasLooseBlocks() {
+        return looseBlocks > 0;
+    }
+
+    /**
+     * Reserves a runner's route: path[t] is its cell at step startTime + t.
+     * Parked runners keep their last cell forever. The reverse of every move
+     * is blocked so nobody swaps places with the runner.
+     */
+    public void reservePath(int[] path, int startTime, boolean park) {
+        for (int t = 0; t < path.length; t++) {
+            int to = park && t == path.length - 1 ? FOREVER : startTime + t;
+            reserve(path[t], startTime + t, to);
+            if (t > 0 && path[t] != path[t - 1])
+                addBlock(path[t], direction(path[t], path[t - 1]), startTime + t - 1);
+        }
+    }
+
+    /**
+     * Whether a route (as for {@link #reservePath}) runs into a reservation,
+     * including one made after the runner has parked at its last cell.
+     */
+    public boolean conflicts(int[] path, int startTime, boolean park) {
+        for (int t = 0; t < path.length; t++) {
+            if (!isFree(path[t], startTime + t))
+                return true;
+            if (t > 0 && path[t] != path[t - 1]
+                    && isMoveBlocked(path[t - 1], direction(path[t - 1], path[t]), startTime + t - 1))
+                return true;
+        }
+        int last = path[path.length - 1];
+        return park && freeUntil(last, startTime + path.length - 1) != FOREVER;
+    }
+
+    public boolean isFree(int cell, int time) {
+        int index = indexOf(cell);
+        if (index == NONE)
+            return true;
+        int[] r = ranges[index];
+        int i = firstEndingAtOrAfter(r, rangeCount[index], time);
+        return i == rangeCount[index] || r[2 * i] > time;
+    }
+
+    // First free step at or after time, or FOREVER if the cell is taken for good
+    public int nextFree(int cell, int time) {
+        int index = indexOf(cell);
+        if (index == NONE)
+            return time;
+        int[] r = ranges[index];
+        int i = firstEndingAtOrAfter(r, rangeCount[index], time);
+        if (i == rangeCount[index] || r[2 * i] > time)
+            return time;
+        return r[2 * i + 1] == FOREVER ? FOREVER : r[2 * i + 1] + 1;
+    }
+
+    // Last step of the free stretch containing the (free) step time, or FOREVER
+    public int freeUntil(int cell, int time) {
+        int index = indexOf(cell);
+        if (index == NONE)
+            return FOREVER;
+        int[] r = ranges[index];
+        int i = firstEndingAtOrAfter(r, rangeCount[index], time);
+        return i == rangeCount[index] ? FOREVER : r[2 * i] - 1;
+    }
+
+    // First step of the free stretch containing the (free) step time
+    public int freeFrom(int cell, int time) {
+        int index = indexOf(cell);
+        if (index == NONE)
+            return 0;
+        int[] r = ranges[index];
+        int i = firstEndingAtOrAfter(r, rangeCount[index], time);
+        return i == 0 ? 0 : r[2 * (i - 1) + 1] + 1;
+    }
+
+    // Direction of the step from cell a to the neighbouring cell b
+    int direction(int a, int b) {
+        int d = b - a;
+        return d == 1 ? 0 : d == -1 ? 1 : d == width ? 2 : 3;
+    }
+
+    // Index of the first range whose end is >= time (binary search on the ends)
+    private static int firstEndingAtOrAfter(int[] r, int count, int time) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (r[2 * mid + 1] < time)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    private int indexOf(int cell) {
+        int mask = cellKeys.length - 1;
+        for (int i = slot(cell, mask);; i = (i + 1) & mask) {
+            if (cellKeys[i] == cell + 1)
+                return cellIndex[i];
+            if (cellKeys[i] == 0)
+                return NONE;
+        }
+    }
+
+    private int addCell(int cell) {
+        if (usedCells == ranges.length) {
+            ranges = Arrays.copyOf(ranges, usedCells * 2);
+            rangeCount = Arrays.copyOf(rangeCount, usedCells * 2);
+        }
+        int index = usedCells++;
+        ranges[index] = new int[4];
+
+        if (2 * usedCells > cellKeys.length) {
+            int[] oldKeys = cellKeys;
+            int[] oldIndex = cellIndex;
+            cellKeys = new int[oldKeys.length * 2];
+            cellIndex = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++)
+                if (oldKeys[i] != 0)
+                    putCell(oldKeys[i] - 1, oldIndex[i]);
+        }
+        putCell(cell, index);
+        return index;
+    }
+
+    private void putCell(int cell, int index) {
+        int mask = cellKeys.length - 1;
+        int i = slot(cell, mask);
+        while (cellKeys[i] != 0)
+            i = (i + 1) & mask;
+        cellKeys[i] = cell + 1;
+        cellIndex[i] = index;
+    }
+
+    // False when the move was blocked already
+    private boolean addBlock(int cell, int dir, int time) {
+        long key = moveKey(cell, dir, time);
+        if (containsMove(key))
+            return false;
+        if (2 * (blockedCount + 1) > blockedMoves.length)
+            rehash(blockedMoves.length * 2);
+        insertMove(blockedMoves, key);
+        blockedCount++;
+        return true;
+    }
+
+    private long moveKey(int cell, int dir, int time) {
+        return ((long) time * cells + cell) * 4 + dir;
+    }
+
+    // Open addressing with linear probing; -1 marks an empty slot
+    private boolean containsMove(long key) {
+        int mask = blockedMoves.length - 1;
+        for (int i = slot(key, mask);; i = (i + 1) & mask) {
+            if (blockedMoves[i] == key)
+                return true;
+            if (blockedMoves[i] == -1)
+                return false;
+        }
+    }
+
+    private static void insertMove(long[] table, long key) {
+        int mask = table.length - 1;
+        int i = slot(key, mask);
+        while (table[i] != -1)
+            i = (i + 1) & mask;
+        table[i] = key;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = blockedMoves;
+        blockedMoves = new long[capacity];
+        Arrays.fill(blockedMoves, -1);
+        if (blockedCount == 0)
+            return;
+        for (long key : old)
+            if (key != -1)
+                insertMove(blockedMoves, key);
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+    }
+}
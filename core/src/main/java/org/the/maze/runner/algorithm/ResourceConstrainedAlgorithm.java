@@ -0,0 +1,220 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Shortest path under a resource cap, for "time-limited" mazes:
+ *
+ * FEWEST_STEPS_WITHIN_WEIGHT - fewest steps whose total weight stays within the limit.
+ * LOWEST_WEIGHT_WITHIN_STEPS - lowest total weight using at most the limit in steps.
+ *
+ * Label-setting over (cell, steps, weight). Labels are expanded one step
+ * layer at a time, so a new label at a cell is only kept if it is lighter
+ * than every label already there (anything heavier is dominated by a label
+ * with no more steps). Labels live in primitive arrays and each layer is a
+ * contiguous range of them. Exact lower bounds from reverse sweeps towards
+ * the goal (weights via {@link DistanceField}, steps via BFS) discard labels
+ * that can no longer meet the cap or beat the best answer.
+ *
+ * Weights come from {@link Node#getWeight()}; entering a cell costs its weight.
+ */
+public class ResourceConstrainedAlgorithm implements PathFindingAlgorithm {
+
+    public enum Objective {
+        FEWEST_STEPS_WITHIN_WEIGHT,
+        LOWEST_WEIGHT_WITHIN_STEPS
+    }
+
+    // Hard stop on label growth (~12 bytes per label)
+    private static final int MAX_LABELS = 50_000_000;
+    private static final int NONE = -1;
+
+    private final Objective objective;
+    private final int limit;
+
+    // Label pool, reused across queries on this instance
+    private int[] labelCell = new int[1024];
+    private int[] labelWeight = new int[1024];
+    private int[] labelParent = new int[1024];
+    private int labels;
+
+    public ResourceConstrainedAlgorithm(Objective objective, int limit) {
+        this.objective = objective;
+        this.limit = limit;
+    }
+
+    @Override
+    public String cacheKey() {
+        return getClass().getName() + ":" + objective + ":" + limit;
+    }
+
+    @Override
+    public List<Node> findPath(Grid grid, Node start, Node end) {
+        if (!grid.mayReach(start, end)) {
+            return Collections.emptyList();
+        }
+
+        if (start.equals(end)) {
+            return List.of(start);
+        }
+
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int n = width * height;
+        int s = start.y * width + start.x;
+        int t = end.y * width + end.x;
+
+        // Lower bounds from every cell to the goal
+        int[] weightToGoal = DistanceField.cachedTo(grid, end).distances();
+        int[] stepsToGoal = stepsTo(grid, t);
+
+        if (objective == Objective.FEWEST_STEPS_WITHIN_WEIGHT && weightToGoal[s] > limit)
+            return Collections.emptyList();
+        if (objective == Objective.LOWEST_WEIGHT_WITHIN_STEPS && stepsToGoal[s] > limit)
+            return Collections.emptyList();
+
+        int[] weight = new int[n];
+        for (int cell = 0; cell < n; cell++) {
+            int x = cell % width;
+            int y = cell / width;
+            weight[cell] = grid.isPassable(x, y) ? grid.getWeight(x, y) : NONE;
+        }
+
+        // Lightest label seen at each cell so far (earlier layers have fewer steps)
+        int[] lightest = new int[n];
+        Arrays.fill(lightest, Integer.MAX_VALUE);
+
+        labels = 0;
+        addLabel(s, 0, NONE);
+        lightest[s] = 0;
+
+        int bestLabel = NONE;
+        int bestWeight = Integer.MAX_VALUE;
+
+        int layerStart = 0;
+        int steps = 0;
+        while (layerStart < labels) {
+            // Fewest steps: the first layer reaching the goal wins
+            if (objective == Objective.FEWEST_STEPS_WITHIN_WEIGHT && bestLabel != NONE)
+                break;
+            // Lowest weight: stop at the step cap, or once the unconstrained optimum is reached
+            if (objective == Objective.LOWEST_WEIGHT_WITHIN_STEPS
+                    && (steps >= limit || bestWeight == weightToGoal[s]))
+                break;
+
+            int layerEnd = labels;
+            steps++;
+
+            for (int label = layerStart; label < layerEnd; label++) {
+                int cell = labelCell[label];
+                int w = labelWeight[label];
+
+                int x = cell % width;
+                int y = cell / width;
+                for (int dir = 0; dir < 4; dir++) {
+                    int next;
+                    if (dir == 0 && x + 1 < width)
+                        next = cell + 1;
+                    else if (dir == 1 && x > 0)
+                        next = cell - 1;
+                    else if (dir == 2 && y + 1 < height)
+                        next = cell + width;
+                    else if (dir == 3 && y > 0)
+                        next = cell - width;
+                    else
+                        continue;
+
+                    if (weight[next] == NONE)
+                        continue;
+
+                    int nw = w + weight[next];
+                    if (nw >= lightest[next] || weightToGoal[next] == DistanceField.UNREACHABLE)
+                        continue;
+
+                    long boundWeight = (long) nw + weightToGoal[next];
+                    if (objective == Objective.FEWEST_STEPS_WITHIN_WEIGHT) {
+                        if (boundWeight > limit)
+                            continue;
+                    } else if (steps + (long) stepsToGoal[next] > limit || boundWeight >= bestWeight) {
+                        continue;
+                    }
+
+                    if (labels == MAX_LABELS) {
+                        System.err.println("Resource-constrained search exceeded " + MAX_LABELS + " labels");
+                        return bestLabel == NONE ? Collections.emptyList() : toPath(grid, bestLabel);
+                    }
+
+                    lightest[next] = nw;
+                    int added = addLabel(next, nw, label);
+                    if (next == t && nw < bestWeight) {
+                        bestWeight = nw;
+                        bestLabel = added;
+                    }
+                }
+            }
+            layerStart = layerEnd;
+        }
+
+        return bestLabel == NONE ? Collections.emptyList() : toPath(grid, bestLabel);
+    }
+
+    private int addLabel(int cell, int weight, int parent) {
+        if (labels == labelCell.length) {
+            int capacity = (int) Math.min(MAX_LABELS, labels * 2L);
+            labelCell = Arrays.copyOf(labelCell, capacity);
+            labelWeight = Arrays.copyOf(labelWeight, capacity);
+            labelParent = Arrays.copyOf(labelParent, capacity);
+        }
+        labelCell[labels] = cell;
+        labelWeight[labels] = weight;
+        labelParent[labels] = parent;
+        return labels++;
+    }
+
+    private List<Node> toPath(Grid grid, int label) {
+        List<Node> path = new ArrayList<>();
+        for (int l = label; l != NONE; l = labelParent[l])
+            path.add(grid.getNode(labelCell[l] % grid.getWidth(), labelCell[l] / grid.getWidth()));
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Unweighted BFS distance from every cell to the target
+    private static int[] stepsTo(Grid grid, int target) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int[] steps = new int[width * height];
+        Arrays.fill(steps, Integer.MAX_VALUE);
+
+        int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        steps[target] = 0;
+        queue[tail++] = target;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int y = cell / width;
+            int[][] directions = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+            for (int[] dir : directions) {
+                int nx = x + dir[0];
+                int ny = y + dir[1];
+                if (!grid.isPassable(nx, ny))
+                    continue;
+                int next = ny * width + nx;
+                if (steps[next] == Integer.MAX_VALUE) {
+                    steps[next] = steps[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,341 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.Arrays;
+
+import org.the.maze.runner.model.Grid;
+
+/**
+ * Safe Interval Path Planning: earliest arrival for one runner that moves
+ * one cell (or waits) per time step around the reservations of others.
+ *
+ * Instead of one search state per (cell, time step), each cell's free time
+ * is split into safe intervals between reservations and a state is a
+ * (cell, interval) pair holding its earliest arrival time; waiting happens
+ * inside an interval. Without reservations that is one state per cell, as
+ * in plain A*. The heuristic is the exact step count to the goal ignoring
+ * other runners, from a {@link GoalDistance} that only searches as far
+ * back from the goal as the plan needs.
+ *
+ * The goal only counts once the runner can stay there for good. Instances
+ * hold no per-search state, so one can serve several threads at once.
+ */
+public class SafeIntervalSearch {
+
+    private static final int NONE = -1;
+    // Low priority bits used for tie-breaking
+    private static final int TIE_BITS = 10;
+
+    private final int width;
+    private final int height;
+    private final boolean[] passable;
+
+    public SafeIntervalSearch(Grid grid) {
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.passable = new boolean[width * height];
+        for (int cell = 0; cell < passable.length; cell++)
+            passable[cell] = grid.isPassable(cell % width, cell / width);
+    }
+
+    // Steps from every cell to the goal, ignoring other runners; MAX_VALUE where unreachable
+    public int[] stepsTo(int goal) {
+        int[] steps = new int[passable.length];
+        Arrays.fill(steps, Integer.MAX_VALUE);
+        if (!passable[goal])
+            return steps;
+
+        int[] queue = new int[passable.length];
+        int head = 0;
+        int tail = 0;
+        steps[goal] = 0;
+        queue[tail++] = goal;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int next = steps[cell] + 1;
+            if (x + 1 < width && passable[cell + 1] && steps[cell + 1] == Integer.MAX_VALUE) {
+                steps[cell + 1] = next;
+                queue[tail++] = cell + 1;
+            }
+            if (x > 0 && passable[cell - 1] && steps[cell - 1] == Integer.MAX_VALUE) {
+                steps[cell - 1] = next;
+                queue[tail++] = cell - 1;
+            }
+            if (cell + width < passable.length && passable[cell + width] && steps[cell + width] == Integer.MAX_VALUE) {
+                steps[cell + width] = next;
+                queue[tail++] = cell + width;
+            }
+            if (cell >= width && passable[cell - width] && steps[cell - width] == Integer.MAX_VALUE) {
+                steps[cell - width] = next;
+                queue[tail++] = cell - width;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Cells visited at steps startTime, startTime + 1, ... up to the arrival
+     * at the goal, or null when the goal cannot be reached and held.
+     */
+    public int[] plan(ReservationTable table, int start, int goal, int startTime, GoalDistance stepsToGoal) {
+        return plan(table, start, goal, startTime, stepsToGoal, true);
+    }
+
+    /**
+     * As above; with holdGoal false the earliest arrival at the goal counts
+     * even if the goal closes again afterwards.
+     */
+    public int[] plan(ReservationTable table, int start, int goal, int startTime, GoalDistance stepsToGoal,
+            boolean holdGoal) {
+        if (!passable[start] || !passable[goal] || stepsToGoal.steps(start) == GoalDistance.UNREACHABLE
+                || !table.isFree(start, startTime))
+            return null;
+
+        // Swaps blocked by reserved routes can only stop a runner leaving in the last step it may stay
+        boolean looseBlocks = table.hasLooseBlocks();
+        States states = new States();
+        // Keys are longs: arrival times run up to FOREVER, far past what LongMinHeap.pack holds
+        LongKeyHeap open = new LongKeyHeap();
+        int first = states.add(start, table.freeFrom(start, startTime), table.freeUntil(start, startTime),
+                startTime, NONE);
+        open.push(priority(startTime, stepsToGoal.steps(start)), first);
+
+        while (!open.isEmpty()) {
+            long key = open.peekKey();
+            int state = (int) open.pop();
+            int cell = states.cell[state];
+            int arrival = states.arrival[state];
+            if (key != priority(arrival, stepsToGoal.steps(cell)))
+                continue; // stale entry
+
+            // Cancelled (e.g. lost a PortfolioAlgorithm race)
+            if (Thread.currentThread().isInterrupted())
+                return null;
+
+            int until = states.until[state];
+            if (cell == goal && (!holdGoal || until == ReservationTable.FOREVER))
+                return states.path(state);
+
+            // Arrivals next door are possible from arrival + 1 up to one step after the interval ends
+            int lastArrival = until == ReservationTable.FOREVER ? ReservationTable.FOREVER : until + 1;
+            int x = cell % width;
+            int y = cell / width;
+            for (int dir = 0; dir < 4; dir++) {
+                int nx = x + ReservationTable.DX[dir];
+                int ny = y + ReservationTable.DY[dir];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height)
+                    continue;
+                int next = ny * width + nx;
+                if (!passable[next] || stepsToGoal.steps(next) == GoalDistance.UNREACHABLE)
+                    continue;
+
+                // Walk the safe intervals of next that overlap the arrival window
+                int t = table.nextFree(next, arrival + 1);
+                while (t != ReservationTable.FOREVER && t <= lastArrival) {
+                    int intervalEnd = table.freeUntil(next, t);
+                    int latest = Math.min(intervalEnd, lastArrival);
+                    int at = t;
+                    while (at <= latest && (looseBlocks || at == until + 1) && table.isMoveBlocked(cell, dir, at - 1))
+                        at++;
+
+                    if (at <= latest) {
+                        int intervalFrom = table.freeFrom(next, t);
+                        int found = states.find(next, intervalFrom);
+                        if (found == NONE) {
+                            found = states.add(next, intervalFrom, intervalEnd, at, state);
+                            open.push(priority(at, stepsToGoal.steps(next)), found);
+                        } else if (at < states.arrival[found]) {
+                            states.arrival[found] = at;
+                            states.parent[found] = state;
+                            open.push(priority(at, stepsToGoal.steps(next)), found);
+                        }
+                    }
+
+                    if (intervalEnd == ReservationTable.FOREVER)
+                        break;
+                    t = table.nextFree(next, intervalEnd + 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Heuristic for runs of plan towards goal from start (one per runner; not thread-safe)
+    public GoalDistance towards(int goal, int start) {
+        return new GoalDistance(goal, start);
+    }
+
+    /**
+     * Steps from a cell to one goal, ignoring other runners, worked out on
+     * demand (Reverse Resumable A*): an A* from the goal towards the runner's
+     * start, resumed whenever plan asks about a cell it has not closed yet.
+     * Closed cells hold exact step counts, so the heuristic stays consistent,
+     * and a runner crossing a corner of the maze costs a corner of it, not
+     * a full sweep.
+     */
+    public final class GoalDistance {
+
+        public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+        private final int start;
+        // Steps + 1 found so far (0 = not reached), and which of them are final
+        private final int[] reached = new int[passable.length];
+        private final boolean[] closed = new boolean[passable.length];
+
+        // Open cells by f = steps + Manhattan distance to start. A step changes f by 0 or 2,
+        // so two stacks do: f = level, and f = level + 2. Last in, first out favours depth.
+        private int level;
+        private int[] now = new int[64];
+        private int nowSize;
+        private int[] later = new int[64];
+        private int laterSize;
+
+        private GoalDistance(int goal, int start) {
+            this.start = start;
+            if (passable[goal]) {
+                reached[goal] = 1;
+                level = manhattan(goal);
+                now[nowSize++] = goal;
+            }
+        }
+
+        public int steps(int cell) {
+            while (!closed[cell]) {
+                if (nowSize == 0) {
+                    if (laterSize == 0)
+                        return UNREACHABLE;
+                    int[] swap = now;
+                    now = later;
+                    nowSize = laterSize;
+                    later = swap;
+                    laterSize = 0;
+                    level += 2;
+                }
+                int next = now[--nowSize];
+                if (closed[next] || reached[next] - 1 + manhattan(next) != level)
+                    continue; // stale entry
+                closed[next] = true;
+                expand(next);
+            }
+            return reached[cell] - 1;
+        }
+
+        private void expand(int cell) {
+            int x = cell % width;
+            if (x + 1 < width)
+                relax(cell + 1, reached[cell]);
+            if (x > 0)
+                relax(cell - 1, reached[cell]);
+            if (cell + width < passable.length)
+                relax(cell + width, reached[cell]);
+            if (cell >= width)
+                relax(cell - width, reached[cell]);
+        }
+
+        private void relax(int cell, int steps) {
+            if (!passable[cell] || (reached[cell] != 0 && reached[cell] - 1 <= steps))
+                return;
+            reached[cell] = steps + 1;
+            if (steps + manhattan(cell) == level) {
+                if (nowSize == now.length)
+                    now = Arrays.copyOf(now, nowSize * 2);
+                now[nowSize++] = cell;
+            } else {
+                if (laterSize == later.length)
+                    later = Arrays.copyOf(later, laterSize * 2);
+                later[laterSize++] = cell;
+            }
+        }
+
+        private int manhattan(int cell) {
+            return Math.abs(cell % width - start % width) + Math.abs(cell / width - start / width);
+        }
+    }
+
+    // Arrival plus steps left, ties going to the state closer to the goal
+    private static long priority(int arrival, int stepsLeft) {
+        return ((long) arrival + stepsLeft) << TIE_BITS | Math.min(stepsLeft, (1 << TIE_BITS) - 1);
+    }
+
+    // Search states in parallel primitive arrays, found by (cell, interval start)
+    private static final class States {
+        int[] cell = new int[256];
+        int[] from = new int[256];
+        int[] until = new int[256];
+        int[] arrival = new int[256];
+        int[] parent = new int[256];
+        int size;
+
+        // Open addressing from (cell, interval start) to state index + 1
+        private long[] keys = new long[512];
+        private int[] index = new int[512];
+
+        int add(int c, int intervalFrom, int intervalUntil, int at, int p) {
+            if (size == cell.length) {
+                int capacity = size * 2;
+                cell = Arrays.copyOf(cell, capacity);
+                from = Arrays.copyOf(from, capacity);
+                until = Arrays.copyOf(until, capacity);
+                arrival = Arrays.copyOf(arrival, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+            }
+            int s = size++;
+            cell[s] = c;
+            from[s] = intervalFrom;
+            until[s] = intervalUntil;
+            arrival[s] = at;
+            parent[s] = p;
+
+            if (2 * size > keys.length)
+                grow();
+            put(key(c, intervalFrom), s);
+            return s;
+        }
+
+        int find(int c, int intervalFrom) {
+            long k = key(c, intervalFrom);
+            int mask = keys.length - 1;
+            for (int i = slot(k, mask);; i = (i + 1) & mask) {
+                if (index[i] == 0)
+                    return NONE;
+                if (keys[i] == k)
+                    return index[i] - 1;
+            }
+        }
+
+        // Cells per time step from the first state to s, waits included
+        int[] path(int s) {
+            int[] cells = new int[arrival[s] - arrival[0] + 1];
+            int t = cells.length - 1;
+            for (int state = s; state != NONE; state = parent[state]) {
+                for (int earliest = arrival[state] - arrival[0]; t >= earliest; t--)
+                    cells[t] = cell[state];
+            }
+            return cells;
+        }
+
+        private void put(long k, int s) {
+            int mask = keys.length - 1;
+            int i = slot(k, mask);
+            while (index[i] != 0)
+                i = (i + 1) & mask;
+            keys[i] = k;
+            index[i] = s + 1;
+        }
+
+        private void grow() {
+            keys = new long[keys.length * 2];
+            index = new int[index.length * 2];
+            for (int s = 0; s < size - 1; s++)
+                put(key(cell[s], from[s]), s);
+        }
+
+        private static long key(int c, int intervalFrom) {
+            return (long) c << 32 | (intervalFrom & 0xffffffffL);
+        }
+
+        private static int slot(long k, int mask) {
+            return (int) (k * 0x9E3779B97F4A7C15L >>> 32) & mask;
+        }
+    }
+}
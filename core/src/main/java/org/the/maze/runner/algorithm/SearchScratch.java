@@ -0,0 +1,82 @@
+package org.the.maze.runner.algorithm;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.the.maze.runner.model.Grid;
+
+/**
+ * Per-cell search state for grids too large for cell arrays (see
+ * {@link Grid#fitsCellArrays()}), kept off-heap in a sparse temporary file.
+ *
+ * Every cell has a flag byte and, when asked for, a long cost. Cells are laid
+ * out tile by tile, so a search working through one region of the maze
+ * touches few pages. The whole file is mapped at once and pages only get
+ * disk blocks when written. The file is deleted on close.
+ */
+final class SearchScratch implements AutoCloseable {
+
+    private static final int TILE = 256;
+    private static final ValueLayout.OfLong COST = ValueLayout.JAVA_LONG_UNALIGNED;
+
+    private final int tilesPerRow;
+    private final int stride;
+    private final FileChannel channel;
+    private final Arena arena;
+    private final MemorySegment cells;
+
+    SearchScratch(Grid grid, boolean withCosts) throws IOException {
+        this.tilesPerRow = (grid.getWidth() + TILE - 1) / TILE;
+        this.stride = withCosts ? 1 + Long.BYTES : 1;
+        long tileRows = (grid.getHeight() + TILE - 1) / TILE;
+        long size = tileRows * tilesPerRow * TILE * TILE * stride;
+
+        Path file = Files.createTempFile("maze-search", ".scratch");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        Arena mapping = Arena.ofConfined();
+        try {
+            channel.write(ByteBuffer.wrap(new byte[1]), size - 1); // sparse until written
+            cells = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, mapping);
+        } catch (IOException | RuntimeException e) {
+            mapping.close();
+            channel.close();
+            throw e;
+        }
+        arena = mapping;
+    }
+
+    byte flags(int x, int y) {
+        return cells.get(ValueLayout.JAVA_BYTE, offset(x, y));
+    }
+
+    void setFlags(int x, int y, int flags) {
+        cells.set(ValueLayout.JAVA_BYTE, offset(x, y), (byte) flags);
+    }
+
+    long cost(int x, int y) {
+        return cells.get(COST, offset(x, y) + 1);
+    }
+
+    void setCost(int x, int y, long cost) {
+        cells.set(COST, offset(x, y) + 1, cost);
+    }
+
+    private long offset(int x, int y) {
+        long tile = (long) (y / TILE) * tilesPerRow + x / TILE;
+        return ((tile * TILE + y % TILE) * TILE + x % TILE) * stride;
+    }
+
+    @Override
+    public void close() throws IOException {
+        arena.close();
+        channel.close();
+    }
+}
@@ -0,0 +1,62 @@
+package org.the.maze.runner.algorithm;
+
+import org.the.maze.runner.model.Grid;
+
+/**
+ * Fixed-size log of search events (cell discovered / cell expanded) for
+ * replaying how a solver explored the maze.
+ *
+ * Each event is one int, cell index (y * width + x) shifted left by two with
+ * the event type in the low bits, in a buffer allocated once up front.
+ * Solvers only touch it when a trace was set on them, so an untraced search
+ * pays a null check per event. Once the buffer is full further events are
+ * dropped and {@link #isTruncated()} reports it.
+ */
+public final class SearchTrace {
+
+    public static final int OPEN = 1; // added to the frontier (or its cost improved)
+    public static final int CLOSE = 2; // taken off the frontier and expanded
+
+    private static final int MAX_CELL = Integer.MAX_VALUE >> 2;
+
+    private final int[] events;
+    private int size;
+    private int width;
+    private boolean truncated;
+
+    public SearchTrace(int capacity) {
+        events = new int[capacity];
+    }
+
+    // Called by the solver before recording a search on this grid
+    public void begin(Grid grid) {
+        width = grid.getWidth();
+        size = 0;
+        truncated = false;
+    }
+
+    public void record(int type, int x, int y) {
+        long cell = (long) y * width + x;
+        if (size == events.length || cell > MAX_CELL) {
+            truncated = true;
+            return;
+        }
+        events[size++] = (int) cell << 2 | type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int type(int i) {
+        return events[i] & 3;
+    }
+
+    public int cell(int i) {
+        return events[i] >>> 2;
+    }
+}
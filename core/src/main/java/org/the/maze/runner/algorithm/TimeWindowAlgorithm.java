@@ -0,0 +1,85 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+import org.the.maze.runner.model.TimeWindows;
+
+/**
+ * Earliest arrival on a grid whose cells open and close over time (see
+ * {@link Grid#getTimeWindows()}). Every step the runner moves one cell or
+ * waits where it stands; it may not enter or stay on a cell while closed.
+ *
+ * Uses {@link SafeIntervalSearch}: a cell without a schedule is a single
+ * search state, so with few windows the search costs about as much as
+ * plain A*, rather than one state per cell and time step.
+ *
+ * The returned path has one node per step, so a wait shows up as the same
+ * node repeated. Cell weights are not used; the cost is the arrival step.
+ */
+public class TimeWindowAlgorithm implements PathFindingAlgorithm {
+
+    private final int departAt;
+
+    // Closed ranges of the windows last used, rebuilt when they change
+    private TimeWindows cachedWindows;
+    private int cachedVersion;
+    private ReservationTable cachedTable;
+
+    public TimeWindowAlgorithm() {
+        this(0);
+    }
+
+    // Steps already on the clock when the runner leaves the start
+    public TimeWindowAlgorithm(int departAt) {
+        this.departAt = departAt;
+    }
+
+    // The windows live on the Grid, not in the maze text the cache is keyed by
+    @Override
+    public String cacheKey() {
+        return null;
+    }
+
+    @Override
+    public List<Node> findPath(Grid grid, Node start, Node end) {
+        // Start and goal in different regions: skip the search entirely
+        if (!grid.mayReach(start, end)) {
+            return Collections.emptyList();
+        }
+
+        int width = grid.getWidth();
+        SafeIntervalSearch search = grid.getDerived(SafeIntervalSearch.class, SafeIntervalSearch::new);
+        int startCell = start.y * width + start.x;
+        int goalCell = end.y * width + end.x;
+        SafeIntervalSearch.GoalDistance steps = search.towards(goalCell, startCell);
+
+        int[] cells = search.plan(closedRanges(grid), startCell, goalCell, departAt, steps, false);
+        if (cells == null) {
+            return Collections.emptyList();
+        }
+
+        List<Node> path = new ArrayList<>(cells.length);
+        for (int cell : cells)
+            path.add(grid.getNode(cell % width, cell / width));
+        return path;
+    }
+
+    private synchronized ReservationTable closedRanges(Grid grid) {
+        TimeWindows windows = grid.getTimeWindows();
+        if (windows == null) {
+            return new ReservationTable(grid.getWidth(), grid.getHeight());
+        }
+        if (windows != cachedWindows || windows.getVersion() != cachedVersion) {
+            ReservationTable table = new ReservationTable(grid.getWidth(), grid.getHeight());
+            windows.forEachClosed(table::reserve);
+            cachedWindows = windows;
+            cachedVersion = windows.getVersion();
+            cachedTable = table;
+        }
+        return cachedTable;
+    }
+}
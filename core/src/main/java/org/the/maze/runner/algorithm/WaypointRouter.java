@@ -0,0 +1,163 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Routes start -> every waypoint (in the best order found) -> end.
+ *
+ * Leg costs come from cached {@link DistanceField}s, one sweep per stop,
+ * instead of one search per pair of stops. The visiting order is exact
+ * (Held-Karp over subsets) for up to {@value #EXACT_LIMIT} waypoints, and
+ * nearest-neighbour plus 2-opt above that.
+ */
+public class WaypointRouter {
+
+    static final int EXACT_LIMIT = 12;
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    public List<Node> route(Grid grid, Node start, List<Node> waypoints, Node end) {
+        int k = waypoints.size();
+
+        // Stops: 0 = start, 1..k = waypoints, k + 1 = end
+        Node[] stops = new Node[k + 2];
+        stops[0] = start;
+        for (int i = 0; i < k; i++)
+            stops[i + 1] = waypoints.get(i);
+        stops[k + 1] = end;
+
+        DistanceField[] fields = new DistanceField[k + 1];
+        long[][] cost = new long[k + 2][k + 2];
+        for (int i = 0; i <= k; i++) {
+            fields[i] = DistanceField.cachedFrom(grid, stops[i]);
+            for (int j = 0; j < k + 2; j++) {
+                int d = fields[i].distance(stops[j]);
+                cost[i][j] = d == DistanceField.UNREACHABLE ? INF : d;
+            }
+        }
+
+        int[] order = k <= EXACT_LIMIT ? exactOrder(cost, k) : heuristicOrder(cost, k);
+        if (order == null)
+            return Collections.emptyList();
+
+        // Stitch the legs together, dropping the repeated joint cell
+        List<Node> route = new ArrayList<>();
+        int previous = 0;
+        for (int i = 0; i <= k; i++) {
+            int next = i < k ? order[i] : k + 1;
+            if (cost[previous][next] >= INF)
+                return Collections.emptyList();
+
+            List<Node> leg = fields[previous].path(stops[next]);
+            route.addAll(route.isEmpty() ? leg : leg.subList(1, leg.size()));
+            previous = next;
+        }
+        return route;
+    }
+
+    // Held-Karp: best[mask][last] = cheapest start -> waypoints in mask ending at last.
+    // Returns null when no order reaches every stop.
+    private static int[] exactOrder(long[][] cost, int k) {
+        if (k == 0)
+            return new int[0];
+
+        int full = (1 << k) - 1;
+        long[][] best = new long[1 << k][k];
+        int[][] from = new int[1 << k][k];
+        for (long[] row : best)
+            Arrays.fill(row, INF);
+        for (int i = 0; i < k; i++)
+            best[1 << i][i] = cost[0][i + 1];
+
+        for (int mask = 1; mask <= full; mask++) {
+            for (int last = 0; last < k; last++) {
+                if ((mask & (1 << last)) == 0 || best[mask][last] >= INF)
+                    continue;
+                for (int next = 0; next < k; next++) {
+                    if ((mask & (1 << next)) != 0)
+                        continue;
+                    long c = best[mask][last] + cost[last + 1][next + 1];
+                    int nextMask = mask | (1 << next);
+                    if (c < best[nextMask][next]) {
+                        best[nextMask][next] = c;
+                        from[nextMask][next] = last;
+                    }
+                }
+            }
+        }
+
+        int last = 0;
+        for (int i = 1; i < k; i++) {
+            if (best[full][i] + cost[i + 1][k + 1] < best[full][last] + cost[last + 1][k + 1])
+                last = i;
+        }
+        if (best[full][last] + cost[last + 1][k + 1] >= INF)
+            return null;
+
+        int[] order = new int[k];
+        int mask = full;
+        for (int i = k - 1; i >= 0; i--) {
+            order[i] = last + 1;
+            int previous = from[mask][last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+        return order;
+    }
+
+    // Nearest neighbour tour improved by 2-opt segment reversals
+    private static int[] heuristicOrder(long[][] cost, int k) {
+        int[] order = new int[k];
+        boolean[] used = new boolean[k + 2];
+        int current = 0;
+        for (int i = 0; i < k; i++) {
+            int nearest = -1;
+            for (int j = 1; j <= k; j++) {
+                if (!used[j] && (nearest == -1 || cost[current][j] < cost[current][nearest]))
+                    nearest = j;
+            }
+            used[nearest] = true;
+            order[i] = nearest;
+            current = nearest;
+        }
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < k - 1; i++) {
+                for (int j = i + 1; j < k; j++) {
+                    int before = i == 0 ? 0 : order[i - 1];
+                    int after = j == k - 1 ? k + 1 : order[j + 1];
+                    long currentCost = legCost(cost, order, before, i, j, after, false);
+                    long reversed = legCost(cost, order, before, i, j, after, true);
+                    if (reversed < currentCost) {
+                        for (int a = i, b = j; a < b; a++, b--) {
+                            int t = order[a];
+                            order[a] = order[b];
+                            order[b] = t;
+                        }
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    // Cost of before -> order[i..j] -> after, optionally with the segment reversed
+    private static long legCost(long[][] cost, int[] order, int before, int i, int j, int after, boolean reversed) {
+        long total = 0;
+        int previous = before;
+        for (int s = 0; s <= j - i; s++) {
+            int stop = reversed ? order[j - s] : order[i + s];
+            total = Math.min(INF, total + cost[previous][stop]);
+            previous = stop;
+        }
+        return Math.min(INF, total + cost[previous][after]);
+    }
+}
@@ -0,0 +1,387 @@
+package org.the.maze.runner.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import org.the.maze.runner.algorithm.PathFindingAlgorithm;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.MazeParser;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Content-addressed cache of parsed grids and solved paths.
+ *
+ * Grids are keyed by a 64-bit hash of the maze text and keep the text, so a
+ * hash collision is caught on lookup (the colliding maze is then parsed and
+ * solved without caching). Paths are keyed by (maze hash, the solver's
+ * {@link PathFindingAlgorithm#cacheKey()}, start, goal); solvers without a
+ * cache key are always run. Both maps evict least-recently-used entries, grids
+ * by total cell count and paths by entry count. Paths are stored as cell
+ * indexes so they can be rebuilt against whichever Grid instance is current.
+ *
+ * When a persistence directory is set (or the {@code maze.cache.dir} system
+ * property for the shared instance), grids and paths are also written there
+ * and read back on a miss. Each file holds its full key (the maze text, or
+ * the maze hash, solver key, start and goal), so a file written under the
+ * same name for another key is ignored.
+ */
+public class MazeCache {
+
+    private static final MazeCache SHARED = new MazeCache(4_000_000, 1024,
+            System.getProperty("maze.cache.dir") == null ? null : Path.of(System.getProperty("maze.cache.dir")));
+
+    private static final int GRID_FILE_MAGIC = 0x4D5A4745; // "MZGE", with the maze text
+    private static final int RESULT_FILE_MAGIC = 0x4D5A5041; // "MZPA", with the full result key
+
+    private final long maxCells;
+    private final int maxResults;
+    private final ToLongFunction<CharSequence> hasher;
+    private Path persistenceDir;
+
+    private long cachedCells = 0;
+    private final LinkedHashMap<Long, CachedGrid> grids = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<ResultKey, int[]> results = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ResultKey, int[]> eldest) {
+            return size() > maxResults;
+        }
+    };
+    // Reverse lookup so callers holding only a Grid can use the result cache
+    private final Map<Grid, Long> keys = new WeakHashMap<>();
+
+    private final LongAdder gridHits = new LongAdder();
+    private final LongAdder gridMisses = new LongAdder();
+    private final LongAdder resultHits = new LongAdder();
+    private final LongAdder resultMisses = new LongAdder();
+
+    // A parsed grid and the (trailing-whitespace-trimmed) text it was parsed from
+    private record CachedGrid(String text, Grid grid) {
+    }
+
+    private record ResultKey(long maze, String algorithm, int start, int goal) {
+    }
+
+    public record Stats(long gridHits, long gridMisses, long resultHits, long resultMisses,
+            int grids, long cells, int results) {
+    }
+
+    public MazeCache(long maxCells, int maxResults, Path persistenceDir) {
+        this(maxCells, maxResults, persistenceDir, MazeCache::hash);
+    }
+
+    // Tests pass a weaker hash to force collisions
+    MazeCache(long maxCells, int maxResults, Path persistenceDir, ToLongFunction<CharSequence> hasher) {
+        this.maxCells = maxCells;
+        this.maxResults = maxResults;
+        this.persistenceDir = persistenceDir;
+        this.hasher = hasher;
+    }
+
+    public static MazeCache shared() {
+        return SHARED;
+    }
+
+    public synchronized void setPersistenceDirectory(Path dir) {
+        this.persistenceDir = dir;
+    }
+
+    /**
+     * FNV-1a over the characters of the text, mixed with its length.
+     * Trailing whitespace is ignored so trimmed and untrimmed text share a key.
+     */
+    public static long hash(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1)))
+            end--;
+
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < end; i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h ^ ((long) end << 32);
+    }
+
+    // Parsed grid for the maze text, parsing (or loading from disk) on a miss
+    public Grid getGrid(String mazeText) {
+        long key = hasher.applyAsLong(mazeText);
+        String text = mazeText.stripTrailing();
+
+        synchronized (this) {
+            CachedGrid cached = grids.get(key);
+            if (cached != null && !cached.text().equals(text)) {
+                // Another maze with the same hash: serve this one uncached
+                gridMisses.increment();
+                return MazeParser.parse(mazeText);
+            }
+            if (cached != null && cached.grid().getVersion() == 0) {
+                gridHits.increment();
+                return cached.grid();
+            }
+            // Edited since it was parsed: no longer matches its content hash
+            if (cached != null)
+                forget(key, cached.grid());
+        }
+        gridMisses.increment();
+
+        Grid grid = loadGrid(key, text);
+        if (grid == null) {
+            grid = MazeParser.parse(mazeText);
+            storeGrid(key, text, grid);
+        }
+
+        synchronized (this) {
+            CachedGrid raced = grids.get(key);
+            if (raced != null && !raced.text().equals(text))
+                return grid;
+            if (raced != null && raced.grid().getVersion() == 0)
+                return raced.grid();
+            if (raced != null)
+                forget(key, raced.grid());
+
+            grids.put(key, new CachedGrid(text, grid));
+            keys.put(grid, key);
+            cachedCells += (long) grid.getWidth() * grid.getHeight();
+            evictGrids();
+        }
+        return grid;
+    }
+
+    /**
+     * Path from start to end on a grid obtained from {@link #getGrid}, solving
+     * only when this (maze, algorithm, start, goal) has not been seen before.
+     * Grids the cache does not know, or that were edited, are solved directly.
+     */
+    public List<Node> findPath(Grid grid, PathFindingAlgorithm algorithm, Node start, Node end) {
+        Long maze;
+        synchronized (this) {
+            maze = keys.get(grid);
+        }
+        String algorithmKey = algorithm.cacheKey();
+        if (maze == null || grid.getVersion() != 0 || algorithmKey == null)
+            return algorithm.findPath(grid, start, end);
+
+        ResultKey key = new ResultKey(maze, algorithmKey, indexOf(grid, start), indexOf(grid, end));
+
+        int[] cells;
+        synchronized (this) {
+            cells = results.get(key);
+        }
+        if (cells == null)
+            cells = loadResult(key);
+
+        if (cells != null) {
+            resultHits.increment();
+            return toPath(grid, cells);
+        }
+        resultMisses.increment();
+
+        List<Node> path = algorithm.findPath(grid, start, end);
+        // Cancelled mid-search: an empty path here means "gave up", not "unreachable"
+        if (Thread.currentThread().isInterrupted())
+            return path;
+
+        cells = new int[path.size()];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = indexOf(grid, path.get(i));
+
+        synchronized (this) {
+            results.put(key, cells);
+        }
+        storeResult(key, cells);
+        return path;
+    }
+
+    public synchronized void clear() {
+        grids.clear();
+        results.clear();
+        keys.clear();
+        cachedCells = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(gridHits.sum(), gridMisses.sum(), resultHits.sum(), resultMisses.sum(),
+                grids.size(), cachedCells, results.size());
+    }
+
+    // Drop least-recently-used grids until the cell budget is met, keeping the newest
+    private void evictGrids() {
+        Iterator<Map.Entry<Long, CachedGrid>> it = grids.entrySet().iterator();
+        while (cachedCells > maxCells && grids.size() > 1 && it.hasNext()) {
+            Grid grid = it.next().getValue().grid();
+            cachedCells -= (long) grid.getWidth() * grid.getHeight();
+            keys.remove(grid);
+            it.remove();
+        }
+    }
+
+    private void forget(long key, Grid grid) {
+        grids.remove(key);
+        keys.remove(grid);
+        cachedCells -= (long) grid.getWidth() * grid.getHeight();
+    }
+
+    private static int indexOf(Grid grid, Node node) {
+        return node.y * grid.getWidth() + node.x;
+    }
+
+    private static List<Node> toPath(Grid grid, int[] cells) {
+        if (cells.length == 0)
+            return Collections.emptyList();
+
+        List<Node> path = new ArrayList<>(cells.length);
+        for (int cell : cells)
+            path.add(grid.getNode(cell % grid.getWidth(), cell / grid.getWidth()));
+        return path;
+    }
+
+    // --- Disk persistence (best effort: failures only cost a re-parse/re-solve) ---
+
+    private Path gridFile(long key) {
+        return persistenceDir.resolve(Long.toHexString(key) + ".grid");
+    }
+
+    private Path resultFile(ResultKey key) {
+        // Readable solver name plus a hash of its full key (settings included); the file repeats the key
+        String name = key.algorithm().substring(key.algorithm().lastIndexOf('.') + 1)
+                .replaceAll("[^A-Za-z0-9]", "_");
+        return persistenceDir.resolve(Long.toHexString(key.maze()) + "-" + name + "-"
+                + Integer.toHexString(key.algorithm().hashCode()) + "-" + key.start() + "-" + key.goal() + ".path");
+    }
+
+    private void storeGrid(long key, String text, Grid grid) {
+        Path dir = persistenceDir;
+        if (dir == null)
+            return;
+
+        try {
+            Files.createDirectories(dir);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(gridFile(key))))) {
+                out.writeInt(GRID_FILE_MAGIC);
+                byte[] textBytes = text.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(textBytes.length);
+                out.write(textBytes);
+                out.writeInt(grid.getWidth());
+                out.writeInt(grid.getHeight());
+                for (int y = 0; y < grid.getHeight(); y++) {
+                    for (int x = 0; x < grid.getWidth(); x++) {
+                        Node n = grid.getNode(x, y);
+                        int flags = (n.isVoid() ? 1 : 0) | (n.isWall() ? 2 : 0)
+                                | (n.isStart() ? 4 : 0) | (n.isEnd() ? 8 : 0);
+                        out.writeByte(flags);
+                        out.writeInt(n.getWeight());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not persist grid: " + e.getMessage());
+        }
+    }
+
+    private Grid loadGrid(long key, String text) {
+        Path dir = persistenceDir;
+        if (dir == null || !Files.exists(gridFile(key)))
+            return null;
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(gridFile(key))))) {
+            if (in.readInt() != GRID_FILE_MAGIC)
+                return null;
+            // Written for another maze with the same hash
+            if (!new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8).equals(text))
+                return null;
+
+            Grid grid = new Grid(in.readInt(), in.readInt());
+            for (int y = 0; y < grid.getHeight(); y++) {
+                for (int x = 0; x < grid.getWidth(); x++) {
+                    Node n = grid.getNode(x, y);
+                    int flags = in.readByte();
+                    n.setWeight(in.readInt());
+                    if ((flags & 2) != 0)
+                        n.setWall(true);
+                    if ((flags & 4) != 0) {
+                        n.setStart(true);
+                        grid.setStartNode(n);
+                    }
+                    if ((flags & 8) != 0) {
+                        n.setEnd(true);
+                        grid.setEndNode(n);
+                    }
+                    n.setVoid((flags & 1) != 0);
+                }
+            }
+            return grid;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void storeResult(ResultKey key, int[] cells) {
+        Path dir = persistenceDir;
+        if (dir == null)
+            return;
+
+        try {
+            Files.createDirectories(dir);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(resultFile(key))))) {
+                out.writeInt(RESULT_FILE_MAGIC);
+                out.writeLong(key.maze());
+                byte[] algorithmBytes = key.algorithm().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(algorithmBytes.length);
+                out.write(algorithmBytes);
+                out.writeInt(key.start());
+                out.writeInt(key.goal());
+                out.writeInt(cells.length);
+                for (int cell : cells)
+                    out.writeInt(cell);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not persist path: " + e.getMessage());
+        }
+    }
+
+    private int[] loadResult(ResultKey key) {
+        Path dir = persistenceDir;
+        if (dir == null || !Files.exists(resultFile(key)))
+            return null;
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(resultFile(key))))) {
+            if (in.readInt() != RESULT_FILE_MAGIC)
+                return null;
+            // Written for another key whose file name is the same
+            long maze = in.readLong();
+            String algorithm = new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+            if (!new ResultKey(maze, algorithm, in.readInt(), in.readInt()).equals(key))
+                return null;
+
+            int[] cells = new int[in.readInt()];
+            for (int i = 0; i < cells.length; i++)
+                cells[i] = in.readInt();
+
+            synchronized (this) {
+                results.put(key, cells);
+            }
+            return cells;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package org.the.maze.runner.maze_generate;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class MazeFileWriter {
 
     public static void saveToFile(Maze maze, String filename) {
-        try (FileWriter writer = new FileWriter(filename)) {
+        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(filename))) {
 
-            writer.write(MazePrinter.toString(maze));
+            MazePrinter.print(maze, writer);
 
             System.out.println("Maze saved to " + filename);
 
@@ -7,7 +7,18 @@ public class MazeGenerator {
     private static Maze maze;
     private static Random rand = new Random();
 
-    public static Maze generate(int width, int height) {
+    // Generate with a fixed seed so the same maze can be reproduced
+    public static synchronized Maze generate(int width, int height, long seed) {
+        Random previous = rand;
+        rand = new Random(seed);
+        try {
+            return generate(width, height);
+        } finally {
+            rand = previous;
+        }
+    }
+
+    public static synchronized Maze generate(int width, int height) {
         // FIX 1: Ensure dimensions are Odd numbers to guarantee a path to the goal
         if (height % 2 == 0)
             height++;
@@ -16,12 +27,13 @@ public class MazeGenerator {
 
         maze = new Maze(width, height);
         carve(0, 0);
-        assignWeights();
 
-        // Ensure start & goal are paths
+        // Ensure start & goal are paths (before weighting, since setWall(false) marks a cell void)
         maze.get(0, 0).setWall(false);
         maze.get(height - 1, width - 1).setWall(false);
 
+        assignWeights();
+
         return maze;
     }
 
@@ -1,12 +1,24 @@
 package org.the.maze.runner.maze_generate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import org.the.maze.runner.model.Node;
 
 public class MazePrinter {
 
     public static String toString(Maze maze) {
         StringBuilder out = new StringBuilder();
+        try {
+            print(maze, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        return out.toString();
+    }
 
+    // Write the maze text straight to out, without building it in memory first
+    public static void print(Maze maze, Appendable out) throws IOException {
         int h = maze.getHeight();
         int w = maze.getWidth();
 
@@ -31,7 +43,7 @@ public class MazePrinter {
                     out.append("G");
                     continue;
                 }
-                out.append("\"").append(cell.getWeight()).append("\"");
+                out.append("\"").append(String.valueOf(cell.getWeight())).append("\"");
             }
 
             out.append("#").append("\n"); // right border
@@ -39,7 +51,5 @@ public class MazePrinter {
 
         // FIX: Add +2 here as well
         out.append("#".repeat(w + 2)).append("\n");
-
-        return out.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package org.the.maze.runner.maze_generate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-threaded counterpart of {@link MazeGenerator} for large mazes.
+ *
+ * The logical cells (even rows and columns) are split into rectangular
+ * tiles. Every tile is carved on a worker by an iterative depth-first search
+ * with its own seed-derived random generator, so each tile is a spanning
+ * tree of its cells. A sequential stitching pass then builds a random
+ * spanning tree over the tiles (Kruskal) and opens one boundary passage per
+ * tree edge, which keeps the whole maze perfect. An optional loop rate opens
+ * that fraction of the remaining walls between cells afterwards.
+ *
+ * The result depends only on the seed and thread count, and is written into
+ * the same {@link Maze} model MazeGenerator returns.
+ */
+public class ParallelMazeGenerator {
+
+    // Tiles per thread, so uneven tiles still keep every worker busy
+    private static final int TILES_PER_THREAD = 4;
+    private static final int MIN_TILE = 16;
+
+    // One rectangle of logical cells [x0, x1) x [y0, y1)
+    private record Tile(int index, int x0, int y0, int x1, int y1) {
+    }
+
+    public static Maze generate(int width, int height, long seed, int threads) {
+        return generate(width, height, seed, threads, 0);
+    }
+
+    public static Maze generate(int width, int height, long seed, int threads, double loopRate) {
+        if (height % 2 == 0)
+            height++;
+        if (width % 2 == 0)
+            width++;
+        threads = Math.max(1, threads);
+
+        Maze maze = new Maze(width, height);
+        int cols = (width + 1) / 2;
+        int rows = (height + 1) / 2;
+
+        int side = (int) Math.ceil(Math.sqrt((double) cols * rows / (threads * TILES_PER_THREAD)));
+        side = Math.max(MIN_TILE, side);
+        int tilesX = (cols + side - 1) / side;
+        int tilesY = (rows + side - 1) / side;
+
+        List<Tile> tiles = new ArrayList<>(tilesX * tilesY);
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                tiles.add(new Tile(ty * tilesX + tx, tx * side, ty * side,
+                        Math.min(cols, (tx + 1) * side), Math.min(rows, (ty + 1) * side)));
+            }
+        }
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Callable<Void>> carving = new ArrayList<>(tiles.size());
+            for (Tile tile : tiles) {
+                carving.add(() -> {
+                    carveTile(maze, tile, derive(seed, tile.index()), loopRate);
+                    return null;
+                });
+            }
+            runAll(pool, carving);
+
+            stitch(maze, tiles, tilesX, tilesY, new SplittableRandom(derive(seed, -1)), loopRate);
+
+            // Start (0, 0) and goal are logical cells, so carving has opened them already
+
+            // Weights per maze row, each from its own seed, so they do not depend on tiling
+            List<Callable<Void>> weighting = new ArrayList<>(threads);
+            int band = (height + threads - 1) / threads;
+            int mazeWidth = width;
+            int mazeHeight = height;
+            for (int t = 0; t < threads; t++) {
+                int from = t * band;
+                int to = Math.min(mazeHeight, from + band);
+                weighting.add(() -> {
+                    assignWeights(maze, mazeWidth, from, to, seed);
+                    return null;
+                });
+            }
+            runAll(pool, weighting);
+        }
+
+        return maze;
+    }
+
+    // Randomised depth-first search over the tile's logical cells, with an explicit stack
+    private static void carveTile(Maze maze, Tile tile, long seed, double loopRate) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        int tw = tile.x1() - tile.x0();
+        int th = tile.y1() - tile.y0();
+        boolean[] visited = new boolean[tw * th];
+        int[] stack = new int[tw * th];
+        int[] dirs = { 0, 1, 2, 3 };
+
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] = true;
+        open(maze, tile.x0(), tile.y0());
+
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int cx = cell % tw;
+            int cy = cell / tw;
+
+            shuffle(dirs, rand);
+            boolean moved = false;
+            for (int d : dirs) {
+                int nx = cx + (d == 3 ? 1 : d == 2 ? -1 : 0);
+                int ny = cy + (d == 1 ? 1 : d == 0 ? -1 : 0);
+                if (nx < 0 || ny < 0 || nx >= tw || ny >= th || visited[ny * tw + nx])
+                    continue;
+
+                visited[ny * tw + nx] = true;
+                openBetween(maze, tile.x0() + cx, tile.y0() + cy, tile.x0() + nx, tile.y0() + ny);
+                open(maze, tile.x0() + nx, tile.y0() + ny);
+                stack[top++] = ny * tw + nx;
+                moved = true;
+                break;
+            }
+            if (!moved)
+                top--;
+        }
+
+        if (loopRate <= 0)
+            return;
+        for (int y = tile.y0(); y < tile.y1(); y++) {
+            for (int x = tile.x0(); x < tile.x1(); x++) {
+                if (x + 1 < tile.x1() && rand.nextDouble() < loopRate)
+                    openBetween(maze, x, y, x + 1, y);
+                if (y + 1 < tile.y1() && rand.nextDouble() < loopRate)
+                    openBetween(maze, x, y, x, y + 1);
+            }
+        }
+    }
+
+    // Joins the tiles with a random spanning tree, one passage per shared boundary
+    private static void stitch(Maze maze, List<Tile> tiles, int tilesX, int tilesY, SplittableRandom rand,
+            double loopRate) {
+        // Boundary edges as (tile, neighbour, horizontal ? 1 : 0)
+        List<int[]> edges = new ArrayList<>();
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int index = ty * tilesX + tx;
+                if (tx + 1 < tilesX)
+                    edges.add(new int[] { index, index + 1, 1 });
+                if (ty + 1 < tilesY)
+                    edges.add(new int[] { index, index + tilesX, 0 });
+            }
+        }
+        for (int i = edges.size() - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int[] t = edges.get(i);
+            edges.set(i, edges.get(j));
+            edges.set(j, t);
+        }
+
+        int[] parent = new int[tiles.size()];
+        for (int i = 0; i < parent.length; i++)
+            parent[i] = i;
+
+        for (int[] edge : edges) {
+            Tile a = tiles.get(edge[0]);
+            Tile b = tiles.get(edge[1]);
+            boolean horizontal = edge[2] == 1;
+            int length = horizontal ? a.y1() - a.y0() : a.x1() - a.x0();
+
+            int ra = find(parent, edge[0]);
+            int rb = find(parent, edge[1]);
+            int chosen = -1;
+            if (ra != rb) {
+                parent[rb] = ra;
+                chosen = rand.nextInt(length);
+            }
+
+            for (int i = 0; i < length; i++) {
+                if (i != chosen && (loopRate <= 0 || rand.nextDouble() >= loopRate))
+                    continue;
+                if (horizontal)
+                    openBetween(maze, a.x1() - 1, a.y0() + i, b.x0(), a.y0() + i);
+                else
+                    openBetween(maze, a.x0() + i, a.y1() - 1, a.x0() + i, b.y0());
+            }
+        }
+    }
+
+    private static void assignWeights(Maze maze, int width, int fromRow, int toRow, long seed) {
+        for (int r = fromRow; r < toRow; r++) {
+            SplittableRandom rand = new SplittableRandom(derive(seed, Integer.MAX_VALUE - r));
+            for (int c = 0; c < width; c++) {
+                if (!maze.get(r, c).isWall()) {
+                    maze.get(r, c).setVoid(false);
+                    maze.get(r, c).setWeight(rand.nextInt(10) + 1);
+                }
+            }
+        }
+    }
+
+    // Logical cell (x, y) sits at maze row 2y, column 2x
+    private static void open(Maze maze, int x, int y) {
+        maze.get(2 * y, 2 * x).setWall(false);
+    }
+
+    private static void openBetween(Maze maze, int x, int y, int nx, int ny) {
+        maze.get(y + ny, x + nx).setWall(false);
+    }
+
+    private static void shuffle(int[] arr, SplittableRandom rand) {
+        for (int i = arr.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int t = arr[i];
+            arr[i] = arr[j];
+            arr[j] = t;
+        }
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static long derive(long seed, int stream) {
+        return seed * 0x9E3779B97F4A7C15L + stream;
+    }
+
+    private static void runAll(ExecutorService pool, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> done : pool.invokeAll(tasks))
+                done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Maze generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Maze generation failed", e.getCause());
+        }
+    }
+}
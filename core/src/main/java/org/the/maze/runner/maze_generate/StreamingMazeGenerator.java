@@ -0,0 +1,278 @@
+package org.the.maze.runner.maze_generate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import org.the.maze.runner.model.TiledGrid;
+
+/**
+ * Perfect-maze generator that works one row at a time (Eller's algorithm),
+ * so only the current row is ever in memory and the output can be streamed
+ * straight to disk. Meant for mazes far too large for {@link MazeGenerator}.
+ *
+ * The layout matches MazeGenerator: cells on even rows and columns, walls
+ * or passages between them, start top-left and goal bottom-right. Cell
+ * weights (1-10) come from a generator seeded per row, so the same seed always
+ * gives the same maze.
+ *
+ * Output is either the text format (as written by {@link MazePrinter}) or a
+ * {@link TiledGrid} file, with the border walls included in both so the
+ * two load to the same grid.
+ */
+public class StreamingMazeGenerator {
+
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int WALL = 0;
+
+    /** Receives each maze row in order; row[c] is the weight, or 0 for a wall. */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(int r, int[] row) throws IOException;
+    }
+
+    private final int width;
+    private final int height;
+    private final long seed;
+
+    public StreamingMazeGenerator(int width, int height, long seed) {
+        // Odd dimensions, as in MazeGenerator, so the goal lands on a cell
+        this.width = width % 2 == 0 ? width + 1 : width;
+        this.height = height % 2 == 0 ? height + 1 : height;
+        this.seed = seed;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void writeText(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeText(channel);
+        }
+    }
+
+    // Same text MazePrinter would produce, encoded straight into a reused byte buffer
+    public void writeText(WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        writeBorder(out, buffer);
+        generate((r, row) -> {
+            put(out, buffer, (byte) '#');
+            for (int c = 0; c < width; c++) {
+                if (buffer.remaining() < 16)
+                    flush(out, buffer);
+
+                if (row[c] == WALL) {
+                    buffer.put((byte) '#');
+                } else if (r == 0 && c == 0) {
+                    buffer.put((byte) 'S');
+                } else if (r == height - 1 && c == width - 1) {
+                    buffer.put((byte) 'G');
+                } else {
+                    buffer.put((byte) '"');
+                    if (row[c] >= 10)
+                        buffer.put((byte) ('0' + row[c] / 10));
+                    buffer.put((byte) ('0' + row[c] % 10));
+                    buffer.put((byte) '"');
+                }
+            }
+            put(out, buffer, (byte) '#');
+            put(out, buffer, (byte) '\n');
+        });
+        writeBorder(out, buffer);
+        flush(out, buffer);
+    }
+
+    /**
+     * Writes the maze as a {@link TiledGrid} file and returns it open. Rows
+     * go through the grid's mapped tiles, so the heap holds only the current
+     * row; the cache keeps one band of tiles mapped at a time.
+     */
+    public TiledGrid writeTiled(Path file, int tileSize) throws IOException {
+        int gridWidth = width + 2;
+        int gridHeight = height + 2;
+        int tilesPerRow = (gridWidth + tileSize - 1) / tileSize;
+        TiledGrid grid = TiledGrid.create(file, gridWidth, gridHeight, tileSize, tilesPerRow + 1);
+
+        try {
+            for (int x = 0; x < gridWidth; x++) {
+                grid.setCell(x, 0, 0, true, false);
+                grid.setCell(x, gridHeight - 1, 0, true, false);
+            }
+            generate((r, row) -> {
+                int y = r + 1;
+                grid.setCell(0, y, 0, true, false);
+                grid.setCell(gridWidth - 1, y, 0, true, false);
+                for (int c = 0; c < width; c++) {
+                    boolean endpoint = (r == 0 && c == 0) || (r == height - 1 && c == width - 1);
+                    if (row[c] == WALL)
+                        grid.setCell(c + 1, y, 0, true, false);
+                    else
+                        grid.setCell(c + 1, y, endpoint ? 1 : row[c], false, false);
+                }
+            });
+            grid.setStartNode(grid.getNode(1, 1));
+            grid.setEndNode(grid.getNode(width, height));
+        } catch (IOException | RuntimeException e) {
+            grid.close();
+            throw e;
+        }
+        return grid;
+    }
+
+    /**
+     * Eller's algorithm over the logical cells (every other column). Each
+     * logical row carries a set label per cell; cells in one set are already
+     * connected above. Within a row, neighbouring cells of different sets are
+     * joined at random, then every set sends at least one passage down. The
+     * last row joins every remaining set, which makes the maze perfect.
+     */
+    public void generate(RowSink sink) throws IOException {
+        int cols = (width + 1) / 2;
+        int rows = (height + 1) / 2;
+
+        SplittableRandom structure = new SplittableRandom(seed);
+        int[] set = new int[cols];
+        int[] parent = new int[cols];
+        int[] root = new int[cols];
+        boolean[] joinRight = new boolean[cols];
+        boolean[] down = new boolean[cols];
+        int[] hasDown = new int[cols];
+        int[] relabel = new int[cols];
+        int[] relabelled = new int[cols];
+        int[] row = new int[width];
+
+        for (int c = 0; c < cols; c++)
+            set[c] = c;
+
+        for (int i = 0; i < rows; i++) {
+            boolean last = i == rows - 1;
+
+            // Labels are always 0..cols-1, so a per-row union-find over them is enough
+            for (int c = 0; c < cols; c++)
+                parent[c] = c;
+
+            for (int c = 0; c < cols - 1; c++) {
+                int a = find(parent, set[c]);
+                int b = find(parent, set[c + 1]);
+                joinRight[c] = a != b && (last || structure.nextBoolean());
+                if (joinRight[c])
+                    parent[b] = a;
+            }
+            for (int c = 0; c < cols; c++)
+                root[c] = find(parent, set[c]);
+
+            if (!last) {
+                int mark = i + 1;
+                for (int c = 0; c < cols; c++) {
+                    down[c] = structure.nextBoolean();
+                    if (down[c])
+                        hasDown[root[c]] = mark;
+                }
+                for (int c = cols - 1; c >= 0; c--) {
+                    if (hasDown[root[c]] != mark) {
+                        down[c] = true;
+                        hasDown[root[c]] = mark;
+                    }
+                }
+            }
+
+            // Cell row, then the row of vertical passages below it
+            SplittableRandom weights = rowRandom(2 * i);
+            for (int x = 0; x < width; x++)
+                row[x] = x % 2 == 0 || joinRight[x / 2] ? weights.nextInt(10) + 1 : WALL;
+            sink.accept(2 * i, row);
+
+            if (last)
+                break;
+
+            weights = rowRandom(2 * i + 1);
+            for (int x = 0; x < width; x++)
+                row[x] = x % 2 == 0 && down[x / 2] ? weights.nextInt(10) + 1 : WALL;
+            sink.accept(2 * i + 1, row);
+
+            // Next row: cells below a passage keep their set, the rest get fresh labels
+            int next = 0;
+            int mark = i + 1;
+            for (int c = 0; c < cols; c++) {
+                if (down[c]) {
+                    if (relabelled[root[c]] != mark) {
+                        relabelled[root[c]] = mark;
+                        relabel[root[c]] = next++;
+                    }
+                    set[c] = relabel[root[c]];
+                } else {
+                    set[c] = -1;
+                }
+            }
+            for (int c = 0; c < cols; c++) {
+                if (set[c] == -1)
+                    set[c] = next++;
+            }
+        }
+    }
+
+    private SplittableRandom rowRandom(int r) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + r);
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private void writeBorder(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        for (int c = 0; c < width + 2; c++)
+            put(out, buffer, (byte) '#');
+        put(out, buffer, (byte) '\n');
+    }
+
+    private static void put(WritableByteChannel out, ByteBuffer buffer, byte b) throws IOException {
+        if (!buffer.hasRemaining())
+            flush(out, buffer);
+        buffer.put(b);
+    }
+
+    private static void flush(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            out.write(buffer);
+        buffer.clear();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: StreamingMazeGenerator <width> <height> <file> [seed] [--tiled]");
+            return;
+        }
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        Path file = Path.of(args[2]);
+        long seed = args.length > 3 && !args[3].startsWith("--") ? Long.parseLong(args[3]) : System.nanoTime();
+        boolean tiled = args[args.length - 1].equals("--tiled");
+
+        StreamingMazeGenerator generator = new StreamingMazeGenerator(width, height, seed);
+        long started = System.nanoTime();
+        if (tiled) {
+            // Closed straight away; the file is complete
+            generator.writeTiled(file, 64).close();
+        } else {
+            generator.writeText(file);
+        }
+        System.out.printf("Wrote %dx%d maze (seed %d) to %s in %d ms%n", generator.getWidth(),
+                generator.getHeight(), seed, file, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,145 @@
+package org.the.maze.runner.model;
+
+import java.util.BitSet;
+
+/**
+ * Connected-component labels over the passable cells of a {@link Grid}.
+ *
+ * Built in one pass with union-find, so "are start and goal in the same
+ * region?" is answered in near O(1) before any search runs. Opening a cell
+ * unions it with its free neighbours; closing a cell re-labels only the
+ * component it used to belong to.
+ *
+ * Obtain it from {@link Grid#getConnectivityIndex()} and edit walls through
+ * {@link Grid#setWall(int, int, boolean)} so the index follows the grid.
+ */
+public class ConnectivityIndex {
+
+    private static final int BLOCKED = -1;
+
+    private final int width;
+    private final int height;
+
+    // Union-find forest over cell indexes (y * width + x), BLOCKED for non-passable cells
+    private final int[] parent;
+
+    ConnectivityIndex(Grid grid) {
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        if ((long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Grid too large to index: " + width + "x" + height);
+        this.parent = new int[width * height];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                if (!grid.isPassable(x, y)) {
+                    parent[cell] = BLOCKED;
+                    continue;
+                }
+                parent[cell] = cell;
+
+                // Left and up neighbours are already labelled
+                if (x > 0 && parent[cell - 1] != BLOCKED)
+                    union(cell, cell - 1);
+                if (y > 0 && parent[cell - width] != BLOCKED)
+                    union(cell, cell - width);
+            }
+        }
+    }
+
+    public boolean connected(Node a, Node b) {
+        return connected(a.x, a.y, b.x, b.y);
+    }
+
+    public synchronized boolean connected(int x1, int y1, int x2, int y2) {
+        int a = componentOf(x1, y1);
+        return a != BLOCKED && a == componentOf(x2, y2);
+    }
+
+    // Representative cell of the component, or -1 for blocked / outside cells
+    public synchronized int componentOf(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return BLOCKED;
+        int cell = y * width + x;
+        return parent[cell] == BLOCKED ? BLOCKED : find(cell);
+    }
+
+    synchronized void cellOpened(int x, int y) {
+        int cell = y * width + x;
+        parent[cell] = cell;
+
+        int[][] directions = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+        for (int[] dir : directions) {
+            int nx = x + dir[0];
+            int ny = y + dir[1];
+            if (nx >= 0 && ny >= 0 && nx < width && ny < height && parent[ny * width + nx] != BLOCKED)
+                union(cell, ny * width + nx);
+        }
+    }
+
+    /**
+     * A wall may split its old component. Every cell of that component is
+     * reachable from at least one neighbour of the new wall, so flood-filling
+     * from each neighbour re-labels exactly the affected cells.
+     */
+    synchronized void cellClosed(int x, int y) {
+        parent[y * width + x] = BLOCKED;
+
+        BitSet relabelled = new BitSet(width * height);
+        int[] stack = new int[64];
+
+        int[][] directions = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+        for (int[] dir : directions) {
+            int nx = x + dir[0];
+            int ny = y + dir[1];
+            if (nx < 0 || ny < 0 || nx >= width || ny >= height)
+                continue;
+
+            int root = ny * width + nx;
+            if (parent[root] == BLOCKED || relabelled.get(root))
+                continue;
+
+            // Flood the neighbour's region, pointing every cell straight at it
+            int size = 0;
+            stack[size++] = root;
+            relabelled.set(root);
+            while (size > 0) {
+                int cell = stack[--size];
+                parent[cell] = root;
+
+                int cx = cell % width;
+                int cy = cell / width;
+                for (int[] d : directions) {
+                    int ax = cx + d[0];
+                    int ay = cy + d[1];
+                    if (ax < 0 || ay < 0 || ax >= width || ay >= height)
+                        continue;
+                    int next = ay * width + ax;
+                    if (parent[next] == BLOCKED || relabelled.get(next))
+                        continue;
+
+                    relabelled.set(next);
+                    if (size == stack.length)
+                        stack = java.util.Arrays.copyOf(stack, size * 2);
+                    stack[size++] = next;
+                }
+            }
+        }
+    }
+
+    private int find(int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]]; // path halving
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra != rb)
+            parent[Math.max(ra, rb)] = Math.min(ra, rb);
+    }
+}
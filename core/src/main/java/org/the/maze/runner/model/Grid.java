@@ -0,0 +1,256 @@
+package org.the.maze.runner.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+public class Grid {
+
+    private final int width;
+    private final int height;
+    private final Node[][] nodes; // Stores all nodes in the grid
+    private Node startNode;
+    private Node endNode;
+
+    // Optional opening/closing schedule of cells over time; null when every cell is static
+    private TimeWindows timeWindows;
+
+    // Bumped on every structural edit made through setWall(x, y, ...)
+    private int version = 0;
+    private ConnectivityIndex connectivityIndex;
+
+    // Search structures derived from this grid, dropped when the grid is edited.
+    // Futures, so one thread builds while others wait without holding the grid's lock.
+    private final Map<Class<?>, CompletableFuture<Object>> derived = new HashMap<>();
+    private int derivedVersion = 0;
+
+    public Grid(int width, int height) {
+        this(width, height, true);
+    }
+
+    /**
+     * For grids that keep their cells elsewhere (see {@link TiledGrid}) and
+     * override the cell accessors instead of allocating a Node per cell.
+     */
+    protected Grid(int width, int height, boolean allocateNodes) {
+        this.width = width;
+        this.height = height;
+        this.nodes = allocateNodes ? new Node[width][height] : null;
+        if (!allocateNodes)
+            return;
+
+        // Initialize all nodes in the grid
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                this.nodes[x][y] = new Node(x, y);
+            }
+        }
+    }
+
+    public Node getNode(int x, int y) {
+        // Basic boundary check
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            return nodes[x][y];
+        }
+        return null; // Return null if coordinates are out of bounds
+    }
+
+    // A cell a runner can stand on: inside the grid, not a wall, not void padding
+    public boolean isPassable(int x, int y) {
+        Node node = getNode(x, y);
+        return node != null && !node.isWall() && !node.isVoid();
+    }
+
+    // Cost of entering the cell, without going through a Node
+    public int getWeight(int x, int y) {
+        return getNode(x, y).getWeight();
+    }
+
+    public boolean isWall(int x, int y) {
+        return getNode(x, y).isWall();
+    }
+
+    public boolean isVoid(int x, int y) {
+        return getNode(x, y).isVoid();
+    }
+
+    /**
+     * Whether solvers may build arrays with one entry per cell (indexed
+     * y * width + x): the count fits an int and the grid lives on the heap
+     * anyway. Otherwise they fall back to searches that only touch the
+     * cells they visit.
+     */
+    public boolean fitsCellArrays() {
+        return (long) width * height <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * False only when a and b are known to lie in different regions. Grids
+     * that do not fit cell arrays are not indexed and always pass.
+     */
+    public boolean mayReach(Node a, Node b) {
+        if (!fitsCellArrays())
+            return true;
+        return getConnectivityIndex().connected(a, b);
+    }
+
+    /**
+     * Adds or removes a wall and keeps derived data (the connectivity index)
+     * up to date. Editing nodes directly bypasses this and is only safe
+     * while the grid is being built.
+     */
+    public synchronized void setWall(int x, int y, boolean wall) {
+        Node node = getNode(x, y);
+        if (node == null || node.isWall() == wall)
+            return;
+
+        writeWall(x, y, wall);
+        version++;
+
+        if (connectivityIndex != null) {
+            if (wall)
+                connectivityIndex.cellClosed(x, y);
+            else
+                connectivityIndex.cellOpened(x, y);
+        }
+    }
+
+    // Stores the wall flag of one cell; grids with their own storage override this
+    protected void writeWall(int x, int y, boolean wall) {
+        Node node = getNode(x, y);
+        node.setWall(wall);
+        if (!wall)
+            node.setVoid(false);
+    }
+
+    // Cells were edited in bulk (see IncrementalMazeParser): drop everything derived from them
+    synchronized void cellsChanged() {
+        version++;
+        connectivityIndex = null;
+    }
+
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    // Component labels of the free cells, built on first use
+    public synchronized ConnectivityIndex getConnectivityIndex() {
+        if (connectivityIndex == null)
+            connectivityIndex = new ConnectivityIndex(this);
+        return connectivityIndex;
+    }
+
+    /**
+     * Returns the structure of the given type built from this grid, building
+     * it with the factory on first use or after the grid has been edited.
+     * The factory runs outside the grid's lock, so edits and other lookups
+     * are not held up by a long build; concurrent callers for the same type
+     * wait for the one build.
+     */
+    public <T> T getDerived(Class<T> type, Function<Grid, T> factory) {
+        while (true) {
+            CompletableFuture<Object> future;
+            boolean build = false;
+            int builtFor;
+            synchronized (this) {
+                if (derivedVersion != version) {
+                    derived.clear();
+                    derivedVersion = version;
+                }
+                builtFor = version;
+                future = derived.get(type);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    derived.put(type, future);
+                    build = true;
+                }
+            }
+
+            if (build) {
+                try {
+                    future.complete(factory.apply(this));
+                } catch (RuntimeException | Error e) {
+                    // Let the next caller try again
+                    synchronized (this) {
+                        derived.remove(type, future);
+                    }
+                    future.completeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            Object value;
+            try {
+                value = future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                if (e.getCause() instanceof Error cause)
+                    throw cause;
+                throw e;
+            }
+
+            synchronized (this) {
+                if (builtFor == version)
+                    return type.cast(value);
+            }
+            // Edited while it was being built: build again from the current cells
+        }
+    }
+
+    public List<Node> getNeighbors(Node node) {
+        List<Node> neighbors = new java.util.ArrayList<>();
+        int x = node.x;
+        int y = node.y;
+
+        // Check 4 directions: Right, Left, Down, Up
+        int[][] directions = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+
+        for (int[] dir : directions) {
+            int newX = x + dir[0];
+            int newY = y + dir[1];
+            Node neighbor = getNode(newX, newY);
+
+            // Add the neighbor if it exists and is not a wall
+            if (neighbor != null && !neighbor.isWall()) {
+                neighbors.add(neighbor);
+            }
+        }
+        return neighbors;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Node getStartNode() {
+        return startNode;
+    }
+
+    public void setStartNode(Node startNode) {
+        this.startNode = startNode;
+    }
+
+    public Node getEndNode() {
+        return endNode;
+    }
+
+    public void setEndNode(Node endNode) {
+        this.endNode = endNode;
+    }
+
+    public TimeWindows getTimeWindows() {
+        return timeWindows;
+    }
+
+    public void setTimeWindows(TimeWindows timeWindows) {
+        this.timeWindows = timeWindows;
+    }
+}
\ No newline at end of file
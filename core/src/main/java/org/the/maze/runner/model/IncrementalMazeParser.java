@@ -0,0 +1,174 @@
+package org.the.maze.runner.model;
+
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Re-parses maze text after an edit, touching only the lines that changed.
+ *
+ * {@link #parse} compares the new text with the previous one line by line.
+ * When the edit keeps the grid size and does not move the start or goal, it
+ * returns just the new cells of the changed rows; otherwise it falls back to
+ * a full parse (by default {@link MazeParser#parse}; pass a cache's getGrid
+ * to share parsed grids with it). The result is plain data, so parse can run
+ * on a worker thread while {@link #apply} writes it into the grid on the
+ * thread that owns it. Updates must be applied in the order they were made.
+ */
+public class IncrementalMazeParser {
+
+    // Cell codes in a row update; anything >= 0 is the weight of an open cell
+    public static final int VOID = -1;
+    public static final int WALL = -2;
+
+    private static final Pattern TOKEN = Pattern.compile("#|S|G|\"\\d+\"");
+
+    /** A new grid (full re-parse) or new cell codes for rows firstRow.. (grid is null). */
+    public record Update(Grid grid, int firstRow, int[][] rows) {
+
+        public boolean isFull() {
+            return grid != null;
+        }
+
+        public int lastRow() {
+            return firstRow + rows.length - 1;
+        }
+    }
+
+    // Full parses go through this (e.g. MazeCache::getGrid)
+    private final Function<String, Grid> gridSource;
+
+    // State of the last text parsed, owned by the parsing thread
+    private String[] lines = new String[0];
+    private int[] tokenCounts = new int[0];
+    private int width = -1;
+    private int height = -1;
+
+    public IncrementalMazeParser() {
+        this(MazeParser::parse);
+    }
+
+    public IncrementalMazeParser(Function<String, Grid> gridSource) {
+        this.gridSource = gridSource;
+    }
+
+    public Update parse(String text) {
+        String[] newLines = text.split("\n", -1);
+        int newHeight = text.trim().split("\n").length;
+
+        if (newLines.length != lines.length || newHeight != height)
+            return full(text, newLines);
+
+        // Changed lines are the ones between the common prefix and suffix
+        int first = 0;
+        while (first < newLines.length && newLines[first].equals(lines[first]))
+            first++;
+        if (first == newLines.length)
+            return new Update(null, 0, new int[0][]);
+        int last = newLines.length - 1;
+        while (last > first && newLines[last].equals(lines[last]))
+            last--;
+
+        int[] newCounts = tokenCounts.clone();
+        for (int i = first; i <= last; i++) {
+            if (hasEndpoint(lines[i]) || hasEndpoint(newLines[i]))
+                return full(text, newLines);
+            newCounts[i] = countTokens(newLines[i]);
+        }
+        if (maxWidth(newCounts) != width)
+            return full(text, newLines);
+
+        // Lines past the trimmed height are not part of the grid
+        int lastRow = Math.min(last, height - 1);
+        int[][] rows = new int[Math.max(0, lastRow - first + 1)][];
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = rowCodes(newLines[first + i]);
+
+        lines = newLines;
+        tokenCounts = newCounts;
+        return new Update(null, first, rows);
+    }
+
+    // Writes a row update into the grid it was parsed against
+    public static void apply(Grid grid, Update update) {
+        if (update.isFull())
+            return;
+
+        for (int i = 0; i < update.rows().length; i++) {
+            int y = update.firstRow() + i;
+            int[] codes = update.rows()[i];
+            for (int x = 0; x < grid.getWidth(); x++) {
+                Node node = grid.getNode(x, y);
+
+                // Back to a fresh node, then as MazeParser would set it
+                node.setWall(false);
+                node.setWeight(0);
+                node.setVoid(true);
+
+                int code = x < codes.length ? codes[x] : VOID;
+                if (code == WALL) {
+                    node.setWall(true);
+                    node.setWeight(0);
+                } else if (code >= 0) {
+                    node.setWeight(code);
+                    node.setVoid(false);
+                }
+            }
+        }
+        if (update.rows().length > 0)
+            grid.cellsChanged();
+    }
+
+    private Update full(String text, String[] newLines) {
+        Grid grid = gridSource.apply(text);
+
+        lines = newLines;
+        tokenCounts = new int[newLines.length];
+        for (int i = 0; i < newLines.length; i++)
+            tokenCounts[i] = countTokens(newLines[i]);
+        width = maxWidth(tokenCounts);
+        height = text.trim().split("\n").length;
+        return new Update(grid, 0, new int[0][]);
+    }
+
+    // Same token rules as MazeParser; S and G never reach here
+    private static int[] rowCodes(String line) {
+        int[] codes = new int[countTokens(line)];
+        Matcher matcher = TOKEN.matcher(line);
+        int x = 0;
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (token.equals("#")) {
+                codes[x++] = WALL;
+                continue;
+            }
+            try {
+                codes[x++] = Integer.parseInt(token.substring(1, token.length() - 1));
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid weight token: " + token);
+                codes[x - 1] = 1;
+            }
+        }
+        return codes;
+    }
+
+    private static int countTokens(String line) {
+        Matcher matcher = TOKEN.matcher(line);
+        int count = 0;
+        while (matcher.find())
+            count++;
+        return count;
+    }
+
+    // MazeParser's width: one more than the longest row
+    private static int maxWidth(int[] counts) {
+        int max = 0;
+        for (int count : counts)
+            max = Math.max(max, count);
+        return max + 1;
+    }
+
+    private static boolean hasEndpoint(String line) {
+        return line.indexOf('S') >= 0 || line.indexOf('G') >= 0;
+    }
+}
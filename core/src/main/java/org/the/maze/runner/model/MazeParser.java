@@ -0,0 +1,96 @@
+package org.the.maze.runner.model;
+
+/**
+ * Parses the text maze format (# walls, S start, G goal, "n" weighted cells)
+ * into a {@link Grid}. Kept free of JavaFX so it can be used headless.
+ */
+public class MazeParser {
+
+    // Input Parsing from Sting to Grid
+    public static Grid parse(String input) {
+        String[] rows = input.trim().split("\n");
+        int height = rows.length;
+
+        java.util.regex.Matcher matcher = java.util.regex.Pattern.compile("#|S|G|\"\\d+\"|\n").matcher(input);
+
+        // Calculate width by summing tokens in the first meaningful row
+        int width = 0;
+
+        if (rows.length > 0) {
+            // Use a loop to find the width (max column count)
+            for (String row : rows) { // Iterate over all rows
+                java.util.regex.Matcher widthMatcher = java.util.regex.Pattern.compile("#|S|G|\"\\d+\"")
+                        .matcher(row);
+
+                int currentWidth = 1; // count \n too
+                while (widthMatcher.find()) {
+                    currentWidth++;
+                }
+                // Update width to be the maximum width found so far
+                if (currentWidth > width) {
+                    width = currentWidth;
+                }
+            }
+
+        }
+
+        Grid newGrid = new Grid(width - 1, height);
+
+        int x = 0;
+        int y = 0;
+
+        matcher.reset();
+        while (matcher.find()) {
+            String token = matcher.group();
+
+            // Row transition logic
+            if (x >= (width)) {
+                x = 0;
+                y++;
+            }
+            if (y >= height)
+                break;
+
+            if (token.equals("\n")) {
+                while (x < (width - 1)) {
+                    Node node = newGrid.getNode(x, y);
+                    node.setVoid(true);
+                    x++;
+                }
+
+                x = 0;
+                y++;
+                continue;
+            }
+
+            Node node = newGrid.getNode(x, y);
+            if (token.equals("#")) {
+                node.setWall(true);
+                node.setWeight(0);
+            } else if (token.equals("S")) {
+                node.setStart(true);
+                node.setWeight(1);
+                newGrid.setStartNode(node);
+            } else if (token.equals("G")) {
+                node.setEnd(true);
+                node.setWeight(1);
+                newGrid.setEndNode(node);
+            } else if (token.startsWith("\"") && token.endsWith("\"")) {
+                try {
+                    int weight = Integer.parseInt(token.substring(1, token.length() - 1));
+                    node.setWeight(weight);
+                    node.setVoid(false);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid weight token: " + token);
+                    node.setWeight(1);
+                }
+            } else {
+                node.setWeight(1);
+            }
+
+            x++;
+        }
+
+        return newGrid;
+    }
+}
@@ -63,6 +63,24 @@ public class Node {
     }
 
     // --- Utility Method for Debugging/Hashing ---
+
+    // Equal by coordinates, so grids that hand out Node views (TiledGrid)
+    // still work as keys in the solvers' maps and sets
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Node))
+            return false;
+        Node node = (Node) other;
+        return x == node.x && y == node.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return (x * 73856093) ^ (y * 19349663);
+    }
+
     @Override
     public String toString() {
         return "(" + x + ", " + y + ") [Weight: " + weight + "]";
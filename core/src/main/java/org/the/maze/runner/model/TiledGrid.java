@@ -0,0 +1,339 @@
+package org.the.maze.runner.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A {@link Grid} whose cells live off-heap in a memory-mapped file instead
+ * of one {@link Node} per cell.
+ *
+ * The file is split into square tiles. Tiles are mapped on demand into
+ * {@link MemorySegment}s, at most {@code maxCachedTiles} at a time, and the
+ * least recently used tile is unmapped when the limit is reached. Each cell
+ * is one little-endian short: bits 0-12 weight, bit 13 set for a real
+ * (non-void) cell, bit 14 wall.
+ *
+ * Every thread keeps the tile it last touched pinned, so reads and writes
+ * within it take no lock; only moving to another tile does, and pinned
+ * tiles are never unmapped. Per-cell loops should use the primitive
+ * accessors ({@link #isPassable}, {@link #getWeight}, {@link #isWall},
+ * {@link #isVoid}).
+ *
+ * {@link #getNode} returns a fresh Node view of the cell, so BFS, A* and the
+ * other solvers run on it unchanged. Edits go through {@link #setCell} or
+ * {@link #setWall}; changing a returned Node does not write back.
+ */
+public class TiledGrid extends Grid implements AutoCloseable {
+
+    private static final int MAGIC = 0x4D5A5447; // "MZTG"
+    private static final int HEADER_BYTES = 64;
+
+    public static final int MAX_WEIGHT = 0x1FFF;
+    private static final int SOLID = 0x2000;
+    private static final int WALL = 0x4000;
+
+    private static final ValueLayout.OfShort CELL = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final int tileSize;
+    private final int tilesPerRow;
+    private final long tileBytes;
+    private final int maxCachedTiles;
+
+    // Mapped tiles in access order; the map, pins and counters are guarded by tileLock
+    private final LinkedHashMap<Long, Tile> tiles = new LinkedHashMap<>(16, 0.75f, true);
+    private final Object tileLock = new Object();
+    private long hits;
+    private long misses;
+
+    // The tile each thread is working in, pinned while it is current
+    private final ThreadLocal<Cursor> cursors = ThreadLocal.withInitial(Cursor::new);
+
+    // A mapped tile, with the arena that unmaps it and the threads it is current for
+    private static final class Tile {
+        final Arena arena;
+        final MemorySegment segment;
+        final List<Thread> pinnedBy = new ArrayList<>(2);
+
+        Tile(Arena arena, MemorySegment segment) {
+            this.arena = arena;
+            this.segment = segment;
+        }
+
+        // Threads that ended while pinning it do not hold it any more
+        boolean isPinned() {
+            pinnedBy.removeIf(thread -> !thread.isAlive());
+            return !pinnedBy.isEmpty();
+        }
+    }
+
+    private static final class Cursor {
+        long id = -1;
+        Tile tile;
+    }
+
+    private TiledGrid(FileChannel channel, int width, int height, int tileSize, int maxCachedTiles) {
+        super(width, height, false);
+        this.channel = channel;
+        this.tileSize = tileSize;
+        this.tilesPerRow = (width + tileSize - 1) / tileSize;
+        this.tileBytes = (long) tileSize * tileSize * Short.BYTES;
+        this.maxCachedTiles = Math.max(1, maxCachedTiles);
+    }
+
+    // New file with every cell void
+    public static TiledGrid create(Path file, int width, int height, int tileSize, int maxCachedTiles)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        TiledGrid grid = new TiledGrid(channel, width, height, tileSize, maxCachedTiles);
+
+        long tileRows = (height + tileSize - 1) / tileSize;
+        long size = HEADER_BYTES + tileRows * grid.tilesPerRow * grid.tileBytes;
+        channel.write(ByteBuffer.wrap(new byte[1]), size - 1); // sparse until written
+        grid.writeHeader();
+        return grid;
+    }
+
+    public static TiledGrid open(Path file, int maxCachedTiles) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        header.flip();
+
+        if (header.getInt() != MAGIC) {
+            channel.close();
+            throw new IOException("Not a tiled maze file: " + file);
+        }
+        int width = header.getInt();
+        int height = header.getInt();
+        int tileSize = header.getInt();
+        int startX = header.getInt();
+        int startY = header.getInt();
+        int endX = header.getInt();
+        int endY = header.getInt();
+
+        TiledGrid grid = new TiledGrid(channel, width, height, tileSize, maxCachedTiles);
+        if (startX >= 0)
+            grid.setStartNode(grid.getNode(startX, startY));
+        if (endX >= 0)
+            grid.setEndNode(grid.getNode(endX, endY));
+        return grid;
+    }
+
+    // Off-heap copy of an in-memory grid
+    public static TiledGrid copyOf(Grid source, Path file, int tileSize, int maxCachedTiles) throws IOException {
+        TiledGrid grid = create(file, source.getWidth(), source.getHeight(), tileSize, maxCachedTiles);
+        for (int y = 0; y < source.getHeight(); y++) {
+            for (int x = 0; x < source.getWidth(); x++) {
+                Node n = source.getNode(x, y);
+                grid.setCell(x, y, n.getWeight(), n.isWall(), n.isVoid());
+            }
+        }
+        if (source.getStartNode() != null)
+            grid.setStartNode(grid.getNode(source.getStartNode().x, source.getStartNode().y));
+        if (source.getEndNode() != null)
+            grid.setEndNode(grid.getNode(source.getEndNode().x, source.getEndNode().y));
+        return grid;
+    }
+
+    @Override
+    public Node getNode(int x, int y) {
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight())
+            return null;
+
+        int cell = read(x, y);
+        Node node = new Node(x, y);
+        node.setWeight(cell & MAX_WEIGHT);
+        if ((cell & WALL) != 0)
+            node.setWall(true);
+        if (isAt(getStartNode(), x, y))
+            node.setStart(true);
+        if (isAt(getEndNode(), x, y))
+            node.setEnd(true);
+        node.setVoid((cell & SOLID) == 0);
+        return node;
+    }
+
+    @Override
+    public boolean isPassable(int x, int y) {
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight())
+            return false;
+        int cell = read(x, y);
+        return (cell & SOLID) != 0 && (cell & WALL) == 0;
+    }
+
+    @Override
+    public int getWeight(int x, int y) {
+        return read(x, y) & MAX_WEIGHT;
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        return (read(x, y) & WALL) != 0;
+    }
+
+    @Override
+    public boolean isVoid(int x, int y) {
+        return (read(x, y) & SOLID) == 0;
+    }
+
+    // Off-heap because it is meant to outgrow the heap: no per-cell arrays
+    @Override
+    public boolean fitsCellArrays() {
+        return false;
+    }
+
+    public void setCell(int x, int y, int weight, boolean wall, boolean isVoid) {
+        if (weight < 0 || weight > MAX_WEIGHT)
+            throw new IllegalArgumentException("Weight out of range: " + weight);
+        write(x, y, weight | (isVoid ? 0 : SOLID) | (wall ? WALL : 0));
+    }
+
+    @Override
+    protected void writeWall(int x, int y, boolean wall) {
+        int cell = read(x, y);
+        write(x, y, wall ? cell | WALL | SOLID : (cell & ~WALL) | SOLID);
+    }
+
+    @Override
+    public void setStartNode(Node startNode) {
+        super.setStartNode(startNode);
+        writeHeader();
+    }
+
+    @Override
+    public void setEndNode(Node endNode) {
+        super.setEndNode(endNode);
+        writeHeader();
+    }
+
+    // Moves to another tile that found it mapped
+    public long getTileHits() {
+        synchronized (tileLock) {
+            return hits;
+        }
+    }
+
+    public long getTileMisses() {
+        synchronized (tileLock) {
+            return misses;
+        }
+    }
+
+    public int getCachedTileCount() {
+        synchronized (tileLock) {
+            return tiles.size();
+        }
+    }
+
+    // Other threads must be done with the grid: their pinned tiles are unmapped too
+    @Override
+    public void close() throws IOException {
+        synchronized (tileLock) {
+            for (Tile tile : tiles.values())
+                tile.arena.close();
+            tiles.clear();
+        }
+        cursors.remove();
+        channel.close();
+    }
+
+    // --- Tile access (no lock inside the thread's pinned tile; eviction skips pinned tiles) ---
+
+    private int read(int x, int y) {
+        return tile(x, y).get(CELL, offsetInTile(x, y)) & 0xFFFF;
+    }
+
+    private void write(int x, int y, int value) {
+        tile(x, y).set(CELL, offsetInTile(x, y), (short) value);
+    }
+
+    private long offsetInTile(int x, int y) {
+        return ((long) (y % tileSize) * tileSize + (x % tileSize)) * Short.BYTES;
+    }
+
+    private MemorySegment tile(int x, int y) {
+        long id = (long) (y / tileSize) * tilesPerRow + (x / tileSize);
+        Cursor cursor = cursors.get();
+        if (id != cursor.id)
+            moveTo(cursor, id);
+        return cursor.tile.segment;
+    }
+
+    // Unpins the thread's current tile and pins tile id, mapping it if needed
+    private void moveTo(Cursor cursor, long id) {
+        Thread thread = Thread.currentThread();
+        synchronized (tileLock) {
+            if (cursor.tile != null)
+                cursor.tile.pinnedBy.remove(thread);
+
+            Tile tile = tiles.get(id);
+            if (tile != null) {
+                hits++;
+            } else {
+                misses++;
+                evict();
+                Arena arena = Arena.ofShared();
+                try {
+                    MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE,
+                            HEADER_BYTES + id * tileBytes, tileBytes, arena);
+                    tile = new Tile(arena, segment);
+                } catch (IOException e) {
+                    arena.close();
+                    cursor.id = -1;
+                    cursor.tile = null;
+                    throw new UncheckedIOException("Could not map tile " + id, e);
+                }
+                tiles.put(id, tile);
+            }
+
+            tile.pinnedBy.add(thread);
+            cursor.id = id;
+            cursor.tile = tile;
+        }
+    }
+
+    // Unmaps least recently used unpinned tiles down to the limit; pinned ones may keep it over
+    private void evict() {
+        Iterator<Tile> eldest = tiles.values().iterator();
+        while (tiles.size() >= maxCachedTiles && eldest.hasNext()) {
+            Tile tile = eldest.next();
+            if (!tile.isPinned()) {
+                tile.arena.close();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void writeHeader() {
+        Node start = getStartNode();
+        Node end = getEndNode();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(getWidth()).putInt(getHeight()).putInt(tileSize)
+                .putInt(start == null ? -1 : start.x).putInt(start == null ? -1 : start.y)
+                .putInt(end == null ? -1 : end.x).putInt(end == null ? -1 : end.y);
+        header.clear();
+        try {
+            channel.write(header, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write header", e);
+        }
+    }
+
+    private static boolean isAt(Node node, int x, int y) {
+        return node != null && node.x == x && node.y == y;
+    }
+}
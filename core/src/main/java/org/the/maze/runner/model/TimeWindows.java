@@ -0,0 +1,112 @@
+package org.the.maze.runner.model;
+
+import java.util.Arrays;
+
+/**
+ * Cells that are only passable at certain time steps: hazards closed for a
+ * while, and gates open only during their windows.
+ *
+ * Only scheduled cells take space: each window is one (cell, from, to, kind)
+ * entry in parallel int arrays, 13 bytes each, kept in the order added. A
+ * grid with a handful of gates costs a handful of entries. Solvers turn the
+ * entries into per-cell closed ranges with {@link #forEachClosed}.
+ *
+ * Time is counted in steps from the runner's departure; to may be
+ * {@link #FOREVER}.
+ */
+public class TimeWindows {
+
+    public static final int FOREVER = Integer.MAX_VALUE;
+
+    /** Receives one closed range of a cell (cell index y * width + x). */
+    public interface ClosedRange {
+        void accept(int cell, int from, int to);
+    }
+
+    private final int width;
+    private final int height;
+
+    private int[] cell = new int[16];
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private boolean[] open = new boolean[16];
+    private int size;
+
+    private int version;
+
+    public TimeWindows(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    // The cell cannot be entered or stood on during from..to (a hazard)
+    public void close(int x, int y, int from, int to) {
+        add(x, y, from, to, false);
+    }
+
+    // The cell is passable only during its open windows (a gate); call once per window
+    public void openDuring(int x, int y, int from, int to) {
+        add(x, y, from, to, true);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Bumped on every change, so solvers can tell when to rebuild what they derived
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Reports every closed range. Hazards are reported as added; a gate's
+     * open windows are turned into the gaps before, between and after them.
+     */
+    public void forEachClosed(ClosedRange sink) {
+        // Gate windows grouped per cell, in time order
+        Integer[] gates = new Integer[size];
+        int gateCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (open[i])
+                gates[gateCount++] = i;
+            else
+                sink.accept(cell[i], from[i], to[i]);
+        }
+        Arrays.sort(gates, 0, gateCount, (a, b) -> cell[a] != cell[b] ? Integer.compare(cell[a], cell[b])
+                : Integer.compare(from[a], from[b]));
+
+        int i = 0;
+        while (i < gateCount) {
+            int c = cell[gates[i]];
+            long openUntil = -1; // last step covered by the windows so far
+            for (; i < gateCount && cell[gates[i]] == c; i++) {
+                int window = gates[i];
+                if (from[window] > openUntil + 1)
+                    sink.accept(c, (int) (openUntil + 1), from[window] - 1);
+                openUntil = Math.max(openUntil, to[window]);
+            }
+            if (openUntil < FOREVER)
+                sink.accept(c, (int) (openUntil + 1), FOREVER);
+        }
+    }
+
+    private void add(int x, int y, int windowFrom, int windowTo, boolean isOpen) {
+        if (x < 0 || x >= width || y < 0 || y >= height || windowFrom < 0 || windowTo < windowFrom)
+            throw new IllegalArgumentException("Invalid time window " + windowFrom + ".." + windowTo
+                    + " at (" + x + ", " + y + ")");
+
+        if (size == cell.length) {
+            int capacity = size * 2;
+            cell = Arrays.copyOf(cell, capacity);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            open = Arrays.copyOf(open, capacity);
+        }
+        cell[size] = y * width + x;
+        from[size] = windowFrom;
+        to[size] = windowTo;
+        open[size] = isOpen;
+        size++;
+        version++;
+    }
+}
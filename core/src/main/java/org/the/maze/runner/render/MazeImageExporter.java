@@ -0,0 +1,365 @@
+package org.the.maze.runner.render;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.the.maze.runner.algorithm.AlgorithmUtils;
+import org.the.maze.runner.algorithm.PathFindingAlgorithm;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.MazeParser;
+import org.the.maze.runner.model.Node;
+import org.the.maze.runner.model.TiledGrid;
+
+/**
+ * Renders a maze (and optionally a solved path and a weight heat map) to
+ * PNG without a display: no JavaFX and no AWT, just the colours of
+ * {@link MazeRaster}, which the UI's GridView draws with.
+ *
+ * The image is produced in horizontal stripes of cell rows. Stripes are
+ * rendered, filtered and deflated in parallel and written in order as
+ * separate IDAT chunks of one zlib stream (each stripe ends on a sync
+ * flush, and the Adler-32 checksums of the stripes are combined), so only
+ * the stripes in flight are in memory. A 20k x 20k maze on a
+ * {@link TiledGrid} exports with a few MB of heap.
+ *
+ * {@link #writeTiles} cuts the maze into square tiles instead, one PNG per
+ * tile, rendered in parallel.
+ */
+public class MazeImageExporter {
+
+    // Open cells shade from OPEN towards this as their weight rises to heatMax
+    public static final int HEAT = 0xFFFF6F00;
+
+    /**
+     * cellSize: pixels per cell side. heatMax: weight drawn fully in HEAT,
+     * or 0 for no heat map. stripeCells: cell rows per stripe.
+     */
+    public record Options(int cellSize, int heatMax, int stripeCells, int threads) {
+
+        public static Options defaults() {
+            return new Options(1, 0, 64, Runtime.getRuntime().availableProcessors());
+        }
+
+        public Options withCellSize(int cellSize) {
+            return new Options(cellSize, heatMax, stripeCells, threads);
+        }
+
+        public Options withHeatMap(int heatMax) {
+            return new Options(cellSize, heatMax, stripeCells, threads);
+        }
+    }
+
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final int ADLER_BASE = 65521;
+
+    // A rendered stripe: deflated bytes plus the checksum of what went in
+    private record Stripe(byte[] deflated, long adler, long length) {
+    }
+
+    // path holds cell indexes (y * width + x); may be empty
+    public static void writePng(Grid grid, BitSet path, Path file, Options options) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, options.threads()));
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            encode(grid, path, 0, 0, grid.getWidth(), grid.getHeight(), options, pool, out);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes tile_ROW_COL.png files of tileCells x tileCells cells (smaller at
+     * the right and bottom edges) into dir. Returns the number of tiles.
+     */
+    public static int writeTiles(Grid grid, BitSet path, Path dir, int tileCells, Options options)
+            throws IOException {
+        Files.createDirectories(dir);
+        int rows = (grid.getHeight() + tileCells - 1) / tileCells;
+        int cols = (grid.getWidth() + tileCells - 1) / tileCells;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, options.threads()));
+        try {
+            ArrayDeque<Future<?>> running = new ArrayDeque<>();
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    int x0 = col * tileCells;
+                    int y0 = row * tileCells;
+                    Path file = dir.resolve("tile_" + row + "_" + col + ".png");
+                    running.add(pool.submit(() -> {
+                        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+                            encode(grid, path, x0, y0, Math.min(tileCells, grid.getWidth() - x0),
+                                    Math.min(tileCells, grid.getHeight() - y0), options, null, out);
+                        }
+                        return null;
+                    }));
+                    // Bound the tiles in flight (and so the memory)
+                    if (running.size() >= 2 * options.threads())
+                        await(running.poll());
+                }
+            }
+            while (!running.isEmpty())
+                await(running.poll());
+        } finally {
+            pool.shutdownNow();
+        }
+        return rows * cols;
+    }
+
+    /**
+     * Encodes cells x0..x0+w-1, y0..y0+h-1 as one PNG. Stripes are deflated on
+     * pool when given (at most twice its size at a time), else one by one.
+     */
+    private static void encode(Grid grid, BitSet path, int x0, int y0, int w, int h, Options options,
+            ExecutorService pool, OutputStream out) throws IOException {
+        int cellSize = Math.max(1, options.cellSize());
+        long pixelWidth = (long) w * cellSize;
+        long pixelHeight = (long) h * cellSize;
+        if (pixelWidth > Integer.MAX_VALUE / 3 - 1 || pixelHeight > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Image too large: " + pixelWidth + "x" + pixelHeight);
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream ihdr = new DataOutputStream(header);
+        ihdr.writeInt((int) pixelWidth);
+        ihdr.writeInt((int) pixelHeight);
+        ihdr.writeByte(8); // bits per channel
+        ihdr.writeByte(2); // RGB
+        ihdr.writeByte(0); // deflate
+        ihdr.writeByte(0); // adaptive filtering
+        ihdr.writeByte(0); // no interlace
+        chunk(data, "IHDR", header.toByteArray());
+
+        // zlib header: deflate, 32K window, fastest level
+        chunk(data, "IDAT", new byte[] { 0x78, 0x01 });
+
+        int stripeCells = Math.max(1, options.stripeCells());
+        int stripes = (h + stripeCells - 1) / stripeCells;
+        long adler = 1;
+        ArrayDeque<Future<Stripe>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        for (int written = 0; written < stripes; written++) {
+            Stripe stripe;
+            if (pool == null) {
+                stripe = stripe(grid, path, x0, y0, w, h, next++, stripes, options);
+            } else {
+                int limit = 2 * Math.max(1, options.threads());
+                while (next < stripes && inFlight.size() < limit) {
+                    int index = next++;
+                    inFlight.add(pool.submit(() -> stripe(grid, path, x0, y0, w, h, index, stripes, options)));
+                }
+                stripe = await(inFlight.poll());
+            }
+            chunk(data, "IDAT", stripe.deflated());
+            adler = combineAdler(adler, stripe.adler(), stripe.length());
+        }
+
+        chunk(data, "IDAT", new byte[] { (byte) (adler >>> 24), (byte) (adler >>> 16), (byte) (adler >>> 8),
+                (byte) adler });
+        chunk(data, "IEND", new byte[0]);
+        data.flush();
+    }
+
+    // Renders, Sub-filters and deflates one stripe of cell rows
+    private static Stripe stripe(Grid grid, BitSet path, int x0, int y0, int w, int h, int index,
+            int stripes, Options options) {
+        int cellSize = Math.max(1, options.cellSize());
+        int fromRow = index * options.stripeCells();
+        int toRow = Math.min(h, fromRow + options.stripeCells());
+        int rowBytes = 1 + w * cellSize * 3;
+        byte[] raw = new byte[(toRow - fromRow) * cellSize * rowBytes];
+        int[] colors = new int[w];
+
+        int offset = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            for (int x = 0; x < w; x++)
+                colors[x] = color(grid, path, x0 + x, y0 + row, options.heatMax());
+
+            // First pixel row of the cell row, then copies of it
+            int first = offset;
+            raw[offset++] = 1; // Sub filter: each byte minus the one a pixel to the left
+            int previous = 0;
+            for (int x = 0; x < w; x++) {
+                int color = colors[x];
+                for (int i = 0; i < cellSize; i++) {
+                    raw[offset++] = (byte) ((color >> 16) - (previous >> 16));
+                    raw[offset++] = (byte) ((color >> 8) - (previous >> 8));
+                    raw[offset++] = (byte) (color - previous);
+                    previous = color;
+                }
+            }
+            for (int i = 1; i < cellSize; i++) {
+                System.arraycopy(raw, first, raw, offset, rowBytes);
+                offset += rowBytes;
+            }
+        }
+
+        Adler32 checksum = new Adler32();
+        checksum.update(raw);
+
+        // Fastest level: maze rows are long flat runs, so it costs little size and most of the time
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(raw);
+            if (index == stripes - 1)
+                deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 8));
+            byte[] buffer = new byte[1 << 16];
+            int mode = index == stripes - 1 ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH;
+            while (true) {
+                int n = deflater.deflate(buffer, 0, buffer.length, mode);
+                compressed.write(buffer, 0, n);
+                // Done once finished, or once a sync flush left the buffer partly empty
+                if (index == stripes - 1 ? deflater.finished() : n < buffer.length && deflater.needsInput())
+                    break;
+            }
+            return new Stripe(compressed.toByteArray(), checksum.getValue(), raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static int color(Grid grid, BitSet path, int x, int y, int heatMax) {
+        // Primitive reads: on a TiledGrid they stay inside this thread's pinned tile
+        int color = MazeRaster.cellColor(grid, x, y, path.get(y * grid.getWidth() + x));
+        if (heatMax <= 1 || color != MazeRaster.OPEN)
+            return color;
+
+        int weight = grid.getWeight(x, y);
+        if (weight <= 1)
+            return color;
+        int t = Math.min(weight - 1, heatMax - 1) * 256 / (heatMax - 1);
+        return mix(MazeRaster.OPEN, HEAT, t);
+    }
+
+    // a..b by t / 256
+    private static int mix(int a, int b, int t) {
+        int red = ((a >> 16 & 0xFF) * (256 - t) + (b >> 16 & 0xFF) * t) >> 8;
+        int green = ((a >> 8 & 0xFF) * (256 - t) + (b >> 8 & 0xFF) * t) >> 8;
+        int blue = ((a & 0xFF) * (256 - t) + (b & 0xFF) * t) >> 8;
+        return 0xFF000000 | red << 16 | green << 8 | blue;
+    }
+
+    // Adler-32 of A followed by B, from the checksums of each and B's length (as zlib's adler32_combine)
+    static long combineAdler(long adlerA, long adlerB, long lengthB) {
+        long rem = lengthB % ADLER_BASE;
+        long sum1 = adlerA & 0xFFFF;
+        long sum2 = rem * sum1 % ADLER_BASE;
+        sum1 += (adlerB & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += ((adlerA >>> 16) & 0xFFFF) + ((adlerB >>> 16) & 0xFFFF) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE)
+            sum1 -= ADLER_BASE;
+        if (sum1 >= ADLER_BASE)
+            sum1 -= ADLER_BASE;
+        if (sum2 >= ((long) ADLER_BASE << 1))
+            sum2 -= ((long) ADLER_BASE << 1);
+        if (sum2 >= ADLER_BASE)
+            sum2 -= ADLER_BASE;
+        return sum1 | (sum2 << 16);
+    }
+
+    private static void chunk(DataOutputStream out, String type, byte[] body) throws IOException {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(body);
+        out.writeInt(body.length);
+        out.write(name);
+        out.write(body);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io)
+                throw io;
+            if (e.getCause() instanceof UncheckedIOException io)
+                throw io.getCause();
+            throw new IOException("Export failed", e.getCause());
+        }
+    }
+
+    /**
+     * Usage: MazeImageExporter <maze.txt | maze.tiles> <out.png | out-dir>
+     * [--cell=N] [--heat=MAX] [--tiles=CELLS] [--solve=ALGORITHM]
+     *
+     * Files ending in .tiles are opened as a {@link TiledGrid}; anything else
+     * is parsed as a text maze.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: MazeImageExporter <maze.txt|maze.tiles> <out.png|out-dir> [--cell=N] "
+                    + "[--heat=MAX] [--tiles=CELLS] [--solve=ALGORITHM]");
+            return;
+        }
+
+        Options options = Options.defaults();
+        int tileCells = 0;
+        String solver = null;
+        for (String arg : List.of(args).subList(2, args.length)) {
+            if (arg.startsWith("--cell="))
+                options = options.withCellSize(Integer.parseInt(arg.substring(7)));
+            else if (arg.startsWith("--heat="))
+                options = options.withHeatMap(Integer.parseInt(arg.substring(7)));
+            else if (arg.startsWith("--tiles="))
+                tileCells = Integer.parseInt(arg.substring(8));
+            else if (arg.startsWith("--solve="))
+                solver = arg.substring(8);
+            else
+                System.err.println("Ignoring unknown option: " + arg);
+        }
+
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        Grid grid = source.toString().endsWith(".tiles") ? TiledGrid.open(source, 256)
+                : MazeParser.parse(Files.readString(source));
+
+        try {
+            BitSet path = new BitSet();
+            if (solver != null) {
+                PathFindingAlgorithm algorithm = AlgorithmUtils.byName(solver);
+                if (algorithm == null) {
+                    System.err.println("Unknown algorithm: " + solver);
+                } else if (grid.getStartNode() != null && grid.getEndNode() != null) {
+                    for (Node n : algorithm.findPath(grid, grid.getStartNode(), grid.getEndNode()))
+                        path.set(n.y * grid.getWidth() + n.x);
+                }
+            }
+
+            long started = System.nanoTime();
+            if (tileCells > 0) {
+                int tiles = writeTiles(grid, path, target, tileCells, options);
+                System.out.printf("Wrote %d tiles to %s in %d ms%n", tiles, target,
+                        (System.nanoTime() - started) / 1_000_000);
+            } else {
+                writePng(grid, path, target, options);
+                System.out.printf("Wrote %s in %d ms%n", target, (System.nanoTime() - started) / 1_000_000);
+            }
+        } finally {
+            if (grid instanceof TiledGrid tiled)
+                tiled.close();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package org.the.maze.runner.render;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+import org.the.maze.runner.model.TiledGrid;
+
+/**
+ * Cell colours of a maze as ARGB pixels, plus a mipmap pyramid for drawing
+ * it zoomed out. Level L has one pixel per 2^L x 2^L block of cells, the
+ * average of their colours, except that any path cell in the block keeps the
+ * pixel yellow so a solved path stays visible in the overview.
+ *
+ * Levels are built the first time they are asked for and kept; after an
+ * edit, {@link #rowsChanged} refreshes just the pixels over the edited rows,
+ * and {@link #addPath} marks more path cells without rebuilding anything.
+ * Level 0 is never stored; callers read it per cell with {@link #cellColor}.
+ * Plain int arrays, no JavaFX, so it can be used headless too.
+ */
+public class MazeRaster {
+
+    // Same colours as the cell rectangles GridView used to build
+    public static final int VOID = 0xFF808080;
+    public static final int WALL = 0xFF000000;
+    public static final int START = 0xFF008000;
+    public static final int END = 0xFFFF0000;
+    public static final int OPEN = 0xFFF0F0F0;
+    public static final int PATH = 0xFFFFFF00;
+
+    private static final int MAX_LEVELS = 31;
+
+    private final Grid grid;
+    private final BitSet path;
+    private final int[][] levels = new int[MAX_LEVELS][];
+
+    // path holds cell indexes (y * width + x); may be empty, and addPath sets bits in it
+    public MazeRaster(Grid grid, BitSet path) {
+        this.grid = grid;
+        this.path = path;
+    }
+
+    public int cellColor(int x, int y) {
+        return cellColor(grid, x, y, path.get(y * grid.getWidth() + x));
+    }
+
+    // Off-heap grids are read flag by flag instead of through a Node view per cell
+    public static int cellColor(Grid grid, int x, int y, boolean onPath) {
+        if (!(grid instanceof TiledGrid))
+            return cellColor(grid.getNode(x, y), onPath);
+        if (grid.isVoid(x, y))
+            return VOID;
+        if (grid.isWall(x, y))
+            return WALL;
+        if (isAt(grid.getStartNode(), x, y))
+            return START;
+        if (isAt(grid.getEndNode(), x, y))
+            return END;
+        return onPath ? PATH : OPEN;
+    }
+
+    public static int cellColor(Node n, boolean onPath) {
+        if (n.isVoid())
+            return VOID;
+        if (n.isWall())
+            return WALL;
+        if (n.isStart())
+            return START;
+        if (n.isEnd())
+            return END;
+        if (onPath)
+            return PATH;
+        return OPEN;
+    }
+
+    public int levelWidth(int level) {
+        return (grid.getWidth() + (1 << level) - 1) >> level;
+    }
+
+    public int levelHeight(int level) {
+        return (grid.getHeight() + (1 << level) - 1) >> level;
+    }
+
+    // Coarsest level that is still at least one pixel across
+    public int maxLevel() {
+        int level = 0;
+        while (level + 1 < MAX_LEVELS && (levelWidth(level) > 1 || levelHeight(level) > 1))
+            level++;
+        return level;
+    }
+
+    // Pixels of a level >= 1, row-major with levelWidth(level) per row; callers must not modify it
+    public synchronized int[] level(int level) {
+        if (level < 1 || level >= MAX_LEVELS)
+            throw new IllegalArgumentException("No mipmap level " + level);
+        if (levels[level] != null)
+            return levels[level];
+
+        // Halve the nearest finer level we already have, or average the cells directly
+        int finer = level - 1;
+        while (finer >= 1 && levels[finer] == null)
+            finer--;
+        if (finer < 1) {
+            levels[level] = new int[levelWidth(level) * levelHeight(level)];
+            fromCells(level, 0, levelHeight(level) - 1);
+        } else {
+            for (int l = finer + 1; l <= level; l++) {
+                levels[l] = new int[levelWidth(l) * levelHeight(l)];
+                halve(l, 0, levelHeight(l) - 1);
+            }
+        }
+        return levels[level];
+    }
+
+    /**
+     * Cells of rows fromRow..toRow were edited: recomputes only the pixel
+     * rows covering them in the levels built so far, finest first, so each
+     * coarser level halves already updated pixels.
+     */
+    public synchronized void rowsChanged(int fromRow, int toRow) {
+        for (int level = 1; level < MAX_LEVELS; level++) {
+            if (levels[level] == null)
+                continue;
+            int py0 = Math.max(0, fromRow >> level);
+            int py1 = Math.min(levelHeight(level) - 1, toRow >> level);
+            if (level > 1 && levels[level - 1] != null)
+                halve(level, py0, py1);
+            else
+                fromCells(level, py0, py1);
+        }
+    }
+
+    /**
+     * Adds cells (indexes) to the path. A path cell turns its pixel yellow
+     * on every level, so the levels built so far are updated pixel by pixel.
+     */
+    public synchronized void addPath(int[] cells) {
+        int width = grid.getWidth();
+        for (int cell : cells) {
+            path.set(cell);
+            int x = cell % width;
+            int y = cell / width;
+            // Start and end keep their colour, and so do their blocks
+            if (cellColor(x, y) != PATH)
+                continue;
+            for (int level = 1; level < MAX_LEVELS; level++)
+                if (levels[level] != null)
+                    levels[level][(y >> level) * levelWidth(level) + (x >> level)] = PATH;
+        }
+    }
+
+    // Pixel rows py0..py1 of the level, averaged from the cells
+    private void fromCells(int level, int py0, int py1) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int lw = levelWidth(level);
+        int block = 1 << level;
+        int[] pixels = levels[level];
+
+        long[] red = new long[lw];
+        long[] green = new long[lw];
+        long[] blue = new long[lw];
+        int[] count = new int[lw];
+        boolean[] onPath = new boolean[lw];
+
+        for (int py = py0; py <= py1; py++) {
+            Arrays.fill(red, 0);
+            Arrays.fill(green, 0);
+            Arrays.fill(blue, 0);
+            Arrays.fill(count, 0);
+            Arrays.fill(onPath, false);
+
+            for (int y = py * block; y < Math.min(height, (py + 1) * block); y++) {
+                for (int x = 0; x < width; x++) {
+                    int px = x >> level;
+                    int color = cellColor(x, y);
+                    if (color == PATH)
+                        onPath[px] = true;
+                    red[px] += (color >> 16) & 0xFF;
+                    green[px] += (color >> 8) & 0xFF;
+                    blue[px] += color & 0xFF;
+                    count[px]++;
+                }
+            }
+            for (int px = 0; px < lw; px++)
+                pixels[py * lw + px] = onPath[px] ? PATH : average(red[px], green[px], blue[px], count[px]);
+        }
+    }
+
+    // Pixel rows py0..py1 of the level, halved from the level below
+    private void halve(int level, int py0, int py1) {
+        int[] finer = levels[level - 1];
+        int fw = levelWidth(level - 1);
+        int fh = levelHeight(level - 1);
+        int lw = levelWidth(level);
+        int[] pixels = levels[level];
+
+        for (int py = py0; py <= py1; py++) {
+            for (int px = 0; px < lw; px++) {
+                long red = 0, green = 0, blue = 0;
+                int count = 0;
+                boolean onPath = false;
+                for (int fy = 2 * py; fy < Math.min(fh, 2 * py + 2); fy++) {
+                    for (int fx = 2 * px; fx < Math.min(fw, 2 * px + 2); fx++) {
+                        int color = finer[fy * fw + fx];
+                        onPath |= color == PATH;
+                        red += (color >> 16) & 0xFF;
+                        green += (color >> 8) & 0xFF;
+                        blue += color & 0xFF;
+                        count++;
+                    }
+                }
+                pixels[py * lw + px] = onPath ? PATH : average(red, green, blue, count);
+            }
+        }
+    }
+
+    private static int average(long red, long green, long blue, int count) {
+        if (count == 0)
+            return VOID;
+        return 0xFF000000 | (int) (red / count) << 16 | (int) (green / count) << 8 | (int) (blue / count);
+    }
+
+    private static boolean isAt(Node node, int x, int y) {
+        return node != null && node.x == x && node.y == y;
+    }
+}
@@ -0,0 +1,181 @@
+package org.the.maze.runner.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+
+import org.the.maze.runner.algorithm.AlgorithmUtils;
+import org.the.maze.runner.algorithm.PathFindingAlgorithm;
+import org.the.maze.runner.algorithm.PortfolioAlgorithm;
+import org.the.maze.runner.cache.MazeCache;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Groups concurrent solve queries against the same maze text.
+ *
+ * The first query for a maze opens a batch and schedules it; queries for the
+ * same maze arriving within the batch window join it. The batch looks the
+ * maze up once in the {@link MazeCache}, then solves its queries on that
+ * single {@link Grid} in parallel, one task each. Solvers keep per-search
+ * state in their instance, so every query gets its own.
+ *
+ * Cancelling a query's future interrupts its solve; the solvers check for
+ * interrupts in their main loops, so a query past its budget stops using a
+ * thread soon after. A portfolio race that ends without a winner completes
+ * its query with a {@link TimeoutException} rather than an empty path.
+ */
+public class SolveBatcher {
+
+    // A query's result; cancelling it interrupts the thread solving it
+    private static final class QueryResult extends CompletableFuture<SolveResult> {
+        private volatile Thread solver;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Thread thread = solver;
+            if (cancelled && thread != null)
+                thread.interrupt();
+            return cancelled;
+        }
+    }
+
+    // A query waiting inside a batch. start/goal == null means use S/G.
+    private static final class Query {
+        final String algorithm;
+        final int[] start;
+        final int[] goal;
+        final QueryResult result = new QueryResult();
+
+        Query(String algorithm, int[] start, int[] goal) {
+            this.algorithm = algorithm;
+            this.start = start;
+            this.goal = goal;
+        }
+    }
+
+    private static final class Batch {
+        final String mazeText;
+        final List<Query> queries = new ArrayList<>();
+
+        Batch(String mazeText) {
+            this.mazeText = mazeText;
+        }
+    }
+
+    // Batches still accepting queries, keyed by maze text
+    private final Map<String, Batch> open = new HashMap<>();
+    private final Executor executor;
+    private final long windowMillis;
+
+    public SolveBatcher(Executor executor, long windowMillis) {
+        this.executor = executor;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Queues a query. The returned future may be cancelled by the caller when
+     * its time budget runs out; the batch then skips it.
+     */
+    public CompletableFuture<SolveResult> submit(String mazeText, String algorithm, int[] start, int[] goal) {
+        Query query = new Query(algorithm, start, goal);
+        Batch batch;
+        boolean first;
+
+        synchronized (open) {
+            batch = open.get(mazeText);
+            first = batch == null;
+            if (first) {
+                batch = new Batch(mazeText);
+                open.put(mazeText, batch);
+            }
+            batch.queries.add(query);
+        }
+
+        if (first) {
+            Batch toRun = batch;
+            executor.execute(() -> run(toRun));
+        }
+        return query.result;
+    }
+
+    private void run(Batch batch) {
+        // Let concurrent queries for the same maze join
+        if (windowMillis > 0) {
+            try {
+                Thread.sleep(windowMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Query> queries;
+        synchronized (open) {
+            open.remove(batch.mazeText);
+            queries = new ArrayList<>(batch.queries);
+        }
+
+        Grid grid;
+        try {
+            grid = MazeCache.shared().getGrid(batch.mazeText);
+        } catch (RuntimeException e) {
+            for (Query query : queries)
+                query.result.completeExceptionally(new IllegalArgumentException("Invalid maze: " + e.getMessage()));
+            return;
+        }
+
+        for (Query query : queries)
+            executor.execute(() -> solve(grid, query, queries.size()));
+    }
+
+    private void solve(Grid grid, Query query, int batchSize) {
+        query.result.solver = Thread.currentThread();
+        try {
+            // Skip queries whose caller already gave up
+            if (query.result.isDone())
+                return;
+
+            PathFindingAlgorithm algorithm = AlgorithmUtils.byName(query.algorithm);
+            if (algorithm == null)
+                throw new IllegalArgumentException("Unknown algorithm: " + query.algorithm);
+
+            Node start = resolve(grid, query.start, grid.getStartNode(), "start");
+            Node goal = resolve(grid, query.goal, grid.getEndNode(), "goal");
+
+            long begin = System.nanoTime();
+            List<Node> path;
+            if (algorithm instanceof PortfolioAlgorithm portfolio) {
+                // Never cached; a race without a winner ran out of budget, it did not prove "no path"
+                PortfolioAlgorithm.Outcome outcome = portfolio.race(grid, start, goal);
+                if (outcome.winner() == null) {
+                    query.result.completeExceptionally(new TimeoutException("No portfolio solver answered in time"));
+                    return;
+                }
+                path = outcome.path();
+            } else {
+                path = MazeCache.shared().findPath(grid, algorithm, start, goal);
+            }
+            long micros = (System.nanoTime() - begin) / 1_000;
+
+            query.result.complete(new SolveResult(query.algorithm, path, micros, batchSize));
+        } catch (RuntimeException e) {
+            query.result.completeExceptionally(e);
+        } finally {
+            query.result.solver = null;
+            // A cancel that raced with the end of the solve must not leak to the next task
+            Thread.interrupted();
+        }
+    }
+
+    private static Node resolve(Grid grid, int[] point, Node fallback, String name) {
+        Node node = point == null ? fallback : grid.getNode(point[0], point[1]);
+        if (node == null || node.isWall())
+            throw new IllegalArgumentException("No valid " + name + " cell");
+        return node;
+    }
+}
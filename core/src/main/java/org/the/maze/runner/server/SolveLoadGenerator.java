@@ -0,0 +1,112 @@
+package org.the.maze.runner.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.the.maze.runner.maze_generate.MazeGenerator;
+import org.the.maze.runner.maze_generate.MazePrinter;
+
+/**
+ * Loopback load generator for {@link SolveServer}.
+ *
+ * Without {@code --url} it starts an embedded server on a free port, so the
+ * whole round trip can be measured on one machine. Options (all optional):
+ * {@code --url= --requests= --concurrency= --size= --mazes= --algorithm=}.
+ * Prints p50/p99/max latency, throughput and the status code histogram.
+ */
+public class SolveLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2)
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        int requests = Integer.parseInt(options.getOrDefault("requests", "2000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int size = Integer.parseInt(options.getOrDefault("size", "101"));
+        int mazeCount = Integer.parseInt(options.getOrDefault("mazes", "4"));
+        String algorithm = options.getOrDefault("algorithm", "astar");
+
+        SolveServer embedded = null;
+        String url = options.get("url");
+        if (url == null) {
+            embedded = new SolveServer(0, concurrency * 2, 5_000, 2);
+            embedded.start();
+            url = "http://127.0.0.1:" + embedded.getPort();
+        }
+
+        // A few distinct mazes so that requests batch per maze
+        String[] mazes = new String[mazeCount];
+        for (int i = 0; i < mazeCount; i++) {
+            mazes[i] = MazePrinter.toString(MazeGenerator.generate(size, size, i));
+        }
+
+        try {
+            run(URI.create(url + "/solve?algorithm=" + algorithm), mazes, requests, concurrency);
+        } finally {
+            if (embedded != null)
+                embedded.stop();
+        }
+    }
+
+    public static void run(URI target, String[] mazes, int requests, int concurrency) throws InterruptedException {
+        long[] latencies = new long[requests];
+        Map<Integer, AtomicInteger> statuses = new TreeMap<>();
+        AtomicInteger next = new AtomicInteger();
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long begin = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                workers.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        HttpRequest request = HttpRequest.newBuilder(target)
+                                .POST(HttpRequest.BodyPublishers.ofString(mazes[i % mazes.length]))
+                                .build();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                        synchronized (statuses) {
+                            statuses.computeIfAbsent(status, k -> new AtomicInteger()).incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        Arrays.sort(latencies);
+        System.out.printf("requests=%d concurrency=%d mazes=%d%n", requests, concurrency, mazes.length);
+        System.out.printf("p50=%.2f ms  p99=%.2f ms  max=%.2f ms%n",
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies[requests - 1] / 1e6);
+        System.out.printf("throughput=%.0f req/s  status=%s%n", requests / (elapsed / 1e9), statuses);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
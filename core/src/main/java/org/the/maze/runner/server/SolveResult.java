@@ -0,0 +1,44 @@
+package org.the.maze.runner.server;
+
+import java.util.List;
+
+import org.the.maze.runner.model.Node;
+
+/**
+ * Outcome of one solve query, as returned by {@link SolveBatcher}.
+ *
+ * @param algorithm    name of the algorithm that produced the path
+ * @param path         path from start to goal, empty when the goal is unreachable
+ * @param solveMicros  time spent inside {@code findPath}
+ * @param batchSize    number of queries that shared the parsed grid
+ */
+public record SolveResult(String algorithm, List<Node> path, long solveMicros, int batchSize) {
+
+    // Total weight of the cells entered after the start cell
+    public long cost() {
+        long cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            cost += path.get(i).getWeight();
+        }
+        return cost;
+    }
+
+    public String toJson() {
+        StringBuilder out = new StringBuilder();
+        out.append("{\"algorithm\":\"").append(algorithm).append('"');
+        out.append(",\"found\":").append(!path.isEmpty());
+        out.append(",\"steps\":").append(Math.max(0, path.size() - 1));
+        out.append(",\"cost\":").append(cost());
+        out.append(",\"solveMicros\":").append(solveMicros);
+        out.append(",\"batchSize\":").append(batchSize);
+        out.append(",\"path\":[");
+        for (int i = 0; i < path.size(); i++) {
+            Node n = path.get(i);
+            if (i > 0)
+                out.append(',');
+            out.append('[').append(n.x).append(',').append(n.y).append(']');
+        }
+        out.append("]}");
+        return out.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package org.the.maze.runner.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.the.maze.runner.maze_generate.MazeGenerator;
+import org.the.maze.runner.maze_generate.MazePrinter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP service exposing the solvers to other processes on this host.
+ *
+ * <pre>
+ * POST /solve?algorithm=astar[&amp;start=x,y][&amp;goal=x,y][&amp;budgetMs=n]   body: maze text
+ * GET  /generate?width=w&amp;height=h[&amp;seed=s]
+ * </pre>
+ *
+ * Every exchange runs on its own virtual thread. At most {@code maxInFlight}
+ * requests are admitted at once, the rest get 503. Solve requests that run
+ * past their time budget get 504 and their solve is interrupted.
+ */
+public class SolveServer {
+
+    public static final int DEFAULT_PORT = 8085;
+
+    // Recursive carving in MazeGenerator limits how big a maze we generate
+    private static final int MAX_GENERATE_SIZE = 201;
+    private static final long MAX_BUDGET_MILLIS = 60_000;
+    private static final long ADMISSION_WAIT_MILLIS = 50;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore admission;
+    private final SolveBatcher batcher;
+    private final long defaultBudgetMillis;
+
+    public SolveServer(int port, int maxInFlight, long defaultBudgetMillis, long batchWindowMillis)
+            throws IOException {
+        this.admission = new Semaphore(maxInFlight);
+        this.defaultBudgetMillis = defaultBudgetMillis;
+        this.batcher = new SolveBatcher(executor, batchWindowMillis);
+
+        // Loopback only: the service is meant for processes on the same host
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext("/solve", admitted(this::handleSolve));
+        server.createContext("/generate", admitted(this::handleGenerate));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Wrap a handler with admission control
+    private HttpHandler admitted(HttpHandler handler) {
+        return exchange -> {
+            boolean admitted = false;
+            try {
+                admitted = admission.tryAcquire(ADMISSION_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (!admitted) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    send(exchange, 503, "Server busy");
+                    return;
+                }
+                handler.handle(exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(exchange, 503, "Interrupted");
+            } catch (RuntimeException e) {
+                send(exchange, 500, "Error: " + e.getMessage());
+            } finally {
+                if (admitted)
+                    admission.release();
+                exchange.close();
+            }
+        };
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            send(exchange, 405, "Use POST with the maze text as body");
+            return;
+        }
+
+        Map<String, String> params = queryParams(exchange.getRequestURI());
+        String mazeText = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (mazeText.isEmpty()) {
+            send(exchange, 400, "Maze is empty");
+            return;
+        }
+
+        CompletableFuture<SolveResult> result;
+        long budget;
+        try {
+            budget = Math.min(MAX_BUDGET_MILLIS,
+                    Long.parseLong(params.getOrDefault("budgetMs", String.valueOf(defaultBudgetMillis))));
+            if (budget <= 0)
+                throw new IllegalArgumentException("budgetMs must be positive");
+            result = batcher.submit(mazeText,
+                    params.getOrDefault("algorithm", "astar"),
+                    parsePoint(params.get("start")),
+                    parsePoint(params.get("goal")));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, e.getMessage());
+            return;
+        }
+
+        try {
+            SolveResult solved = result.get(budget, TimeUnit.MILLISECONDS);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            send(exchange, 200, solved.toJson());
+        } catch (TimeoutException | CancellationException e) {
+            result.cancel(true);
+            send(exchange, 504, "Time budget of " + budget + " ms exceeded");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            send(exchange, 503, "Interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                send(exchange, 504, String.valueOf(cause.getMessage()));
+                return;
+            }
+            int status = cause instanceof IllegalArgumentException ? 400 : 500;
+            send(exchange, status, String.valueOf(cause.getMessage()));
+        }
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        Map<String, String> params = queryParams(exchange.getRequestURI());
+        int width;
+        int height;
+        Long seed;
+        try {
+            width = Integer.parseInt(params.getOrDefault("width", "15"));
+            height = Integer.parseInt(params.getOrDefault("height", "15"));
+            seed = params.containsKey("seed") ? Long.valueOf(params.get("seed")) : null;
+        } catch (NumberFormatException e) {
+            send(exchange, 400, "width, height and seed must be integers");
+            return;
+        }
+        if (width < 1 || height < 1 || width > MAX_GENERATE_SIZE || height > MAX_GENERATE_SIZE) {
+            send(exchange, 400, "width and height must be between 1 and " + MAX_GENERATE_SIZE);
+            return;
+        }
+
+        String maze = seed == null
+                ? MazePrinter.toString(MazeGenerator.generate(width, height))
+                : MazePrinter.toString(MazeGenerator.generate(width, height, seed));
+
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        send(exchange, 200, maze);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static Map<String, String> queryParams(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null)
+            return params;
+
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0)
+                continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // "x,y" -> {x, y}; null when the parameter is absent
+    private static int[] parsePoint(String value) {
+        if (value == null)
+            return null;
+        String[] parts = value.split(",");
+        if (parts.length != 2)
+            throw new IllegalArgumentException("Expected x,y but got " + value);
+        return new int[] { Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()) };
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        SolveServer server = new SolveServer(port, 256, 2_000, 2);
+        server.start();
+        System.out.println("Solve service listening on 127.0.0.1:" + server.getPort());
+    }
+}
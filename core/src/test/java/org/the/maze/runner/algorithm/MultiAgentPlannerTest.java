@@ -0,0 +1,269 @@
+package org.the.maze.runner.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.the.maze.runner.maze_generate.ParallelMazeGenerator;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * {@link MultiAgentPlanner}: every plan is collision-free, Conflict-Based
+ * Search matches a brute-force joint search on tiny grids, and hundreds of
+ * runners on a large maze are planned well within a second.
+ */
+class MultiAgentPlannerTest {
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "PRIORITIZED", "CONFLICT_BASED" })
+    void plansAreCollisionFree(String modeName) {
+        MultiAgentPlanner planner = new MultiAgentPlanner(MultiAgentPlanner.Mode.valueOf(modeName), 4, 500);
+        Random random = new Random(43);
+        for (int i = 0; i < 40; i++) {
+            Grid grid = SeededMazes.grid(21, 0.3, true, 4300 + i);
+            List<MultiAgentPlanner.Agent> agents = randomAgents(grid, random, 2 + random.nextInt(8));
+            MultiAgentPlanner.Plan plan = planner.plan(grid, agents);
+            assertNull(collision(grid, agents, plan), modeName + " on maze " + i);
+        }
+    }
+
+    // Sum of arrival steps, against Dijkstra over the joint state of every runner
+    @Test
+    void conflictBasedCostMatchesJointSearch() {
+        MultiAgentPlanner planner = new MultiAgentPlanner(MultiAgentPlanner.Mode.CONFLICT_BASED, 2, 10_000);
+        Random random = new Random(44);
+        int compared = 0;
+        for (int i = 0; i < 150; i++) {
+            Grid grid = tinyGrid(random, 2 + random.nextInt(3), 2 + random.nextInt(3));
+            if (passableCells(grid).size() < 4)
+                continue;
+            List<MultiAgentPlanner.Agent> agents = randomAgents(grid, random, 2 + random.nextInt(2));
+            long expected = jointCost(grid, agents);
+            if (expected == ReferenceSolver.UNREACHABLE)
+                continue;
+
+            MultiAgentPlanner.Plan plan = planner.plan(grid, agents);
+            String where = "grid " + i + " with " + agents.size() + " runners";
+            assertTrue(plan.optimal(), "no optimal plan on " + where);
+            assertNull(collision(grid, agents, plan), where);
+            assertEquals(expected, plan.sumOfCosts(), "sum of costs on " + where);
+            compared++;
+        }
+        assertTrue(compared > 50, "only " + compared + " grids compared");
+    }
+
+    @Test
+    void hundredsOfRunnersOnLargeMaze() {
+        // MazeGenerator recurses too deep at this size; the parallel one carves iteratively
+        Grid grid = ParallelMazeGenerator.generate(501, 501, 4500, 4, 0.3).getGrid();
+        Random random = new Random(45);
+        List<MultiAgentPlanner.Agent> agents = randomAgents(grid, random, 300);
+        MultiAgentPlanner planner = new MultiAgentPlanner(MultiAgentPlanner.Mode.PRIORITIZED,
+                Runtime.getRuntime().availableProcessors(), 1_000);
+        // Warm up on other runners so the timed plan is not the first to be compiled
+        for (long seed = 46; seed < 48; seed++)
+            planner.plan(grid, randomAgents(grid, new Random(seed), 300));
+
+        long started = System.nanoTime();
+        MultiAgentPlanner.Plan plan = planner.plan(grid, agents);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(millis < 1_000, "took " + millis + " ms");
+        assertTrue(plan.unsolved() < agents.size() / 10, plan.unsolved() + " runners without a route");
+        assertNull(collision(grid, agents, plan), "300 runners");
+    }
+
+    // Null when every route is valid and no two runners share a cell or swap cells at any step
+    private static String collision(Grid grid, List<MultiAgentPlanner.Agent> agents, MultiAgentPlanner.Plan plan) {
+        List<List<Node>> paths = plan.paths();
+        int makespan = 0;
+        List<Integer> solved = new ArrayList<>();
+        for (int a = 0; a < paths.size(); a++) {
+            List<Node> path = paths.get(a);
+            if (path.isEmpty())
+                continue;
+            String invalid = ReferenceSolver.validate(grid, path, agents.get(a).start(), agents.get(a).goal(), true);
+            if (invalid != null)
+                return "runner " + a + ": " + invalid;
+            solved.add(a);
+            makespan = Math.max(makespan, path.size() - 1);
+        }
+
+        for (int t = 0; t <= makespan; t++) {
+            Map<Node, Integer> occupied = new HashMap<>();
+            for (int a : solved) {
+                Integer other = occupied.put(at(paths.get(a), t), a);
+                if (other != null)
+                    return "runners " + other + " and " + a + " on " + at(paths.get(a), t) + " at step " + t;
+            }
+            if (t == 0)
+                continue;
+            for (int a : solved)
+                for (int b : solved)
+                    if (a < b && !at(paths.get(a), t).equals(at(paths.get(a), t - 1))
+                            && at(paths.get(a), t).equals(at(paths.get(b), t - 1))
+                            && at(paths.get(b), t).equals(at(paths.get(a), t - 1)))
+                        return "runners " + a + " and " + b + " swap at step " + t;
+        }
+        return null;
+    }
+
+    private static Node at(List<Node> path, int t) {
+        return path.get(Math.min(t, path.size() - 1));
+    }
+
+    /**
+     * Lowest sum of arrival steps over joint states (every runner's cell plus
+     * which runners have stopped on their goal for good). A step costs one
+     * per runner still moving; stopping is free but final.
+     */
+    private static long jointCost(Grid grid, List<MultiAgentPlanner.Agent> agents) {
+        int width = grid.getWidth();
+        int cells = width * grid.getHeight();
+        int k = agents.size();
+        int[] goals = new int[k];
+        int[] first = new int[k];
+        for (int a = 0; a < k; a++) {
+            first[a] = agents.get(a).start().y * width + agents.get(a).start().x;
+            goals[a] = agents.get(a).goal().y * width + agents.get(a).goal().x;
+        }
+
+        // State = cells in base `cells` digits, then the stopped mask
+        Map<Long, Long> best = new HashMap<>();
+        List<ArrayDeque<Long>> buckets = new ArrayList<>();
+        long startState = encode(first, 0, cells);
+        best.put(startState, 0L);
+        buckets.add(new ArrayDeque<>(List.of(startState)));
+        int all = (1 << k) - 1;
+
+        for (int cost = 0; cost < buckets.size(); cost++) {
+            while (!buckets.get(cost).isEmpty()) {
+                long state = buckets.get(cost).poll();
+                if (best.get(state) != cost)
+                    continue;
+                int stopped = (int) (state % (1 << k));
+                int[] pos = decode(state >> k, k, cells);
+                if (stopped == all)
+                    return cost;
+
+                // Stop a runner standing on its goal
+                for (int a = 0; a < k; a++)
+                    if ((stopped & 1 << a) == 0 && pos[a] == goals[a])
+                        relax(best, buckets, encode(pos, stopped | 1 << a, cells), cost);
+
+                // Every moving runner waits or steps, with no shared cells and no swaps
+                int moving = k - Integer.bitCount(stopped);
+                int[] next = pos.clone();
+                jointMoves(grid, pos, stopped, 0, next, best, buckets, cost + moving, cells);
+            }
+        }
+        return ReferenceSolver.UNREACHABLE;
+    }
+
+    private static void jointMoves(Grid grid, int[] pos, int stopped, int a, int[] next, Map<Long, Long> best,
+            List<ArrayDeque<Long>> buckets, int cost, int cells) {
+        int k = pos.length;
+        if (a == k) {
+            for (int i = 0; i < k; i++)
+                for (int j = i + 1; j < k; j++)
+                    if (next[i] == next[j] || (next[i] == pos[j] && next[j] == pos[i] && pos[i] != pos[j]))
+                        return;
+            relax(best, buckets, encode(next, stopped, cells), cost);
+            return;
+        }
+        if ((stopped & 1 << a) != 0) {
+            next[a] = pos[a];
+            jointMoves(grid, pos, stopped, a + 1, next, best, buckets, cost, cells);
+            return;
+        }
+        int width = grid.getWidth();
+        int x = pos[a] % width;
+        int y = pos[a] / width;
+        int[][] moves = { { 0, 0 }, { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+        for (int[] move : moves) {
+            if (!grid.isPassable(x + move[0], y + move[1]))
+                continue;
+            next[a] = (y + move[1]) * width + x + move[0];
+            jointMoves(grid, pos, stopped, a + 1, next, best, buckets, cost, cells);
+        }
+    }
+
+    private static void relax(Map<Long, Long> best, List<ArrayDeque<Long>> buckets, long state, int cost) {
+        Long known = best.get(state);
+        if (known != null && known <= cost)
+            return;
+        best.put(state, (long) cost);
+        while (buckets.size() <= cost)
+            buckets.add(new ArrayDeque<>());
+        buckets.get(cost).add(state);
+    }
+
+    private static long encode(int[] pos, int stopped, int cells) {
+        long state = 0;
+        for (int i = pos.length - 1; i >= 0; i--)
+            state = state * cells + pos[i];
+        return state << pos.length | stopped;
+    }
+
+    private static int[] decode(long packed, int k, int cells) {
+        int[] pos = new int[k];
+        for (int i = 0; i < k; i++) {
+            pos[i] = (int) (packed % cells);
+            packed /= cells;
+        }
+        return pos;
+    }
+
+    // Walls one cell in four, weights 1 (weights are not used by the planner)
+    private static Grid tinyGrid(Random random, int width, int height) {
+        Grid grid = new Grid(width, height);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++) {
+                grid.getNode(x, y).setWeight(1);
+                if (random.nextInt(4) == 0)
+                    grid.setWall(x, y, true);
+            }
+        return grid;
+    }
+
+    private static List<Node> passableCells(Grid grid) {
+        List<Node> cells = new ArrayList<>();
+        for (int y = 0; y < grid.getHeight(); y++)
+            for (int x = 0; x < grid.getWidth(); x++)
+                if (grid.isPassable(x, y))
+                    cells.add(grid.getNode(x, y));
+        return cells;
+    }
+
+    // Distinct starts and distinct goals on passable cells
+    private static List<MultiAgentPlanner.Agent> randomAgents(Grid grid, Random random, int count) {
+        List<Node> cells = passableCells(grid);
+        count = Math.min(count, cells.size());
+        Set<Node> starts = new HashSet<>();
+        Set<Node> goals = new HashSet<>();
+        List<MultiAgentPlanner.Agent> agents = new ArrayList<>();
+        while (agents.size() < count) {
+            Node start = cells.get(random.nextInt(cells.size()));
+            Node goal = cells.get(random.nextInt(cells.size()));
+            if (!starts.contains(start) && !goals.contains(goal)) {
+                starts.add(start);
+                goals.add(goal);
+                agents.add(new MultiAgentPlanner.Agent(start, goal));
+            }
+        }
+        return agents;
+    }
+}
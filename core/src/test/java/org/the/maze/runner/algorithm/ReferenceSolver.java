@@ -0,0 +1,197 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Deliberately plain reference answers for the solver tests: a textbook
+ * Dijkstra over passable cells for the cheapest cost, a BFS for the fewest
+ * steps, a BFS over (cell, step) pairs for the earliest arrival through
+ * time windows and an exhaustive walk for every simple path, sharing no
+ * code with the solvers under test.
+ */
+final class ReferenceSolver {
+
+    static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private static final int[][] DIRECTIONS = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+
+    /** Whether cell (x, y) may be entered or stood on at a time step. */
+    interface OpenAt {
+        boolean test(int x, int y, int time);
+    }
+
+    private ReferenceSolver() {
+    }
+
+    // Cheapest cost from start to end (entered cells' weights), or UNREACHABLE
+    static long cost(Grid grid, Node start, Node end) {
+        int width = grid.getWidth();
+        long[] dist = new long[width * grid.getHeight()];
+        Arrays.fill(dist, UNREACHABLE);
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        dist[start.y * width + start.x] = 0;
+        queue.add(new long[] { 0, start.y * width + start.x });
+
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int cell = (int) entry[1];
+            if (entry[0] > dist[cell])
+                continue;
+            if (cell == end.y * width + end.x)
+                return entry[0];
+
+            for (int[] d : DIRECTIONS) {
+                int nx = cell % width + d[0];
+                int ny = cell / width + d[1];
+                if (!grid.isPassable(nx, ny))
+                    continue;
+                long next = entry[0] + grid.getWeight(nx, ny);
+                if (next < dist[ny * width + nx]) {
+                    dist[ny * width + nx] = next;
+                    queue.add(new long[] { next, ny * width + nx });
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    // Fewest steps from start to end, or UNREACHABLE
+    static long steps(Grid grid, Node start, Node end) {
+        int width = grid.getWidth();
+        int[] dist = new int[width * grid.getHeight()];
+        Arrays.fill(dist, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        dist[start.y * width + start.x] = 0;
+        queue.add(start.y * width + start.x);
+
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            if (cell == end.y * width + end.x)
+                return dist[cell];
+            for (int[] d : DIRECTIONS) {
+                int nx = cell % width + d[0];
+                int ny = cell / width + d[1];
+                if (grid.isPassable(nx, ny) && dist[ny * width + nx] < 0) {
+                    dist[ny * width + nx] = dist[cell] + 1;
+                    queue.add(ny * width + nx);
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    /**
+     * Earliest step at which a runner standing on start at departAt can be
+     * on end, moving one cell or waiting per step through cells open at each
+     * step, or UNREACHABLE when it cannot before horizon.
+     */
+    static long earliestArrival(Grid grid, Node start, Node end, int departAt, int horizon, OpenAt open) {
+        int width = grid.getWidth();
+        int cells = width * grid.getHeight();
+        if (!grid.isPassable(start.x, start.y) || !open.test(start.x, start.y, departAt))
+            return UNREACHABLE;
+
+        // One layer of reachable cells per step
+        boolean[] now = new boolean[cells];
+        now[start.y * width + start.x] = true;
+        for (int time = departAt; time <= horizon; time++) {
+            if (now[end.y * width + end.x])
+                return time;
+            boolean[] next = new boolean[cells];
+            for (int cell = 0; cell < cells; cell++) {
+                if (!now[cell])
+                    continue;
+                int x = cell % width;
+                int y = cell / width;
+                if (open.test(x, y, time + 1))
+                    next[cell] = true;
+                for (int[] d : DIRECTIONS) {
+                    int nx = x + d[0];
+                    int ny = y + d[1];
+                    if (grid.isPassable(nx, ny) && open.test(nx, ny, time + 1))
+                        next[ny * width + nx] = true;
+                }
+            }
+            now = next;
+        }
+        return UNREACHABLE;
+    }
+
+    /**
+     * Checks that path walks from start to end through passable cells, one
+     * step (or a wait, when allowed) at a time. Returns a description of the
+     * first problem, or null when the path is valid.
+     */
+    static String validate(Grid grid, List<Node> path, Node start, Node end, boolean waitsAllowed) {
+        if (path.isEmpty())
+            return "empty path";
+        if (!path.get(0).equals(start))
+            return "starts at " + path.get(0);
+        if (!path.get(path.size() - 1).equals(end))
+            return "ends at " + path.get(path.size() - 1);
+
+        for (int i = 0; i < path.size(); i++) {
+            Node node = path.get(i);
+            if (!grid.isPassable(node.x, node.y))
+                return "enters blocked cell " + node + " at index " + i;
+            if (i > 0) {
+                Node previous = path.get(i - 1);
+                int step = Math.abs(node.x - previous.x) + Math.abs(node.y - previous.y);
+                if (step > 1 || (step == 0 && !waitsAllowed))
+                    return "jumps from " + previous + " to " + node + " at index " + i;
+            }
+        }
+        return null;
+    }
+
+    // Costs of every simple path from start to end, cheapest first (small grids only)
+    static List<Long> simplePathCosts(Grid grid, Node start, Node end) {
+        List<Long> costs = new ArrayList<>();
+        for (long[] path : simplePaths(grid, start, end))
+            costs.add(path[1]);
+        Collections.sort(costs);
+        return costs;
+    }
+
+    // {steps, cost} of every simple path from start to end (small grids only)
+    static List<long[]> simplePaths(Grid grid, Node start, Node end) {
+        List<long[]> paths = new ArrayList<>();
+        boolean[] onPath = new boolean[grid.getWidth() * grid.getHeight()];
+        onPath[start.y * grid.getWidth() + start.x] = true;
+        enumerate(grid, start.x, start.y, end, onPath, 0, 0, paths);
+        return paths;
+    }
+
+    private static void enumerate(Grid grid, int x, int y, Node end, boolean[] onPath, long steps, long cost,
+            List<long[]> paths) {
+        if (x == end.x && y == end.y) {
+            paths.add(new long[] { steps, cost });
+            return;
+        }
+        for (int[] d : DIRECTIONS) {
+            int nx = x + d[0];
+            int ny = y + d[1];
+            if (!grid.isPassable(nx, ny) || onPath[ny * grid.getWidth() + nx])
+                continue;
+            onPath[ny * grid.getWidth() + nx] = true;
+            enumerate(grid, nx, ny, end, onPath, steps + 1, cost + grid.getWeight(nx, ny), paths);
+            onPath[ny * grid.getWidth() + nx] = false;
+        }
+    }
+
+    // Sum of the weights of the cells entered after the start
+    static long pathCost(Grid grid, List<Node> path) {
+        long cost = 0;
+        for (int i = 1; i < path.size(); i++)
+            cost += grid.getWeight(path.get(i).x, path.get(i).y);
+        return cost;
+    }
+}
@@ -0,0 +1,98 @@
+package org.the.maze.runner.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.the.maze.runner.maze_generate.MazeGenerator;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Reproducible test mazes: a {@link MazeGenerator} maze per seed, with a
+ * share of its inner walls knocked out (0 keeps the perfect maze, 1 leaves
+ * an open floor) and either the generator's weights or all weights 1.
+ */
+final class SeededMazes {
+
+    /** One maze and one query on it; mazeClass names size, openness and weights. */
+    record Case(String mazeClass, long seed, Grid grid, Node start, Node end) {
+        @Override
+        public String toString() {
+            return mazeClass + " seed " + seed + " " + start + " -> " + end;
+        }
+    }
+
+    static final int[] SIZES = { 11, 31, 101, 201 };
+    static final double[] OPENNESS = { 0.0, 0.1, 0.5, 1.0 };
+    static final int SEEDS_PER_CLASS = 3;
+    static final int RANDOM_QUERIES = 2;
+
+    private SeededMazes() {
+    }
+
+    // Every class and seed: corner to corner plus a few random passable pairs
+    static List<Case> all() {
+        List<Case> cases = new ArrayList<>();
+        for (int size : SIZES)
+            for (double open : OPENNESS)
+                for (boolean uniform : new boolean[] { false, true })
+                    for (int s = 0; s < SEEDS_PER_CLASS; s++) {
+                        long seed = 1000L * size + 100L * s + Math.round(open * 10) + (uniform ? 50 : 0);
+                        Grid grid = grid(size, open, uniform, seed);
+                        String mazeClass = mazeClass(size, open, uniform);
+                        cases.add(new Case(mazeClass, seed, grid, grid.getNode(0, 0),
+                                grid.getNode(grid.getWidth() - 1, grid.getHeight() - 1)));
+
+                        Random random = new Random(seed);
+                        for (int q = 0; q < RANDOM_QUERIES; q++)
+                            cases.add(new Case(mazeClass, seed, grid, randomCell(grid, random),
+                                    randomCell(grid, random)));
+                    }
+        return cases;
+    }
+
+    // Corner to corner on the generator's maze exactly as it comes out
+    static Case generated(int size, long seed) {
+        Grid grid = MazeGenerator.generate(size, size, seed).getGrid();
+        return new Case(size + "-generated", seed, grid, grid.getNode(0, 0),
+                grid.getNode(grid.getWidth() - 1, grid.getHeight() - 1));
+    }
+
+    // Corner to corner on one maze of the class
+    static Case corners(int size, double open, boolean uniform, long seed) {
+        Grid grid = grid(size, open, uniform, seed);
+        return new Case(mazeClass(size, open, uniform), seed, grid, grid.getNode(0, 0),
+                grid.getNode(grid.getWidth() - 1, grid.getHeight() - 1));
+    }
+
+    static String mazeClass(int size, double open, boolean uniform) {
+        return size + "-open" + Math.round(open * 100) + (uniform ? "-uniform" : "-weighted");
+    }
+
+    static Grid grid(int size, double open, boolean uniform, long seed) {
+        Grid grid = MazeGenerator.generate(size, size, seed).getGrid();
+        Random random = new Random(seed ^ 0x5DEECE66DL);
+
+        // Knock out walls while the grid is still being built (no derived data yet)
+        for (int y = 0; y < grid.getHeight(); y++)
+            for (int x = 0; x < grid.getWidth(); x++) {
+                Node node = grid.getNode(x, y);
+                if (node.isWall() && random.nextDouble() < open) {
+                    node.setWall(false);
+                    node.setWeight(random.nextInt(10) + 1);
+                }
+                if (uniform && !node.isWall())
+                    node.setWeight(1);
+            }
+        return grid;
+    }
+
+    static Node randomCell(Grid grid, Random random) {
+        while (true) {
+            Node node = grid.getNode(random.nextInt(grid.getWidth()), random.nextInt(grid.getHeight()));
+            if (grid.isPassable(node.x, node.y))
+                return node;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package org.the.maze.runner.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+import org.the.maze.runner.model.TimeWindows;
+
+/**
+ * Cross-checks the solvers against {@link ReferenceSolver} on every
+ * {@link SeededMazes} case: each path must be walkable from start to goal,
+ * weighted solvers must match the cheapest cost, step solvers the fewest
+ * steps, the Pareto front must run from the fewest steps to the cheapest
+ * cost without dominated points, k shortest paths must rank every simple
+ * path of a small grid, the resource-constrained solver must find the best
+ * simple path within its cap there, and an unreachable goal must give an
+ * empty path. Unmodified generator mazes are solved corner to corner as well.
+ * With hazards and gates, time-windows must match a search over (cell, step)
+ * pairs.
+ *
+ * The genetic solvers (ga-simple, ga-complex) are left out: they do not
+ * promise a valid path yet.
+ */
+class SolverDifferentialTest {
+
+    private static List<SeededMazes.Case> cases;
+
+    @BeforeAll
+    static void generate() {
+        cases = SeededMazes.all();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "astar", "dijkstra", "jps", "portfolio", "pareto", "budget-steps:1000000" })
+    void findsCheapestPath(String name) {
+        PathFindingAlgorithm algorithm = AlgorithmUtils.byName(name);
+        for (SeededMazes.Case c : cases) {
+            List<Node> path = algorithm.findPath(c.grid(), c.start(), c.end());
+            assertCheapest(c, path, name);
+        }
+    }
+
+    // No knocked-out walls or reweighting: the mazes the UI and benchmarks start from
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "astar", "dijkstra", "jps", "portfolio", "pareto" })
+    void solvesGeneratedMazes(String name) {
+        PathFindingAlgorithm algorithm = AlgorithmUtils.byName(name);
+        for (int size : SeededMazes.SIZES)
+            for (int s = 0; s < SeededMazes.SEEDS_PER_CLASS; s++) {
+                SeededMazes.Case c = SeededMazes.generated(size, 7L * size + s);
+                assertCheapest(c, algorithm.findPath(c.grid(), c.start(), c.end()), name);
+            }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "bfs", "time-windows", "budget-weight:1000000000" })
+    void findsShortestPath(String name) {
+        PathFindingAlgorithm algorithm = AlgorithmUtils.byName(name);
+        for (SeededMazes.Case c : cases) {
+            List<Node> path = algorithm.findPath(c.grid(), c.start(), c.end());
+            assertNull(ReferenceSolver.validate(c.grid(), path, c.start(), c.end(), false), name + " on " + c);
+            assertEquals(ReferenceSolver.steps(c.grid(), c.start(), c.end()), path.size() - 1,
+                    name + " steps on " + c);
+        }
+    }
+
+    @Test
+    void distanceFieldPathsAreCheapest() {
+        for (SeededMazes.Case c : cases) {
+            DistanceField field = DistanceField.from(c.grid(), c.start());
+            assertEquals(ReferenceSolver.cost(c.grid(), c.start(), c.end()), field.distance(c.end()),
+                    "distance on " + c);
+            assertCheapest(c, field.path(c.end()), "distance-field");
+        }
+    }
+
+    @Test
+    void firstOfKShortestIsCheapest() {
+        PathFindingAlgorithm algorithm = AlgorithmUtils.byName("k-shortest");
+        for (SeededMazes.Case c : cases)
+            assertCheapest(c, algorithm.findPath(c.grid(), c.start(), c.end()), "k-shortest");
+    }
+
+    // Small random grids, where every simple path can be listed: the whole ranking must match
+    @Test
+    void kShortestRanksEverySimplePath() {
+        KShortestPathsAlgorithm algorithm = new KShortestPathsAlgorithm(Integer.MAX_VALUE);
+        Random random = new Random(32);
+        for (int i = 0; i < 500; i++) {
+            Grid grid = new Grid(2 + random.nextInt(4), 2 + random.nextInt(4));
+            boolean uniform = random.nextBoolean();
+            for (int y = 0; y < grid.getHeight(); y++)
+                for (int x = 0; x < grid.getWidth(); x++)
+                    grid.getNode(x, y).setWeight(uniform ? 1 : random.nextInt(9) + 1);
+            for (int y = 0; y < grid.getHeight(); y++)
+                for (int x = 0; x < grid.getWidth(); x++)
+                    if (random.nextInt(5) == 0 && x + y > 0 && x + y < grid.getWidth() + grid.getHeight() - 2)
+                        grid.setWall(x, y, true);
+            Node start = grid.getNode(0, 0);
+            Node end = grid.getNode(grid.getWidth() - 1, grid.getHeight() - 1);
+            String where = grid.getWidth() + "x" + grid.getHeight() + " grid " + i;
+
+            List<Long> costs = new ArrayList<>();
+            Set<List<Node>> distinct = new HashSet<>();
+            for (KShortestPathsAlgorithm.RankedPath ranked : algorithm.findPaths(grid, start, end)) {
+                List<Node> path = ranked.toNodes(grid);
+                assertNull(ReferenceSolver.validate(grid, path, start, end, false), where);
+                assertEquals(ranked.cost(), ReferenceSolver.pathCost(grid, path), "cost on " + where);
+                assertEquals(path.size(), new HashSet<>(path).size(), "path not simple on " + where);
+                assertTrue(distinct.add(path), "path repeated on " + where);
+                costs.add(ranked.cost());
+            }
+            List<Long> expected = ReferenceSolver.simplePathCosts(grid, start, end);
+            assertEquals(expected, costs, "ranking on " + where);
+
+            int k = 1 + random.nextInt(8);
+            List<Long> first = new ArrayList<>();
+            for (KShortestPathsAlgorithm.RankedPath ranked : algorithm.findPaths(grid, start, end, k))
+                first.add(ranked.cost());
+            assertEquals(expected.subList(0, Math.min(k, expected.size())), first, "first " + k + " on " + where);
+        }
+    }
+
+    @Test
+    void paretoFrontSpansShortestToCheapest() {
+        ParetoFrontAlgorithm algorithm = new ParetoFrontAlgorithm();
+        for (SeededMazes.Case c : cases) {
+            List<ParetoFrontAlgorithm.ParetoPath> streamed = new ArrayList<>();
+            List<ParetoFrontAlgorithm.ParetoPath> front = algorithm.front(c.grid(), c.start(), c.end(),
+                    streamed::add);
+            assertEquals(front, streamed, "streamed front on " + c);
+            assertEquals(ReferenceSolver.steps(c.grid(), c.start(), c.end()), front.get(0).steps(), "steps on " + c);
+            assertEquals(ReferenceSolver.cost(c.grid(), c.start(), c.end()), front.get(front.size() - 1).weight(),
+                    "weight on " + c);
+
+            for (int i = 0; i < front.size(); i++) {
+                ParetoFrontAlgorithm.ParetoPath point = front.get(i);
+                List<Node> path = point.toNodes(c.grid());
+                assertNull(ReferenceSolver.validate(c.grid(), path, c.start(), c.end(), false), "front on " + c);
+                assertEquals(point.steps(), path.size() - 1, "front steps on " + c);
+                assertEquals(point.weight(), ReferenceSolver.pathCost(c.grid(), path), "front weight on " + c);
+                // Strictly more steps and strictly less weight along the front
+                if (i > 0)
+                    assertTrue(point.steps() > front.get(i - 1).steps() && point.weight() < front.get(i - 1).weight(),
+                            "dominated point on " + c);
+            }
+        }
+    }
+
+    // Small random grids again: the best simple path within each cap, found by listing them all
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "FEWEST_STEPS_WITHIN_WEIGHT", "LOWEST_WEIGHT_WITHIN_STEPS" })
+    void resourceConstrainedMatchesSimplePaths(String objectiveName) {
+        ResourceConstrainedAlgorithm.Objective objective = ResourceConstrainedAlgorithm.Objective.valueOf(objectiveName);
+        boolean weightCap = objective == ResourceConstrainedAlgorithm.Objective.FEWEST_STEPS_WITHIN_WEIGHT;
+        Random random = new Random(31);
+        for (int i = 0; i < 500; i++) {
+            Grid grid = new Grid(2 + random.nextInt(4), 2 + random.nextInt(4));
+            for (int y = 0; y < grid.getHeight(); y++)
+                for (int x = 0; x < grid.getWidth(); x++)
+                    grid.getNode(x, y).setWeight(random.nextInt(9) + 1);
+            for (int y = 0; y < grid.getHeight(); y++)
+                for (int x = 0; x < grid.getWidth(); x++)
+                    if (random.nextInt(5) == 0 && x + y > 0 && x + y < grid.getWidth() + grid.getHeight() - 2)
+                        grid.setWall(x, y, true);
+            Node start = grid.getNode(0, 0);
+            Node end = grid.getNode(grid.getWidth() - 1, grid.getHeight() - 1);
+
+            // Caps from hopeless to loose; positive weights keep the best capped path simple
+            int limit = weightCap ? random.nextInt(60) : random.nextInt(20);
+            String where = grid.getWidth() + "x" + grid.getHeight() + " grid " + i + " with limit " + limit;
+
+            long best = Long.MAX_VALUE;
+            for (long[] p : ReferenceSolver.simplePaths(grid, start, end)) {
+                long capped = weightCap ? p[1] : p[0];
+                if (capped <= limit)
+                    best = Math.min(best, weightCap ? p[0] : p[1]);
+            }
+
+            List<Node> path = new ResourceConstrainedAlgorithm(objective, limit).findPath(grid, start, end);
+            if (best == Long.MAX_VALUE) {
+                assertTrue(path.isEmpty(), "path beyond the cap on " + where);
+                continue;
+            }
+            assertNull(ReferenceSolver.validate(grid, path, start, end, false), where);
+            long steps = path.size() - 1;
+            long weight = ReferenceSolver.pathCost(grid, path);
+            assertTrue((weightCap ? weight : steps) <= limit, "cap broken on " + where);
+            assertEquals(best, weightCap ? steps : weight, "objective on " + where);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "bfs", "astar", "dijkstra", "jps", "portfolio", "time-windows", "pareto",
+            "k-shortest", "budget-weight:1000000000", "budget-steps:1000000" })
+    void unreachableGoalGivesEmptyPath(String name) {
+        for (int size : SeededMazes.SIZES) {
+            SeededMazes.Case c = SeededMazes.corners(size, 0.1, false, size);
+            Grid grid = c.grid();
+            // Wall in the goal corner
+            grid.setWall(c.end().x - 1, c.end().y, true);
+            grid.setWall(c.end().x, c.end().y - 1, true);
+
+            List<Node> path = AlgorithmUtils.byName(name).findPath(grid, c.start(), c.end());
+            assertNotNull(path, name + " on " + c);
+            assertTrue(path.isEmpty(), name + " found a path to a walled-in goal on " + c);
+        }
+    }
+
+    // Small random grids with hazards, gates and late departures, against the time-expanded BFS
+    @Test
+    void timeWindowsMatchTimeExpandedSearch() {
+        Random random = new Random(44);
+        int reached = 0;
+        for (int i = 0; i < 400; i++) {
+            Grid grid = openGrid(2 + random.nextInt(5), 2 + random.nextInt(5));
+            for (int y = 0; y < grid.getHeight(); y++)
+                for (int x = 0; x < grid.getWidth(); x++)
+                    if (random.nextInt(5) == 0 && x + y > 0 && x + y < grid.getWidth() + grid.getHeight() - 2)
+                        grid.setWall(x, y, true);
+            Schedule schedule = new Schedule(grid);
+            for (int h = random.nextInt(5); h > 0; h--) {
+                int from = random.nextInt(12);
+                schedule.hazard(random.nextInt(grid.getWidth()), random.nextInt(grid.getHeight()), from,
+                        random.nextInt(6) == 0 ? TimeWindows.FOREVER : from + random.nextInt(8));
+            }
+            for (int g = random.nextInt(4); g > 0; g--) {
+                int from = random.nextInt(15);
+                schedule.gate(random.nextInt(grid.getWidth()), random.nextInt(grid.getHeight()), from,
+                        from + random.nextInt(4));
+            }
+            int departAt = random.nextInt(3) == 0 ? random.nextInt(10) : 0;
+            Node start = grid.getNode(0, 0);
+            Node end = grid.getNode(grid.getWidth() - 1, grid.getHeight() - 1);
+            if (!assertEarliestArrival(grid, schedule, start, end, departAt, "grid " + i + " leaving at " + departAt)
+                    .isEmpty())
+                reached++;
+        }
+        assertTrue(reached > 200, "only " + reached + " goals reached");
+    }
+
+    @Test
+    void timeWindowsWaitForGateToOpen() {
+        Grid grid = openGrid(7, 1);
+        Schedule schedule = new Schedule(grid);
+        schedule.gate(3, 0, 10, 12);
+        List<Node> path = assertEarliestArrival(grid, schedule, grid.getNode(0, 0), grid.getNode(6, 0), 0, "gate");
+        assertEquals(14, path.size(), "through the gate at step 10, then three more steps");
+    }
+
+    @Test
+    void timeWindowsDetourAroundHazard() {
+        Grid grid = openGrid(5, 2);
+        Schedule schedule = new Schedule(grid);
+        schedule.hazard(2, 0, 0, 50);
+        List<Node> path = assertEarliestArrival(grid, schedule, grid.getNode(0, 0), grid.getNode(4, 0), 0,
+                "hazard");
+        assertEquals(7, path.size(), "two steps of detour beat waiting out the hazard");
+        assertFalse(path.contains(grid.getNode(2, 0)), "ran through the hazard: " + path);
+    }
+
+    // Windows count from step 0; a runner leaving later meets them later in its own path
+    @Test
+    void timeWindowsCountFromDepartAt() {
+        Grid grid = openGrid(7, 1);
+        Schedule schedule = new Schedule(grid);
+        schedule.hazard(3, 0, 0, 9);
+        Node start = grid.getNode(0, 0);
+        Node end = grid.getNode(6, 0);
+        assertEquals(14, assertEarliestArrival(grid, schedule, start, end, 0, "leaving at 0").size());
+        assertEquals(9, assertEarliestArrival(grid, schedule, start, end, 5, "leaving at 5").size());
+        assertEquals(7, assertEarliestArrival(grid, schedule, start, end, 12, "leaving at 12").size());
+    }
+
+    @Test
+    void timeWindowsThatNeverOpenGiveEmptyPath() {
+        Grid grid = openGrid(7, 1);
+        Schedule gate = new Schedule(grid);
+        gate.gate(3, 0, 2, 4);
+        assertEquals(7, assertEarliestArrival(grid, gate, grid.getNode(0, 0), grid.getNode(6, 0), 0, "gate").size());
+        assertTrue(assertEarliestArrival(grid, gate, grid.getNode(0, 0), grid.getNode(6, 0), 5, "gate shut")
+                .isEmpty(), "path through a gate that has closed for good");
+
+        Grid open = openGrid(7, 1);
+        Schedule hazard = new Schedule(open);
+        hazard.hazard(3, 0, 1, TimeWindows.FOREVER);
+        assertTrue(assertEarliestArrival(open, hazard, open.getNode(0, 0), open.getNode(6, 0), 0, "hazard")
+                .isEmpty(), "path through a hazard that never lifts");
+    }
+
+    // Every cell passable with weight 1 (a new Grid's cells are void)
+    private static Grid openGrid(int width, int height) {
+        Grid grid = new Grid(width, height);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                grid.getNode(x, y).setWeight(1);
+        return grid;
+    }
+
+    /**
+     * Runs time-windows and checks its path against the time-expanded BFS:
+     * empty when that finds nothing, otherwise a walk with waits through
+     * cells open at each step, arriving at the earliest step.
+     */
+    private static List<Node> assertEarliestArrival(Grid grid, Schedule schedule, Node start, Node end,
+            int departAt, String where) {
+        grid.setTimeWindows(schedule.windows);
+        long expected = ReferenceSolver.earliestArrival(grid, start, end, departAt,
+                schedule.horizon(departAt), schedule::open);
+        List<Node> path = new TimeWindowAlgorithm(departAt).findPath(grid, start, end);
+        if (expected == ReferenceSolver.UNREACHABLE) {
+            assertTrue(path.isEmpty(), "path to an unreachable goal on " + where);
+            return path;
+        }
+        assertNull(ReferenceSolver.validate(grid, path, start, end, true), where);
+        for (int i = 0; i < path.size(); i++)
+            assertTrue(schedule.open(path.get(i).x, path.get(i).y, departAt + i),
+                    "on closed " + path.get(i) + " at step " + (departAt + i) + " on " + where);
+        assertEquals(expected, departAt + path.size() - 1, "arrival on " + where);
+        return path;
+    }
+
+    // Hazards and gates kept both as TimeWindows and as plain lists the reference reads directly
+    private static final class Schedule {
+        final TimeWindows windows;
+        private final int cells;
+        private final List<int[]> hazards = new ArrayList<>();
+        private final List<int[]> gates = new ArrayList<>();
+
+        Schedule(Grid grid) {
+            windows = new TimeWindows(grid.getWidth(), grid.getHeight());
+            cells = grid.getWidth() * grid.getHeight();
+        }
+
+        void hazard(int x, int y, int from, int to) {
+            windows.close(x, y, from, to);
+            hazards.add(new int[] { x, y, from, to });
+        }
+
+        void gate(int x, int y, int from, int to) {
+            windows.openDuring(x, y, from, to);
+            gates.add(new int[] { x, y, from, to });
+        }
+
+        boolean open(int x, int y, int time) {
+            for (int[] h : hazards)
+                if (h[0] == x && h[1] == y && time >= h[2] && time <= h[3])
+                    return false;
+            boolean gated = false;
+            for (int[] g : gates) {
+                if (g[0] != x || g[1] != y)
+                    continue;
+                if (time >= g[2] && time <= g[3])
+                    return true;
+                gated = true;
+            }
+            return !gated;
+        }
+
+        // Past the last finite window edge nothing changes, so a route needs at most one step per cell more
+        int horizon(int departAt) {
+            int last = departAt;
+            for (List<int[]> list : List.of(hazards, gates))
+                for (int[] w : list)
+                    last = Math.max(last, w[3] == TimeWindows.FOREVER ? w[2] : w[3] + 1);
+            return last + cells;
+        }
+    }
+
+    private static void assertCheapest(SeededMazes.Case c, List<Node> path, String name) {
+        assertNull(ReferenceSolver.validate(c.grid(), path, c.start(), c.end(), false), name + " on " + c);
+        assertEquals(ReferenceSolver.cost(c.grid(), c.start(), c.end()), ReferenceSolver.pathCost(c.grid(), path),
+                name + " cost on " + c);
+    }
+}
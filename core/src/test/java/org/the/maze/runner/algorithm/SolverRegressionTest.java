@@ -0,0 +1,175 @@
+package org.the.maze.runner.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Guards solver performance against the stored baseline in
+ * solver-baseline.properties: expanded nodes and median time per solver
+ * and maze class, corner to corner on one seeded maze of each class. Jump
+ * point search must also never expand more nodes than plain A*.
+ *
+ * Expansions are deterministic, so they get a tight margin and are always
+ * checked. Times vary between machines and runs, so they are only checked
+ * with baseline.timing=true (gradle test -Ptiming), against a generous
+ * factor plus a few milliseconds. Run with baseline.update=true (gradle
+ * test -PupdateBaseline) to rewrite the file after an intended change.
+ */
+class SolverRegressionTest {
+
+    private static final String BASELINE = "solver-baseline.properties";
+    private static final double EXPANSION_SLACK = Double
+            .parseDouble(System.getProperty("baseline.expansionSlack", "0.10"));
+    private static final double TIME_FACTOR = Double.parseDouble(System.getProperty("baseline.timeFactor", "3.0"));
+    private static final long TIME_SLACK_MICROS = 5_000;
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int TIMED_RUNS = 7;
+    private static final int SIZE = 201; // MazeGenerator carves recursively; larger needs a bigger stack
+    private static final long SEED = 42;
+
+    // Maze classes measured: perfect, braided and open, weighted and not
+    private static final double[] OPENNESS = { 0.0, 0.1, 1.0 };
+    private static final String[] SOLVERS = { "bfs", "astar", "dijkstra", "jps", "pareto" };
+
+    @Test
+    void solversStayWithinBaseline() throws IOException {
+        Properties measured = new Properties();
+        for (double open : OPENNESS)
+            for (boolean uniform : new boolean[] { false, true }) {
+                SeededMazes.Case c = SeededMazes.corners(SIZE, open, uniform, SEED);
+                for (String name : SOLVERS)
+                    measure(name, c, measured);
+            }
+
+        if (Boolean.getBoolean("baseline.update")) {
+            String file = System.getProperty("baseline.file");
+            assertNotNull(file, "baseline.update needs baseline.file");
+            write(measured, Path.of(file));
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = SolverRegressionTest.class.getResourceAsStream(BASELINE)) {
+            assertNotNull(in, "No " + BASELINE + "; run gradle test -PupdateBaseline");
+            baseline.load(in);
+        }
+
+        boolean timing = Boolean.getBoolean("baseline.timing");
+        List<String> regressions = new ArrayList<>();
+        for (String key : new TreeSet<>(measured.stringPropertyNames())) {
+            String stored = baseline.getProperty(key);
+            if (stored == null) {
+                regressions.add(key + ": no baseline");
+                continue;
+            }
+            long now = Long.parseLong(measured.getProperty(key));
+            long before = Long.parseLong(stored);
+            long limit;
+            if (key.endsWith(".expanded"))
+                limit = (long) Math.ceil(before * (1 + EXPANSION_SLACK));
+            else if (timing)
+                limit = (long) (before * TIME_FACTOR) + TIME_SLACK_MICROS;
+            else
+                continue;
+            if (now > limit)
+                regressions.add(key + ": " + now + " > " + limit + " (baseline " + before + ")");
+        }
+        if (!regressions.isEmpty())
+            fail("Solver regressions against " + BASELINE + ":\n  " + String.join("\n  ", regressions));
+    }
+
+    // Jumps may only save work: where weights vary JPS must fall back to A*'s expansions, not exceed them
+    @Test
+    void jumpPointsExpandNoMoreThanAStar() {
+        for (double open : OPENNESS)
+            for (boolean uniform : new boolean[] { false, true }) {
+                SeededMazes.Case c = SeededMazes.corners(SIZE, open, uniform, SEED);
+                int jps = expansions(new JumpPointAlgorithm(), c.grid(), c.start(), c.end());
+                int astar = expansions(new AStarAlgorithm(), c.grid(), c.start(), c.end());
+                assertTrue(jps <= astar, "jps expanded " + jps + " > astar " + astar + " on " + c);
+            }
+    }
+
+    // Records <solver>.<class>.micros and, where the solver reports it, .expanded
+    private static void measure(String name, SeededMazes.Case c, Properties measured) {
+        Grid grid = c.grid();
+        Node start = c.start();
+        Node end = c.end();
+        PathFindingAlgorithm algorithm = AlgorithmUtils.byName(name);
+        String prefix = name + "." + c.mazeClass();
+
+        // Counted on a separate instance so the timed runs are not traced
+        int expanded = expansions(AlgorithmUtils.byName(name), grid, start, end);
+        if (expanded >= 0)
+            measured.setProperty(prefix + ".expanded", Integer.toString(expanded));
+
+        for (int i = 0; i < WARMUP_RUNS; i++)
+            algorithm.findPath(grid, start, end);
+        long[] micros = new long[TIMED_RUNS];
+        for (int i = 0; i < TIMED_RUNS; i++) {
+            long t0 = System.nanoTime();
+            List<Node> path = algorithm.findPath(grid, start, end);
+            micros[i] = (System.nanoTime() - t0) / 1_000;
+            assertTrue(!path.isEmpty(), name + " found no path on " + c);
+        }
+        Arrays.sort(micros);
+        measured.setProperty(prefix + ".micros", Long.toString(micros[TIMED_RUNS / 2]));
+    }
+
+    // Nodes taken off the open set, or -1 for solvers that do not report it
+    private static int expansions(PathFindingAlgorithm algorithm, Grid grid, Node start, Node end) {
+        if (algorithm instanceof JumpPointAlgorithm jps) {
+            jps.findPath(grid, start, end);
+            return jps.getExpanded();
+        }
+        if (algorithm instanceof ParetoFrontAlgorithm pareto) {
+            pareto.findPath(grid, start, end);
+            return pareto.getExpanded();
+        }
+
+        SearchTrace trace = new SearchTrace(8 * grid.getWidth() * grid.getHeight());
+        if (algorithm instanceof BFSAlgorithm bfs)
+            bfs.setTrace(trace);
+        else if (algorithm instanceof AStarAlgorithm astar)
+            astar.setTrace(trace);
+        else
+            return -1;
+
+        algorithm.findPath(grid, start, end);
+        assertTrue(!trace.isTruncated(), "trace too small");
+
+        int closed = 0;
+        for (int i = 0; i < trace.size(); i++)
+            if (trace.type(i) == SearchTrace.CLOSE)
+                closed++;
+        return closed;
+    }
+
+    private static void write(Properties measured, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer out = Files.newBufferedWriter(file)) {
+            out.write("# Solver baseline for SolverRegressionTest: corner to corner on a " + SIZE + "x" + SIZE
+                    + " maze, seed " + SEED + "\n");
+            out.write("# Regenerate with: gradle :core:test -PupdateBaseline\n");
+            for (String key : new TreeSet<>(measured.stringPropertyNames()))
+                out.write(key + "=" + measured.getProperty(key) + "\n");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.the.maze.runner.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * {@link WaypointRouter} against every visiting order on small grids, and
+ * its nearest-neighbour plus 2-opt order above the exact limit.
+ */
+class WaypointRouterTest {
+
+    // Held-Karp must find the cheapest of all k! orders
+    @Test
+    void exactOrderMatchesEveryPermutation() {
+        WaypointRouter router = new WaypointRouter();
+        Random random = new Random(30);
+        for (int i = 0; i < 300; i++) {
+            Grid grid = randomGrid(random, 3 + random.nextInt(6), 3 + random.nextInt(6), 5);
+            Node start = randomCell(grid, random);
+            Node end = randomCell(grid, random);
+            List<Node> waypoints = new ArrayList<>();
+            int k = random.nextInt(7);
+            for (int w = 0; w < k; w++)
+                waypoints.add(randomCell(grid, random));
+            String where = grid.getWidth() + "x" + grid.getHeight() + " grid " + i + " with " + k + " waypoints";
+
+            long expected = bruteForce(grid, start, new ArrayList<>(waypoints), 0, end);
+            List<Node> route = router.route(grid, start, waypoints, end);
+            if (expected == ReferenceSolver.UNREACHABLE) {
+                assertTrue(route.isEmpty(), "route through an unreachable stop on " + where);
+                continue;
+            }
+            assertVisitsAll(grid, route, start, waypoints, end, where);
+            assertEquals(expected, ReferenceSolver.pathCost(grid, route), "cost on " + where);
+        }
+    }
+
+    // Above the limit: every stop visited, never worse than the nearest-neighbour tour 2-opt starts from
+    @Test
+    void heuristicOrderVisitsEveryWaypoint() {
+        WaypointRouter router = new WaypointRouter();
+        Random random = new Random(31);
+        for (int i = 0; i < 40; i++) {
+            Grid grid = randomGrid(random, 12 + random.nextInt(10), 12 + random.nextInt(10), 12);
+            Node start = randomCell(grid, random);
+            Node end = randomCell(grid, random);
+            if (ReferenceSolver.cost(grid, start, end) == ReferenceSolver.UNREACHABLE)
+                continue;
+
+            List<Node> waypoints = new ArrayList<>();
+            int k = WaypointRouter.EXACT_LIMIT + 1 + random.nextInt(6);
+            while (waypoints.size() < k) {
+                Node cell = randomCell(grid, random);
+                if (ReferenceSolver.cost(grid, start, cell) != ReferenceSolver.UNREACHABLE)
+                    waypoints.add(cell);
+            }
+            String where = grid.getWidth() + "x" + grid.getHeight() + " grid " + i + " with " + k + " waypoints";
+
+            List<Node> route = router.route(grid, start, waypoints, end);
+            assertVisitsAll(grid, route, start, waypoints, end, where);
+            assertTrue(ReferenceSolver.pathCost(grid, route) <= nearestNeighbourCost(grid, start, waypoints, end),
+                    "worse than nearest neighbour on " + where);
+        }
+    }
+
+    // On a single corridor the best order is left to right, whatever order the waypoints come in
+    @Test
+    void heuristicOrderWalksCorridorOnce() {
+        Grid grid = new Grid(40, 1);
+        for (int x = 0; x < 40; x++)
+            grid.getNode(x, 0).setWeight(1);
+        List<Node> waypoints = new ArrayList<>();
+        for (int x = 2; x < 38; x += 2)
+            waypoints.add(grid.getNode(x, 0));
+        Collections.shuffle(waypoints, new Random(32));
+        assertTrue(waypoints.size() > WaypointRouter.EXACT_LIMIT, "exact order would be used");
+
+        List<Node> route = new WaypointRouter().route(grid, grid.getNode(0, 0), waypoints, grid.getNode(39, 0));
+        assertEquals(40, route.size(), "route length");
+        for (int x = 0; x < 40; x++)
+            assertEquals(grid.getNode(x, 0), route.get(x), "cell " + x);
+    }
+
+    // Cheapest cost over all orders of waypoints[from..], or UNREACHABLE
+    private static long bruteForce(Grid grid, Node at, List<Node> waypoints, int from, Node end) {
+        if (from == waypoints.size())
+            return ReferenceSolver.cost(grid, at, end);
+
+        long best = ReferenceSolver.UNREACHABLE;
+        for (int i = from; i < waypoints.size(); i++) {
+            Collections.swap(waypoints, from, i);
+            Node next = waypoints.get(from);
+            long leg = ReferenceSolver.cost(grid, at, next);
+            if (leg != ReferenceSolver.UNREACHABLE) {
+                long rest = bruteForce(grid, next, waypoints, from + 1, end);
+                if (rest != ReferenceSolver.UNREACHABLE)
+                    best = Math.min(best, leg + rest);
+            }
+            Collections.swap(waypoints, from, i);
+        }
+        return best;
+    }
+
+    private static long nearestNeighbourCost(Grid grid, Node start, List<Node> waypoints, Node end) {
+        List<Node> left = new ArrayList<>(waypoints);
+        Node at = start;
+        long total = 0;
+        while (!left.isEmpty()) {
+            int nearest = 0;
+            for (int i = 1; i < left.size(); i++)
+                if (ReferenceSolver.cost(grid, at, left.get(i)) < ReferenceSolver.cost(grid, at, left.get(nearest)))
+                    nearest = i;
+            total += ReferenceSolver.cost(grid, at, left.get(nearest));
+            at = left.remove(nearest);
+        }
+        return total + ReferenceSolver.cost(grid, at, end);
+    }
+
+    private static void assertVisitsAll(Grid grid, List<Node> route, Node start, List<Node> waypoints, Node end,
+            String where) {
+        assertNull(ReferenceSolver.validate(grid, route, start, end, false), where);
+        for (Node waypoint : waypoints)
+            assertTrue(route.contains(waypoint), "waypoint " + waypoint + " skipped on " + where);
+    }
+
+    private static Grid randomGrid(Random random, int width, int height, int wallOneIn) {
+        Grid grid = new Grid(width, height);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++) {
+                grid.getNode(x, y).setWeight(random.nextInt(9) + 1);
+                if (random.nextInt(wallOneIn) == 0)
+                    grid.setWall(x, y, true);
+            }
+        return grid;
+    }
+
+    private static Node randomCell(Grid grid, Random random) {
+        while (true) {
+            Node node = grid.getNode(random.nextInt(grid.getWidth()), random.nextInt(grid.getHeight()));
+            if (!node.isWall())
+                return node;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.the.maze.runner.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.the.maze.runner.algorithm.AStarAlgorithm;
+import org.the.maze.runner.algorithm.PathFindingAlgorithm;
+import org.the.maze.runner.maze_generate.MazeGenerator;
+import org.the.maze.runner.maze_generate.MazePrinter;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.MazeParser;
+import org.the.maze.runner.model.Node;
+
+/**
+ * Hits and misses of {@link MazeCache}, edited grids, hash collisions in
+ * memory and on disk, and reading a cache back from its directory.
+ */
+class MazeCacheTest {
+
+    @TempDir
+    Path dir;
+
+    // A* under a chosen cache key, counting how often it actually runs
+    private static final class CountingSolver implements PathFindingAlgorithm {
+        final String key;
+        int runs = 0;
+
+        CountingSolver(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public List<Node> findPath(Grid grid, Node start, Node end) {
+            runs++;
+            return new AStarAlgorithm().findPath(grid, start, end);
+        }
+
+        @Override
+        public String cacheKey() {
+            return key;
+        }
+    }
+
+    @Test
+    void secondLookupHits() {
+        MazeCache cache = new MazeCache(1_000_000, 16, null);
+        String text = maze(1);
+        Grid grid = cache.getGrid(text);
+        assertSame(grid, cache.getGrid(text + "\n\n"), "trailing whitespace shares the entry");
+
+        CountingSolver solver = new CountingSolver("counting");
+        List<Node> path = cache.findPath(grid, solver, grid.getStartNode(), grid.getEndNode());
+        assertEquals(path, cache.findPath(grid, solver, grid.getStartNode(), grid.getEndNode()), "cached path");
+        assertEquals(1, solver.runs, "solver runs");
+
+        MazeCache.Stats stats = cache.stats();
+        assertEquals(1, stats.gridHits(), "grid hits");
+        assertEquals(1, stats.gridMisses(), "grid misses");
+        assertEquals(1, stats.resultHits(), "result hits");
+        assertEquals(1, stats.resultMisses(), "result misses");
+    }
+
+    @Test
+    void editedGridIsParsedAgain() {
+        MazeCache cache = new MazeCache(1_000_000, 16, null);
+        String text = maze(2);
+        Grid grid = cache.getGrid(text);
+        Node open = grid.getStartNode();
+        grid.setWall(open.x + 1, open.y, !grid.getNode(open.x + 1, open.y).isWall());
+
+        // Edits bump the version, so the grid no longer matches the text
+        CountingSolver solver = new CountingSolver("counting");
+        cache.findPath(grid, solver, grid.getStartNode(), grid.getEndNode());
+        cache.findPath(grid, solver, grid.getStartNode(), grid.getEndNode());
+        assertEquals(2, solver.runs, "edited grid solved uncached");
+
+        Grid fresh = cache.getGrid(text);
+        assertNotSame(grid, fresh, "edited grid served");
+        assertEquals(0, fresh.getVersion(), "fresh version");
+        assertEquals(2, cache.stats().gridMisses(), "grid misses");
+        assertEquals(1, cache.stats().grids(), "cached grids");
+    }
+
+    @Test
+    void hashCollisionIsServedUncached() {
+        // Every maze collides
+        MazeCache cache = new MazeCache(1_000_000, 16, null, text -> 42L);
+        String first = maze(3);
+        String second = maze(4);
+        Grid cached = cache.getGrid(first);
+
+        Grid colliding = cache.getGrid(second);
+        assertNotSame(colliding, cache.getGrid(second), "colliding maze cached");
+        assertSameCells(MazeParser.parse(second), colliding);
+        assertSame(cached, cache.getGrid(first), "first maze evicted");
+
+        CountingSolver solver = new CountingSolver("counting");
+        cache.findPath(colliding, solver, colliding.getStartNode(), colliding.getEndNode());
+        cache.findPath(colliding, solver, colliding.getStartNode(), colliding.getEndNode());
+        assertEquals(2, solver.runs, "colliding maze solved uncached");
+        assertEquals(0, cache.stats().results(), "cached paths");
+    }
+
+    @Test
+    void diskRoundTrip() {
+        String text = maze(5);
+        MazeCache writer = new MazeCache(1_000_000, 16, dir);
+        Grid written = writer.getGrid(text);
+        CountingSolver solver = new CountingSolver("counting");
+        List<Node> path = writer.findPath(written, solver, written.getStartNode(), written.getEndNode());
+
+        MazeCache reader = new MazeCache(1_000_000, 16, dir);
+        Grid read = reader.getGrid(text);
+        assertSameCells(written, read);
+        List<Node> readPath = reader.findPath(read, solver, read.getStartNode(), read.getEndNode());
+        assertEquals(1, solver.runs, "path read back");
+        assertEquals(1, reader.stats().resultHits(), "result hits");
+        assertEquals(path, readPath, "path read back");
+    }
+
+    @Test
+    void pathFileOfAnotherKeyIsIgnored() {
+        // "Aa" and "BB" have the same String.hashCode, so both keys map to one file name
+        String text = maze(6);
+        MazeCache writer = new MazeCache(1_000_000, 16, dir);
+        Grid grid = writer.getGrid(text);
+        CountingSolver first = new CountingSolver("counting.Aa.solver");
+        writer.findPath(grid, first, grid.getStartNode(), grid.getEndNode());
+
+        MazeCache reader = new MazeCache(1_000_000, 16, dir);
+        Grid read = reader.getGrid(text);
+        CountingSolver second = new CountingSolver("counting.BB.solver");
+        reader.findPath(read, second, read.getStartNode(), read.getEndNode());
+        assertEquals(1, second.runs, "path of another solver served");
+        assertEquals(0, reader.stats().resultHits(), "result hits");
+    }
+
+    private static String maze(long seed) {
+        return MazePrinter.toString(MazeGenerator.generate(15, 15, seed));
+    }
+
+    private static void assertSameCells(Grid expected, Grid actual) {
+        assertEquals(expected.getWidth(), actual.getWidth(), "width");
+        assertEquals(expected.getHeight(), actual.getHeight(), "height");
+        for (int y = 0; y < expected.getHeight(); y++)
+            for (int x = 0; x < expected.getWidth(); x++) {
+                Node e = expected.getNode(x, y);
+                Node a = actual.getNode(x, y);
+                String where = "cell " + x + "," + y;
+                assertEquals(e.isWall(), a.isWall(), where + " wall");
+                assertEquals(e.isVoid(), a.isVoid(), where + " void");
+                assertEquals(e.isStart(), a.isStart(), where + " start");
+                assertEquals(e.isEnd(), a.isEnd(), where + " end");
+                assertEquals(e.getWeight(), a.getWeight(), where + " weight");
+            }
+        assertEquals(expected.getStartNode(), actual.getStartNode(), "start node");
+        assertEquals(expected.getEndNode(), actual.getEndNode(), "end node");
+    }
+}
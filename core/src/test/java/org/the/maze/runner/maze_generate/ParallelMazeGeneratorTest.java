@@ -0,0 +1,121 @@
+package org.the.maze.runner.maze_generate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * {@link ParallelMazeGenerator}: the same seed and thread count give the
+ * same maze, a loop rate of 0 gives a perfect maze across tile boundaries,
+ * and loops keep it connected.
+ */
+class ParallelMazeGeneratorTest {
+
+    // Sizes as "width x height"; the larger ones split into several tiles per thread
+    private static final String[] SIZES = { "1x1", "2x2", "31x9", "101x81", "250x120" };
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = { 1, 2, 4, 7 })
+    void sameSeedAndThreadsGiveSameMaze(int threads) {
+        for (String size : SIZES) {
+            for (double loopRate : new double[] { 0, 0.1 }) {
+                Grid first = generate(size, 42, threads, loopRate);
+                Grid second = generate(size, 42, threads, loopRate);
+                String where = size + " loop rate " + loopRate;
+                for (int y = 0; y < first.getHeight(); y++)
+                    for (int x = 0; x < first.getWidth(); x++) {
+                        String at = " at " + x + "," + y + " of " + where;
+                        assertEquals(first.isWall(x, y), second.isWall(x, y), "wall" + at);
+                        assertEquals(first.getWeight(x, y), second.getWeight(x, y), "weight" + at);
+                    }
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = { 1, 2, 4, 7 })
+    void noLoopsGivesPerfectMaze(int threads) {
+        for (String size : SIZES) {
+            for (long seed = 0; seed < 3; seed++) {
+                Grid grid = generate(size, seed, threads, 0);
+                String where = size + " seed " + seed;
+                int cells = passableCells(grid);
+                assertEquals(cells, reachable(grid), "connected " + where);
+                assertEquals(cells - 1, passages(grid), "passages of " + where);
+                assertTrue(grid.isPassable(grid.getWidth() - 1, grid.getHeight() - 1), "goal cell of " + where);
+            }
+        }
+    }
+
+    @Test
+    void loopsKeepMazeConnected() {
+        for (double loopRate : new double[] { 0.05, 0.3, 1 }) {
+            for (int threads : new int[] { 1, 4 }) {
+                Grid grid = generate("101x81", 7, threads, loopRate);
+                String where = "loop rate " + loopRate + " on " + threads + " threads";
+                int cells = passableCells(grid);
+                assertEquals(cells, reachable(grid), "connected " + where);
+                assertTrue(passages(grid) > cells - 1, "no loops with " + where);
+            }
+        }
+    }
+
+    private static Grid generate(String size, long seed, int threads, double loopRate) {
+        String[] parts = size.split("x");
+        return ParallelMazeGenerator
+                .generate(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), seed, threads, loopRate)
+                .getGrid();
+    }
+
+    private static int passableCells(Grid grid) {
+        int cells = 0;
+        for (int y = 0; y < grid.getHeight(); y++)
+            for (int x = 0; x < grid.getWidth(); x++)
+                if (grid.isPassable(x, y))
+                    cells++;
+        return cells;
+    }
+
+    // Pairs of side-by-side passable cells
+    private static int passages(Grid grid) {
+        int edges = 0;
+        for (int y = 0; y < grid.getHeight(); y++)
+            for (int x = 0; x < grid.getWidth(); x++) {
+                if (!grid.isPassable(x, y))
+                    continue;
+                if (grid.isPassable(x + 1, y))
+                    edges++;
+                if (grid.isPassable(x, y + 1))
+                    edges++;
+            }
+        return edges;
+    }
+
+    // Passable cells reachable from the start corner
+    private static int reachable(Grid grid) {
+        int width = grid.getWidth();
+        boolean[] seen = new boolean[width * grid.getHeight()];
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        seen[0] = true;
+        queue.add(grid.getNode(0, 0));
+        int count = 0;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            count++;
+            for (Node next : grid.getNeighbors(node)) {
+                if (grid.isPassable(next.x, next.y) && !seen[next.y * width + next.x]) {
+                    seen[next.y * width + next.x] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return count;
+    }
+}
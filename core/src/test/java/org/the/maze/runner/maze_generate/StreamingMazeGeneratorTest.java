@@ -0,0 +1,126 @@
+package org.the.maze.runner.maze_generate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.MazeParser;
+import org.the.maze.runner.model.Node;
+import org.the.maze.runner.model.TiledGrid;
+
+/**
+ * {@link StreamingMazeGenerator}: the text output parses to a perfect maze
+ * (one connected passage tree) and the tiled output holds the same cells.
+ * Sizes are "width x height" as asked for, so even ones are rounded up.
+ */
+class StreamingMazeGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "1x1", "2x2", "1x9", "9x1", "10x7", "31x31", "64x40", "201x3" })
+    void textIsPerfectMaze(String size) throws Exception {
+        for (long seed = 0; seed < 5; seed++) {
+            StreamingMazeGenerator generator = generator(size, seed);
+            Grid grid = MazeParser.parse(text(generator));
+            String where = size + " seed " + seed;
+
+            // Rounded up to odd, plus the border on every side
+            assertEquals(generator.getWidth() + 2, grid.getWidth(), "width of " + where);
+            assertEquals(generator.getHeight() + 2, grid.getHeight(), "height of " + where);
+            assertEquals(grid.getNode(1, 1), grid.getStartNode(), "start of " + where);
+            assertTrue(generator.getWidth() % 2 == 1 && generator.getHeight() % 2 == 1, "odd size for " + where);
+
+            int cells = 0;
+            int edges = 0;
+            for (int y = 0; y < grid.getHeight(); y++)
+                for (int x = 0; x < grid.getWidth(); x++) {
+                    boolean border = x == 0 || y == 0 || x == grid.getWidth() - 1 || y == grid.getHeight() - 1;
+                    if (border)
+                        assertTrue(grid.getNode(x, y).isWall(), "border at " + x + "," + y + " of " + where);
+                    if (!grid.isPassable(x, y))
+                        continue;
+                    cells++;
+                    if (grid.isPassable(x + 1, y))
+                        edges++;
+                    if (grid.isPassable(x, y + 1))
+                        edges++;
+                }
+            assertEquals(cells, reachable(grid, grid.getStartNode()), "connected " + where);
+            assertEquals(cells - 1, edges, "passages of " + where);
+            assertTrue(grid.isPassable(generator.getWidth(), generator.getHeight()), "goal cell of " + where);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "1x1", "2x2", "1x9", "9x1", "10x7", "31x31", "64x40", "201x3" })
+    void tiledMatchesText(String size) throws Exception {
+        for (long seed = 0; seed < 3; seed++) {
+            StreamingMazeGenerator generator = generator(size, seed);
+            Grid text = MazeParser.parse(text(generator));
+            String where = size + " seed " + seed;
+
+            try (TiledGrid tiled = generator.writeTiled(dir.resolve(size + "-" + seed + ".maze"), 8)) {
+                assertEquals(text.getWidth(), tiled.getWidth(), "width of " + where);
+                assertEquals(text.getHeight(), tiled.getHeight(), "height of " + where);
+                assertEquals(text.getStartNode(), tiled.getStartNode(), "start of " + where);
+                assertEquals(tiled.getNode(generator.getWidth(), generator.getHeight()), tiled.getEndNode(),
+                        "goal of " + where);
+                // A 1x1 maze has its goal on the start cell, written as S
+                if (text.getEndNode() != null)
+                    assertEquals(text.getEndNode(), tiled.getEndNode(), "goal of " + where);
+
+                for (int y = 0; y < text.getHeight(); y++)
+                    for (int x = 0; x < text.getWidth(); x++) {
+                        Node expected = text.getNode(x, y);
+                        String at = " at " + x + "," + y + " of " + where;
+                        assertEquals(expected.isWall(), tiled.isWall(x, y), "wall" + at);
+                        assertEquals(expected.isVoid(), tiled.isVoid(x, y), "void" + at);
+                        assertEquals(expected.getWeight(), tiled.getWeight(x, y), "weight" + at);
+                    }
+            }
+        }
+    }
+
+    private static StreamingMazeGenerator generator(String size, long seed) {
+        String[] parts = size.split("x");
+        return new StreamingMazeGenerator(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), seed);
+    }
+
+    private static String text(StreamingMazeGenerator generator) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        generator.writeText(Channels.newChannel(bytes));
+        return bytes.toString(StandardCharsets.US_ASCII);
+    }
+
+    // Passable cells reachable from start
+    private static int reachable(Grid grid, Node start) {
+        boolean[] seen = new boolean[grid.getWidth() * grid.getHeight()];
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        seen[start.y * grid.getWidth() + start.x] = true;
+        queue.add(start);
+        int count = 0;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            count++;
+            for (Node next : grid.getNeighbors(node)) {
+                int cell = next.y * grid.getWidth() + next.x;
+                if (grid.isPassable(next.x, next.y) && !seen[cell]) {
+                    seen[cell] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,81 @@
+package org.the.maze.runner.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link Grid#getDerived}: one build per type and version however many
+ * threads ask, and no stale structure after an edit made mid-build.
+ */
+class GridTest {
+
+    // Remembers which version of the grid it was built from
+    private record Snapshot(int version) {
+    }
+
+    @Test
+    void concurrentCallersShareOneBuild() throws Exception {
+        Grid grid = new Grid(8, 8);
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Snapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                results.add(pool.submit(() -> {
+                    ready.await();
+                    return grid.getDerived(Snapshot.class, g -> {
+                        builds.incrementAndGet();
+                        sleep(50);
+                        return new Snapshot(g.getVersion());
+                    });
+                }));
+            ready.countDown();
+
+            Snapshot first = results.get(0).get();
+            for (Future<Snapshot> result : results)
+                assertSame(first, result.get(), "one structure per version");
+            assertEquals(1, builds.get(), "builds");
+
+            // An edit drops it
+            grid.setWall(1, 1, true);
+            Snapshot rebuilt = grid.getDerived(Snapshot.class, g -> new Snapshot(g.getVersion()));
+            assertEquals(grid.getVersion(), rebuilt.version(), "rebuilt after edit");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void editDuringBuildIsNotServed() {
+        Grid grid = new Grid(8, 8);
+        AtomicInteger builds = new AtomicInteger();
+        Snapshot snapshot = grid.getDerived(Snapshot.class, g -> {
+            int version = g.getVersion();
+            // The first build sees the grid change under it
+            if (builds.incrementAndGet() == 1)
+                g.setWall(2, 2, true);
+            return new Snapshot(version);
+        });
+        assertEquals(2, builds.get(), "builds");
+        assertEquals(grid.getVersion(), snapshot.version(), "built from the edited grid");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
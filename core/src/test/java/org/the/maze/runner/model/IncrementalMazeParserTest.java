@@ -0,0 +1,133 @@
+package org.the.maze.runner.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.the.maze.runner.maze_generate.MazeGenerator;
+import org.the.maze.runner.maze_generate.MazePrinter;
+
+/**
+ * {@link IncrementalMazeParser}: row edits applied through parse/apply leave
+ * the grid equal to a full {@link MazeParser#parse} of the edited text, and
+ * edits that move the start or goal or resize the grid parse in full.
+ */
+class IncrementalMazeParserTest {
+
+    @Test
+    void rowEditsMatchFullParse() {
+        Random random = new Random(38);
+        for (int trial = 0; trial < 20; trial++) {
+            String[] lines = MazePrinter.toString(MazeGenerator.generate(15, 11, trial)).split("\n", -1);
+            IncrementalMazeParser parser = new IncrementalMazeParser();
+            IncrementalMazeParser.Update first = parser.parse(String.join("\n", lines));
+            assertTrue(first.isFull(), "first parse is full");
+            Grid grid = first.grid();
+
+            for (int edit = 0; edit < 30; edit++) {
+                // One to three neighbouring rows, stopping short of S or G (a span over them parses in full)
+                int row = 1 + random.nextInt(lines.length - 3);
+                int count = 1 + random.nextInt(3);
+                int rowWidth = width(lines);
+                for (int r = row; r < Math.min(lines.length - 1, row + count) && !hasEndpoint(lines[r]); r++)
+                    lines[r] = randomRow(random, rowWidth, random.nextInt(4) == 0);
+                String text = String.join("\n", lines);
+                String where = "trial " + trial + " edit " + edit;
+
+                IncrementalMazeParser.Update update = parser.parse(text);
+                assertFalse(update.isFull(), "full parse for a row edit in " + where);
+                IncrementalMazeParser.apply(grid, update);
+                assertSameCells(MazeParser.parse(text), grid, where);
+            }
+        }
+    }
+
+    @Test
+    void unchangedTextGivesEmptyUpdate() {
+        String text = MazePrinter.toString(MazeGenerator.generate(9, 9, 1));
+        IncrementalMazeParser parser = new IncrementalMazeParser();
+        Grid grid = parser.parse(text).grid();
+        int version = grid.getVersion();
+
+        IncrementalMazeParser.Update update = parser.parse(text);
+        assertFalse(update.isFull());
+        assertEquals(0, update.rows().length);
+        IncrementalMazeParser.apply(grid, update);
+        assertEquals(version, grid.getVersion(), "grid marked changed");
+    }
+
+    @Test
+    void movedEndpointOrNewSizeParsesInFull() {
+        String base = MazePrinter.toString(MazeGenerator.generate(9, 9, 2));
+        int width = width(base.split("\n"));
+        int middle = base.split("\n").length / 2;
+
+        String[] movedStart = base.replaceFirst("S", "\"1\"").split("\n", -1);
+        movedStart[middle] = "S" + movedStart[middle].substring(1);
+        assertFull(base, String.join("\n", movedStart), "start moved");
+        assertFull(base, base.replaceFirst("S", "\"1\""), "start removed");
+
+        String[] goal = base.split("\n", -1);
+        goal[middle] = randomRow(new Random(3), width, false).replaceFirst("\"\\d+\"", "G");
+        assertFull(base, String.join("\n", goal), "goal added");
+
+        String[] wider = base.split("\n", -1);
+        wider[middle] = randomRow(new Random(4), width + 1, false);
+        assertFull(base, String.join("\n", wider), "row made wider");
+
+        assertFull(base, base.trim() + "\n" + randomRow(new Random(5), width, false), "row added");
+        assertFull(base, base.trim().substring(0, base.trim().lastIndexOf('\n')), "row removed");
+    }
+
+    private static void assertFull(String before, String after, String what) {
+        IncrementalMazeParser parser = new IncrementalMazeParser();
+        parser.parse(before);
+        IncrementalMazeParser.Update update = parser.parse(after);
+        assertTrue(update.isFull(), what + " was not parsed in full");
+        assertSameCells(MazeParser.parse(after), update.grid(), what);
+    }
+
+    private static void assertSameCells(Grid expected, Grid actual, String where) {
+        assertEquals(expected.getWidth(), actual.getWidth(), "width in " + where);
+        assertEquals(expected.getHeight(), actual.getHeight(), "height in " + where);
+        assertEquals(expected.getStartNode(), actual.getStartNode(), "start in " + where);
+        assertEquals(expected.getEndNode(), actual.getEndNode(), "goal in " + where);
+        for (int y = 0; y < expected.getHeight(); y++)
+            for (int x = 0; x < expected.getWidth(); x++) {
+                Node e = expected.getNode(x, y);
+                Node a = actual.getNode(x, y);
+                String at = " at " + x + "," + y + " in " + where;
+                assertEquals(e.isWall(), a.isWall(), "wall" + at);
+                assertEquals(e.isVoid(), a.isVoid(), "void" + at);
+                assertEquals(e.getWeight(), a.getWeight(), "weight" + at);
+            }
+    }
+
+    // Walls and weights; short rows stop early, which the parser pads with void cells
+    private static String randomRow(Random random, int width, boolean shorter) {
+        int tokens = shorter ? 1 + random.nextInt(width) : width;
+        StringBuilder row = new StringBuilder();
+        for (int x = 0; x < tokens; x++) {
+            if (random.nextInt(3) == 0)
+                row.append('#');
+            else
+                row.append('"').append(1 + random.nextInt(12)).append('"');
+        }
+        return row.toString();
+    }
+
+    // Tokens in the widest row
+    private static int width(String[] lines) {
+        int width = 0;
+        for (String line : lines)
+            width = Math.max(width, line.replaceAll("\"\\d+\"", "w").length());
+        return width;
+    }
+
+    private static boolean hasEndpoint(String line) {
+        return line.indexOf('S') >= 0 || line.indexOf('G') >= 0;
+    }
+}
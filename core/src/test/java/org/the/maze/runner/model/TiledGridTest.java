@@ -0,0 +1,208 @@
+package org.the.maze.runner.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.the.maze.runner.algorithm.AlgorithmUtils;
+import org.the.maze.runner.algorithm.PathFindingAlgorithm;
+import org.the.maze.runner.maze_generate.MazeGenerator;
+
+/**
+ * {@link TiledGrid}: the file header and cells survive a reopen, tiles are
+ * evicted least recently used first but never while a thread is in them,
+ * and solvers find the same paths as on the in-memory grid it was copied
+ * from.
+ */
+class TiledGridTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void headerRoundTripsThroughOpen() throws Exception {
+        Grid source = MazeGenerator.generate(21, 13, 33).getGrid();
+        source.setStartNode(source.getNode(1, 0));
+        source.setEndNode(source.getNode(19, 12));
+        Path file = dir.resolve("round-trip.maze");
+        try (TiledGrid grid = TiledGrid.copyOf(source, file, 8, 2)) {
+            grid.setWall(3, 4, true);
+            source.setWall(3, 4, true);
+        }
+
+        try (TiledGrid grid = TiledGrid.open(file, 2)) {
+            assertEquals(21, grid.getWidth());
+            assertEquals(13, grid.getHeight());
+            assertEquals(source.getStartNode(), grid.getStartNode());
+            assertEquals(source.getEndNode(), grid.getEndNode());
+            assertTrue(grid.getNode(1, 0).isStart(), "start flag on its cell");
+            assertTrue(grid.getNode(19, 12).isEnd(), "end flag on its cell");
+            for (int y = 0; y < 13; y++)
+                for (int x = 0; x < 21; x++) {
+                    Node expected = source.getNode(x, y);
+                    String where = " at " + x + "," + y;
+                    assertEquals(expected.getWeight(), grid.getWeight(x, y), "weight" + where);
+                    assertEquals(expected.isWall(), grid.isWall(x, y), "wall" + where);
+                    assertEquals(expected.isVoid(), grid.isVoid(x, y), "void" + where);
+                }
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedTileIsEvicted() throws Exception {
+        Path file = dir.resolve("lru.maze");
+        try (TiledGrid grid = TiledGrid.create(file, 8, 8, 4, 2)) {
+            fillTileCorners(grid);
+        }
+
+        try (TiledGrid grid = TiledGrid.open(file, 2)) {
+            // Tiles A (0,0), B (4,0), C (0,4): A B A C leaves B as the eldest
+            assertEquals(1, grid.getWeight(0, 0));
+            assertEquals(2, grid.getWeight(4, 0));
+            assertEquals(1, grid.getWeight(0, 0));
+            assertEquals(3, grid.getWeight(0, 4));
+            assertEquals(3, grid.getTileMisses());
+            assertEquals(1, grid.getTileHits());
+
+            assertEquals(1, grid.getWeight(0, 0));
+            assertEquals(2, grid.getWeight(4, 0));
+            assertEquals(4, grid.getTileMisses(), "B was evicted");
+            assertEquals(2, grid.getTileHits(), "A was kept");
+            assertTrue(grid.getCachedTileCount() <= 2, "cached " + grid.getCachedTileCount());
+
+            assertEquals(3, grid.getWeight(0, 4));
+            assertEquals(5, grid.getTileMisses(), "C was evicted");
+        }
+    }
+
+    @Test
+    void pinnedTileSurvivesEviction() throws Exception {
+        Path file = dir.resolve("pinned.maze");
+        try (TiledGrid grid = TiledGrid.create(file, 8, 8, 4, 2)) {
+            fillTileCorners(grid);
+        }
+
+        try (TiledGrid grid = TiledGrid.open(file, 1)) {
+            CountDownLatch pinned = new CountDownLatch(1);
+            CountDownLatch cycled = new CountDownLatch(1);
+            AtomicReference<Object> secondRead = new AtomicReference<>();
+            Thread reader = new Thread(() -> {
+                try {
+                    grid.getWeight(0, 0);
+                    pinned.countDown();
+                    cycled.await();
+                    secondRead.set(grid.getWeight(1, 1)); // still tile A, no lock taken
+                } catch (Throwable e) {
+                    secondRead.set(e);
+                }
+            });
+            reader.start();
+            pinned.await();
+
+            // Every other tile, with room for one: A must stay mapped for the reader
+            for (int round = 0; round < 3; round++) {
+                assertEquals(2, grid.getWeight(4, 0));
+                assertEquals(3, grid.getWeight(0, 4));
+                assertEquals(4, grid.getWeight(4, 4));
+            }
+            cycled.countDown();
+            reader.join();
+            assertEquals(5, secondRead.get(), "reader's second read of its pinned tile");
+
+            long misses = grid.getTileMisses();
+            assertEquals(1, grid.getWeight(0, 0));
+            assertEquals(misses, grid.getTileMisses(), "A was unmapped while pinned");
+        }
+    }
+
+    @Test
+    void solversAgreeWithInMemoryGrid() throws Exception {
+        for (long seed = 0; seed < 6; seed++) {
+            Grid source = openedMaze(41, seed);
+            Random random = new Random(seed);
+            try (TiledGrid tiled = TiledGrid.copyOf(source, dir.resolve("solve-" + seed + ".maze"), 16, 4)) {
+                for (int q = 0; q < 4; q++) {
+                    Node start = passableCell(source, random);
+                    Node end = passableCell(source, random);
+                    String where = "seed " + seed + " " + start + " -> " + end;
+
+                    List<Node> bfs = AlgorithmUtils.byName("bfs").findPath(source, start, end);
+                    List<Node> tiledBfs = AlgorithmUtils.byName("bfs").findPath(tiled, start, end);
+                    assertNull(invalid(source, tiledBfs, start, end, bfs.isEmpty()), "bfs on " + where);
+                    assertEquals(bfs.size(), tiledBfs.size(), "bfs steps on " + where);
+
+                    for (String name : new String[] { "astar", "dijkstra", "jps" }) {
+                        PathFindingAlgorithm heap = AlgorithmUtils.byName(name);
+                        PathFindingAlgorithm offHeap = AlgorithmUtils.byName(name);
+                        List<Node> expected = heap.findPath(source, start, end);
+                        List<Node> actual = offHeap.findPath(tiled, start, end);
+                        assertNull(invalid(source, actual, start, end, expected.isEmpty()), name + " on " + where);
+                        assertEquals(cost(source, expected), cost(source, actual), name + " cost on " + where);
+                    }
+                }
+            }
+        }
+    }
+
+    // Cell weights 1..4 in the four 4x4 tiles (reading order), 5 at (1,1)
+    private static void fillTileCorners(TiledGrid grid) {
+        for (int y = 0; y < 8; y++)
+            for (int x = 0; x < 8; x++)
+                grid.setCell(x, y, 1 + x / 4 + 2 * (y / 4), false, false);
+        grid.setCell(1, 1, 5, false, false);
+    }
+
+    // A generated maze with a fifth of its walls knocked out and random weights, so paths differ by cost
+    private static Grid openedMaze(int size, long seed) {
+        Grid grid = MazeGenerator.generate(size, size, seed).getGrid();
+        Random random = new Random(~seed);
+        for (int y = 0; y < size; y++)
+            for (int x = 0; x < size; x++) {
+                Node node = grid.getNode(x, y);
+                if (node.isWall() && random.nextInt(5) == 0)
+                    node.setWall(false);
+                if (!node.isWall())
+                    node.setWeight(random.nextInt(9) + 1);
+            }
+        return grid;
+    }
+
+    private static Node passableCell(Grid grid, Random random) {
+        while (true) {
+            Node node = grid.getNode(random.nextInt(grid.getWidth()), random.nextInt(grid.getHeight()));
+            if (grid.isPassable(node.x, node.y))
+                return node;
+        }
+    }
+
+    // Null when path is a walk of passable neighbours from start to end (or empty when it should be)
+    private static String invalid(Grid grid, List<Node> path, Node start, Node end, boolean expectEmpty) {
+        if (expectEmpty)
+            return path.isEmpty() ? null : "path to an unreachable goal";
+        if (path.isEmpty() || !path.get(0).equals(start) || !path.get(path.size() - 1).equals(end))
+            return "does not run from start to goal: " + path;
+        for (int i = 1; i < path.size(); i++) {
+            Node a = path.get(i - 1);
+            Node b = path.get(i);
+            if (Math.abs(a.x - b.x) + Math.abs(a.y - b.y) != 1 || !grid.isPassable(b.x, b.y))
+                return "bad step " + a + " -> " + b;
+        }
+        return null;
+    }
+
+    // Sum of the weights of the entered cells
+    private static long cost(Grid grid, List<Node> path) {
+        long total = 0;
+        for (int i = 1; i < path.size(); i++)
+            total += grid.getWeight(path.get(i).x, path.get(i).y);
+        return total;
+    }
+}
@@ -0,0 +1,211 @@
+package org.the.maze.runner.render;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.the.maze.runner.algorithm.AlgorithmUtils;
+import org.the.maze.runner.maze_generate.MazeGenerator;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.Node;
+
+/**
+ * {@link MazeImageExporter}: the PNG inflates (zlib checksum included) to
+ * exactly the {@link MazeRaster#cellColor} of every cell, whatever the
+ * stripe height, cell size and thread count, tiles cover the maze the same
+ * way, and the combined Adler-32 of two parts equals that of the whole.
+ */
+class MazeImageExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pixelsMatchCellColors() throws Exception {
+        Grid grid = solvedMaze(23, 17, 45);
+        BitSet path = path(grid);
+        // Stripes of one row, a few rows, not dividing the height, and taller than the maze
+        for (int stripeCells : new int[] { 1, 4, 5, 64 })
+            for (int cellSize : new int[] { 1, 2, 3 })
+                for (int threads : new int[] { 1, 4 }) {
+                    String where = "stripes of " + stripeCells + ", cells of " + cellSize + ", " + threads
+                            + " threads";
+                    Path file = dir.resolve(stripeCells + "-" + cellSize + "-" + threads + ".png");
+                    MazeImageExporter.writePng(grid, path, file,
+                            new MazeImageExporter.Options(cellSize, 0, stripeCells, threads));
+                    assertPixels(grid, path, 0, 0, grid.getWidth(), grid.getHeight(), cellSize, decode(file, where),
+                            where);
+                }
+    }
+
+    @Test
+    void tilesMatchCellColors() throws Exception {
+        Grid grid = solvedMaze(23, 17, 46);
+        BitSet path = path(grid);
+        int tileCells = 8;
+        int tiles = MazeImageExporter.writeTiles(grid, path, dir.resolve("tiles"), tileCells,
+                new MazeImageExporter.Options(2, 0, 3, 2));
+        assertEquals(3 * 3, tiles);
+
+        for (int row = 0; row < 3; row++)
+            for (int col = 0; col < 3; col++) {
+                String where = "tile " + row + "," + col;
+                int[][] pixels = decode(dir.resolve("tiles").resolve("tile_" + row + "_" + col + ".png"), where);
+                int x0 = col * tileCells;
+                int y0 = row * tileCells;
+                assertPixels(grid, path, x0, y0, Math.min(tileCells, grid.getWidth() - x0),
+                        Math.min(tileCells, grid.getHeight() - y0), 2, pixels, where);
+            }
+    }
+
+    @Test
+    void combinedAdlerMatchesWholeInput() {
+        Random random = new Random(45);
+        // Lengths past 65521 (the Adler modulus) as well as empty parts
+        int[] lengths = { 0, 1, 7, 1000, 65520, 65521, 65522, 200_000 };
+        for (int a : lengths)
+            for (int b : lengths) {
+                byte[] first = new byte[a];
+                byte[] second = new byte[b];
+                random.nextBytes(first);
+                random.nextBytes(second);
+                // All-0xFF input drives both sums up to the modulus fastest
+                if (random.nextBoolean())
+                    Arrays.fill(second, (byte) 0xFF);
+
+                Adler32 whole = new Adler32();
+                whole.update(first);
+                whole.update(second);
+                assertEquals(whole.getValue(), MazeImageExporter.combineAdler(adler(first), adler(second), b),
+                        a + " then " + b + " bytes");
+            }
+    }
+
+    private static void assertPixels(Grid grid, BitSet path, int x0, int y0, int w, int h, int cellSize,
+            int[][] pixels, String where) {
+        assertEquals(h * cellSize, pixels.length, "image height for " + where);
+        for (int py = 0; py < pixels.length; py++) {
+            assertEquals(w * cellSize, pixels[py].length, "image width for " + where);
+            for (int px = 0; px < pixels[py].length; px++) {
+                int x = x0 + px / cellSize;
+                int y = y0 + py / cellSize;
+                int expected = MazeRaster.cellColor(grid, x, y, path.get(y * grid.getWidth() + x)) & 0xFFFFFF;
+                assertEquals(expected, pixels[py][px], "pixel " + px + "," + py + " for " + where);
+            }
+        }
+    }
+
+    /**
+     * RGB pixels of an 8-bit RGB PNG, checking chunk CRCs and the zlib
+     * Adler-32 along the way. Only the None and Sub row filters, which is
+     * all the exporter writes.
+     */
+    private static int[][] decode(Path file, String where) throws Exception {
+        int width = 0;
+        int height = 0;
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] signature = new byte[8];
+            in.readFully(signature);
+            assertArrayEquals(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' }, signature,
+                    "signature of " + where);
+
+            while (true) {
+                int length = in.readInt();
+                byte[] type = new byte[4];
+                in.readFully(type);
+                byte[] body = new byte[length];
+                in.readFully(body);
+                CRC32 crc = new CRC32();
+                crc.update(type);
+                crc.update(body);
+                String name = new String(type, StandardCharsets.US_ASCII);
+                assertEquals((int) crc.getValue(), in.readInt(), name + " CRC of " + where);
+
+                if (name.equals("IHDR")) {
+                    DataInputStream header = new DataInputStream(new ByteArrayInputStream(body));
+                    width = header.readInt();
+                    height = header.readInt();
+                    assertEquals(8, header.readByte(), "bit depth of " + where);
+                    assertEquals(2, header.readByte(), "colour type of " + where);
+                } else if (name.equals("IDAT")) {
+                    idat.write(body);
+                } else if (name.equals("IEND")) {
+                    break;
+                }
+            }
+        }
+
+        int rowBytes = 1 + width * 3;
+        byte[] raw = new byte[height * rowBytes];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(idat.toByteArray());
+            int n = 0;
+            while (n < raw.length && !inflater.finished())
+                n += inflater.inflate(raw, n, raw.length - n);
+            assertEquals(raw.length, n, "inflated bytes of " + where);
+            // Reading on to the end makes the inflater check the stream's Adler-32
+            assertEquals(0, inflater.inflate(new byte[1]), "data past the image in " + where);
+            assertTrue(inflater.finished(), "zlib stream not finished in " + where);
+        } finally {
+            inflater.end();
+        }
+
+        int[][] pixels = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            int filter = raw[y * rowBytes];
+            assertTrue(filter == 0 || filter == 1, "filter " + filter + " on row " + y + " of " + where);
+            int[] left = new int[3];
+            for (int x = 0; x < width; x++) {
+                int color = 0;
+                for (int c = 0; c < 3; c++) {
+                    int value = raw[y * rowBytes + 1 + x * 3 + c] & 0xFF;
+                    if (filter == 1)
+                        value = (value + left[c]) & 0xFF;
+                    left[c] = value;
+                    color = color << 8 | value;
+                }
+                pixels[y][x] = color;
+            }
+        }
+        return pixels;
+    }
+
+    // Start and goal in the corners the generator keeps open
+    private static Grid solvedMaze(int width, int height, long seed) {
+        Grid grid = MazeGenerator.generate(width, height, seed).getGrid();
+        grid.setStartNode(grid.getNode(0, 0));
+        grid.setEndNode(grid.getNode(width - 1, height - 1));
+        return grid;
+    }
+
+    private static BitSet path(Grid grid) {
+        BitSet path = new BitSet();
+        for (Node n : AlgorithmUtils.byName("bfs").findPath(grid, grid.getStartNode(), grid.getEndNode()))
+            path.set(n.y * grid.getWidth() + n.x);
+        assertTrue(path.cardinality() > 2, "no path through the maze");
+        return path;
+    }
+
+    private static long adler(byte[] bytes) {
+        Adler32 adler = new Adler32();
+        adler.update(bytes);
+        return adler.getValue();
+    }
+}
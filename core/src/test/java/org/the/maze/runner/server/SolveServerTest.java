@@ -0,0 +1,102 @@
+package org.the.maze.runner.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.the.maze.runner.maze_generate.MazeGenerator;
+import org.the.maze.runner.maze_generate.MazePrinter;
+
+/**
+ * Talks to a {@link SolveServer} over loopback: a solved maze gives 200, bad
+ * requests 400, a budget shorter than the batch window 504, and concurrent
+ * queries on the same maze text share one batch.
+ */
+class SolveServerTest {
+
+    // Long enough for concurrent test requests to land in one batch
+    private static final long BATCH_WINDOW_MILLIS = 200;
+
+    private static SolveServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new SolveServer(0, 16, 5_000, BATCH_WINDOW_MILLIS);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.stop();
+    }
+
+    @Test
+    void solvesMaze() throws Exception {
+        HttpResponse<String> response = post("algorithm=astar", maze(1));
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(response.body().contains("\"found\":true"), response.body());
+        assertTrue(response.body().contains("\"algorithm\":\"astar\""), response.body());
+    }
+
+    @Test
+    void rejectsBadRequests() throws Exception {
+        String maze = maze(2);
+        assertEquals(400, post("algorithm=astar", "").statusCode(), "empty maze");
+        assertEquals(400, post("budgetMs=0", maze).statusCode(), "zero budget");
+        assertEquals(400, post("budgetMs=-5", maze).statusCode(), "negative budget");
+        assertEquals(400, post("budgetMs=soon", maze).statusCode(), "budget not a number");
+        assertEquals(400, post("start=1", maze).statusCode(), "start without y");
+        assertEquals(400, post("algorithm=no-such-solver", maze).statusCode(), "unknown algorithm");
+        // The border of a printed maze is all wall
+        assertEquals(400, post("goal=0,0", maze).statusCode(), "goal on a wall");
+    }
+
+    @Test
+    void budgetShorterThanBatchWindowTimesOut() throws Exception {
+        HttpResponse<String> response = post("budgetMs=20", maze(3));
+        assertEquals(504, response.statusCode(), response.body());
+    }
+
+    @Test
+    void identicalMazesShareBatch() throws Exception {
+        String maze = maze(4);
+        CompletableFuture<HttpResponse<String>> first = postAsync("algorithm=astar", maze);
+        CompletableFuture<HttpResponse<String>> second = postAsync("algorithm=bfs", maze);
+        CompletableFuture<HttpResponse<String>> other = postAsync("algorithm=astar", maze(5));
+
+        for (HttpResponse<String> response : List.of(first.get(), second.get())) {
+            assertEquals(200, response.statusCode(), response.body());
+            assertTrue(response.body().contains("\"batchSize\":2"), response.body());
+        }
+        assertEquals(200, other.get().statusCode(), other.get().body());
+        assertTrue(other.get().body().contains("\"batchSize\":1"), other.get().body());
+    }
+
+    private static String maze(long seed) {
+        return MazePrinter.toString(MazeGenerator.generate(21, 21, seed));
+    }
+
+    private static HttpResponse<String> post(String query, String body) throws Exception {
+        return postAsync(query, body).get();
+    }
+
+    private static CompletableFuture<HttpResponse<String>> postAsync(String query, String body) {
+        HttpRequest request = HttpRequest
+                .newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/solve?" + query))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,30 @@
+package org.the.maze.runner.benchmark;
+
+import java.util.BitSet;
+
+import org.the.maze.runner.maze_generate.ParallelMazeGenerator;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.render.MazeRaster;
+
+/**
+ * Times building the zoomed-out overview of a large maze: the first mipmap
+ * level straight from the cells, then each coarser level from the one below.
+ *
+ * Usage: RasterBenchmark [size]
+ */
+public class RasterBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2001;
+        Grid grid = ParallelMazeGenerator.generate(size, size, 42, Runtime.getRuntime().availableProcessors())
+                .getGrid();
+        MazeRaster raster = new MazeRaster(grid, new BitSet());
+
+        for (int level = 1; level <= raster.maxLevel(); level++) {
+            long t0 = System.nanoTime();
+            raster.level(level);
+            System.out.printf("level %2d  %5dx%-5d  %6d us%n", level, raster.levelWidth(level),
+                    raster.levelHeight(level), (System.nanoTime() - t0) / 1_000);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.the.maze.runner;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.the.maze.runner.controller.ScreenController;
+import org.the.maze.runner.model.Grid;
+
+import javafx.application.Application;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+public class App extends Application {
+
+    // Screens loaded in the background while the main menu is up
+    private static final String[] PRELOADED_VIEWS = { "input-view", "maze-solve" };
+
+    private static Stage primaryStage;
+    private static Scene scene;
+    private static Grid gridStore;
+
+    // Each FXML view is loaded once and kept, with its controller
+    private record View(Parent root, Object controller) {
+    }
+
+    private static final Map<String, CompletableFuture<View>> views = new ConcurrentHashMap<>();
+    private static final Executor preloader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "view-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static Stage getPrimaryStage() {
+        return primaryStage;
+    }
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        System.out.println(App.class.getResource("main-view.fxml"));
+
+        primaryStage = stage;
+        setRoot("main-view");
+        stage.setTitle("The Maze Runner lnwza");
+        stage.show();
+
+        // Views not yet attached to a scene can be built off the FX thread
+        for (String fxml : PRELOADED_VIEWS)
+            views.computeIfAbsent(fxml, name -> CompletableFuture.supplyAsync(() -> load(name), preloader));
+    }
+
+    public static void setRoot(String fxml) {
+        try {
+            View view;
+            try {
+                view = views.computeIfAbsent(fxml, name -> CompletableFuture.completedFuture(load(name))).join();
+            } catch (CompletionException e) {
+                // Background load failed: retry here on the FX thread
+                System.err.println("Preloading " + fxml + " failed, loading it now: " + e.getCause());
+                view = load(fxml);
+                views.put(fxml, CompletableFuture.completedFuture(view));
+            }
+
+            // One scene for the whole app, only its root changes
+            if (scene == null) {
+                double width = 1080;
+                double height = 600;
+                scene = new Scene(view.root(), width, height);
+                primaryStage.setScene(scene);
+            } else {
+                scene.setRoot(view.root());
+            }
+
+            if (view.controller() instanceof ScreenController screen)
+                screen.onShow();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static View load(String fxml) {
+        try {
+            FXMLLoader loader = new FXMLLoader(App.class.getResource(fxml + ".fxml"));
+            Parent root = loader.load();
+            return new View(root, loader.getController());
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    // -----------------------------
+    // DATA PASSING BETWEEN PAGES
+    // -----------------------------
+    // The parsed grid is handed over as is, so the solve screen does not parse again
+    public static void setGrid(Grid grid) {
+        gridStore = grid;
+    }
+
+    public static Grid getGrid() {
+        return gridStore;
+    }
+}
@@ -0,0 +1,163 @@
+package org.the.maze.runner.controller;
+
+import org.the.maze.runner.App;
+import org.the.maze.runner.algorithm.*;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.ui.GridView;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+public class GridController implements ScreenController {
+
+    // Maze Visualize, Using javafx Pane to store 2D tiles
+    @FXML
+    private Pane gridPane;
+
+    // Pareto front legend: one line per path, shown while a front is on screen
+    @FXML
+    private ScrollPane frontPane;
+    @FXML
+    private VBox frontList;
+
+    // The class to build javafx pane
+    private GridView gridView;
+
+    // Define tile size for visualization
+    private static final int maxWidth = 478;
+    private static final int maxHeight = 478;
+
+    // Search replay: shared event log and how fast it is played back
+    private static final int TRACE_CAPACITY = 1 << 22;
+    private static final double TRACE_EVENTS_PER_SECOND = 3000;
+    private SearchTrace trace;
+
+    // Grid on screen and its version, to skip redrawing an unchanged maze
+    private Grid shownGrid;
+    private int shownVersion;
+
+    // Intialize when load scene
+    @FXML
+    public void initialize() {
+        // Intialize grid view class size
+        this.gridView = new GridView(maxWidth, maxHeight);
+    }
+
+    // Called each time the (cached) solve screen is shown
+    @Override
+    public void onShow() {
+        // Load maze from previous step, Then build maze grid
+        Grid grid = App.getGrid();
+        if (grid == null || (grid == shownGrid && grid.getVersion() == shownVersion))
+            return;
+
+        shownGrid = grid;
+        shownVersion = grid.getVersion();
+        Pane initialVisualization = gridView.draw(grid);
+        updateVisualizationPane(initialVisualization);
+    }
+
+    // Set screen size
+    private void updateVisualizationPaneScreen(int weidth, int height) {
+        gridView.setScreen(weidth, height);
+    }
+
+    // Update Pane with new Pane
+    private void updateVisualizationPane(Pane newPane) {
+        if (gridPane == null) {
+            System.err.println("Error: FXML gridPane container is null.");
+            return;
+        }
+
+        // 1. Clear all existing children from the container
+        gridPane.getChildren().clear();
+
+        // 2. Add the new Pane containing the visualization
+        gridPane.getChildren().add(newPane);
+
+        // 3. Any front legend belonged to the previous view
+        showFrontList(false);
+    }
+
+    private void showFrontList(boolean show) {
+        if (frontPane == null)
+            return;
+        if (!show)
+            frontList.getChildren().clear();
+        frontPane.setVisible(show);
+        frontPane.setManaged(show);
+    }
+
+    // Steps and weight of a front path, next to a swatch of its colour on the maze
+    private void listFrontPath(ParetoFrontAlgorithm.ParetoPath path, Color color) {
+        if (frontPane == null)
+            return;
+        Label line = new Label(path.steps() + " steps, weight " + path.weight(), new Rectangle(12, 12, color));
+        line.setStyle("-fx-text-fill: #EEE; -fx-font-size: 14px;");
+        frontList.getChildren().add(line);
+        showFrontList(true);
+    }
+
+    // --- Algorithm Runners ---
+    @FXML
+    public void runBFS() {
+        Pane pathVisualization = gridView.drawPath(new BFSAlgorithm());
+        updateVisualizationPane(pathVisualization);
+    }
+
+    @FXML
+    public void runDijkstra() {
+        Pane pathVisualization = gridView.drawPath(new DijkstraAlgorithm());
+        updateVisualizationPane(pathVisualization);
+    }
+
+    @FXML
+    public void runAStar() {
+        Pane pathVisualization = gridView.drawPath(new AStarAlgorithm());
+        updateVisualizationPane(pathVisualization);
+    }
+
+    // Every steps/weight trade-off, drawn as each path is found
+    @FXML
+    public void runPareto() {
+        Pane pathVisualization = gridView.drawParetoFront(new ParetoFrontAlgorithm(), this::listFrontPath);
+        updateVisualizationPane(pathVisualization);
+    }
+
+    // --- Search Replays ---
+    @FXML
+    public void traceBFS() {
+        BFSAlgorithm bfs = new BFSAlgorithm();
+        bfs.setTrace(getTrace());
+        updateVisualizationPane(gridView.animateSearch(bfs, trace, TRACE_EVENTS_PER_SECOND));
+    }
+
+    @FXML
+    public void traceAStar() {
+        AStarAlgorithm aStar = new AStarAlgorithm();
+        aStar.setTrace(getTrace());
+        updateVisualizationPane(gridView.animateSearch(aStar, trace, TRACE_EVENTS_PER_SECOND));
+    }
+
+    // Allocated on first use only
+    private SearchTrace getTrace() {
+        if (trace == null)
+            trace = new SearchTrace(TRACE_CAPACITY);
+        return trace;
+    }
+
+    // Go back to main page
+    public void goBack() {
+        App.setRoot("main-view");
+    }
+
+    // Go back to input page for new maze input
+    public void goInitialize() {
+        App.setRoot("input-view");
+    }
+}
\ No newline at end of file
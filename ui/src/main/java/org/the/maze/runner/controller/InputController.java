@@ -1,21 +1,29 @@
 package org.the.maze.runner.controller;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.Pane;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.the.maze.runner.App;
+import org.the.maze.runner.cache.MazeCache;
 import org.the.maze.runner.maze_generate.Maze;
 import org.the.maze.runner.maze_generate.MazeGenerator;
 import org.the.maze.runner.maze_generate.MazePrinter;
+import org.the.maze.runner.model.Grid;
+import org.the.maze.runner.model.IncrementalMazeParser;
 import org.the.maze.runner.ui.GridView;
 
 public class InputController {
@@ -43,18 +51,51 @@ public class InputController {
     private static final int maxWidth = 300;
     private static final int maxHeight = 300;
 
+    // Quiet time after the last keystroke before the text is re-parsed
+    private static final Duration EDIT_DEBOUNCE = Duration.millis(120);
+
+    // Parsing runs on this thread; its results are applied on the FX thread in order
+    private final ExecutorService parser = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "maze-input-parser");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Full parses are shared with MazeCache, so solving the shown grid can reuse cached paths
+    private final IncrementalMazeParser incrementalParser = new IncrementalMazeParser(MazeCache.shared()::getGrid);
+    private final PauseTransition editPause = new PauseTransition(EDIT_DEBOUNCE);
+
+    // Grid currently shown, edited in place by row updates (FX thread only)
+    private Grid grid;
+
     // Intialize when load scene
     @FXML
     public void initialize() {
         // Intialize grid view class size
         this.gridView = new GridView(maxWidth, maxHeight);
 
-        // Listen for text changes in the input TextArea
-        mazeInputArea.textProperty().addListener((observable, oldValue, newValue) -> {
+        // Listen for text changes in the input TextArea, re-parsing once typing pauses
+        editPause.setOnFinished(e -> submitParse(mazeInputArea.getText()));
+        mazeInputArea.textProperty().addListener((observable, oldValue, newValue) -> editPause.playFromStart());
+    }
+
+    // Parse off the FX thread, then redraw only what changed
+    private void submitParse(String text) {
+        parser.execute(() -> {
+            IncrementalMazeParser.Update update = incrementalParser.parse(text);
+            Platform.runLater(() -> applyUpdate(update));
+        });
+    }
+
+    private void applyUpdate(IncrementalMazeParser.Update update) {
+        if (update.isFull()) {
             // Build and Update gride Pane
-            Pane initialVisualization = gridView.draw(newValue);
+            grid = update.grid();
+            Pane initialVisualization = gridView.draw(grid);
             updateVisualizationPane(initialVisualization);
-        });
+        } else if (grid != null && update.rows().length > 0) {
+            IncrementalMazeParser.apply(grid, update);
+            gridView.repaintRows(update.firstRow(), update.lastRow());
+        }
     }
 
     // Set screen size
@@ -183,17 +224,26 @@ public class InputController {
     // Go continue to solve page
     @FXML
     private void onContinue() {
-        String mazeText = mazeInputArea.getText().trim();
+        String mazeText = mazeInputArea.getText();
 
-        if (mazeText.isEmpty()) {
+        if (mazeText.trim().isEmpty()) {
             System.out.println("Maze is empty!");
             return;
         }
 
-        // Pass data to another controller
-        App.setMaze(mazeText);
+        // Bring the grid up to date with the text (usually nothing left to parse)
+        editPause.stop();
+        parser.execute(() -> {
+            IncrementalMazeParser.Update update = incrementalParser.parse(mazeText);
+            Platform.runLater(() -> {
+                applyUpdate(update);
+
+                // Pass the parsed grid to another controller
+                App.setGrid(grid);
 
-        // Load next page
-        App.setRoot("maze-solve");
+                // Load next page
+                App.setRoot("maze-solve");
+            });
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package org.the.maze.runner.controller;
+
+// Controllers of cached views that need to refresh each time their screen is shown
+public interface ScreenController {
+
+    void onShow();
+}
@@ -0,0 +1,511 @@
+package org.the.maze.runner.ui;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.the.maze.runner.algorithm.*;
+import org.the.maze.runner.cache.MazeCache;
+import org.the.maze.runner.model.*;
+import org.the.maze.runner.render.MazeRaster;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Draws a maze (and a solved path) on a single Canvas viewport with zoom
+ * (mouse wheel) and pan (drag).
+ *
+ * Only the cells inside the viewport are drawn. Zoomed in, each visible cell
+ * is a filled square, with borders and weight labels once they are big
+ * enough to read. Zoomed out past one cell per pixel, the view is copied from
+ * a {@link MazeRaster} mipmap level instead, so the cost of a frame depends
+ * on the viewport size and not on the maze size. Nothing is redrawn except on
+ * scroll, drag or a new maze/path.
+ */
+public class GridView {
+
+    /** Receives each Pareto front path on the FX thread, with the colour it is drawn in. */
+    public interface FrontPathListener {
+        void onPath(ParetoFrontAlgorithm.ParetoPath path, Color color);
+    }
+
+    // Zoom limits and level-of-detail thresholds, in pixels per cell
+    private static final double MAX_SCALE = 64;
+    private static final double CELL_SCALE = 4;
+    private static final double BORDER_SCALE = 8;
+    private static final double LABEL_SCALE = 15;
+    private static final double ZOOM_PER_WHEEL_UNIT = 1.0015;
+
+    private static final Color BACKGROUND = Color.web("#1e1e1e");
+    private static final Color TRACE_OPEN = Color.web("#b3e5fc");
+    private static final Color TRACE_CLOSE = Color.web("#4fc3f7");
+
+    // Maze Grid data store
+    private Grid grid;
+    private BitSet pathCells = new BitSet();
+    private MazeRaster raster;
+
+    // Maze Screen Size
+    private int maxWidth;
+    private int maxHeight;
+
+    // Viewport: pixels per cell, and the cell coordinate shown at the top-left corner
+    private final Pane viewPane = new Pane();
+    private final Canvas canvas = new Canvas();
+    private double scale = 1;
+    private double originX;
+    private double originY;
+    private double dragX;
+    private double dragY;
+
+    // Search replay: events [0, replayed) of the trace are painted over the maze
+    private SearchTrace replay;
+    private int replayed;
+    private AnimationTimer animation;
+
+    // Background Pareto front search feeding the view; results of older runs are dropped
+    private Thread frontSearch;
+    private int frontRun;
+    // Colour (ARGB) of each cell on a front path shown, later (lighter) paths on top
+    private final Map<Integer, Integer> frontColors = new HashMap<>();
+    private int frontPaths;
+
+    // Scratch image for the raster path, reused while it is big enough
+    private WritableImage frame;
+    private int[] framePixels = new int[0];
+
+    // Initialail Class
+    public GridView(int maxWidth, int maxHeight) {
+        viewPane.getChildren().add(canvas);
+        setScreen(maxWidth, maxHeight);
+
+        canvas.setOnScroll(e -> {
+            zoomAt(e.getX(), e.getY(), Math.pow(ZOOM_PER_WHEEL_UNIT, e.getDeltaY()));
+            e.consume();
+        });
+        canvas.setOnMousePressed(e -> {
+            dragX = e.getX();
+            dragY = e.getY();
+        });
+        canvas.setOnMouseDragged(e -> {
+            originX -= (e.getX() - dragX) / scale;
+            originY -= (e.getY() - dragY) / scale;
+            dragX = e.getX();
+            dragY = e.getY();
+            clampView();
+            render();
+        });
+    }
+
+    // Set Screen size
+    public void setScreen(int maxWidth, int maxHeight) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        canvas.setWidth(maxWidth);
+        canvas.setHeight(maxHeight);
+        if (grid != null) {
+            clampView();
+            render();
+        }
+    }
+
+    // Show a parsed grid (from MazeCache, so solved paths can be reused)
+    public Pane draw(Grid newGrid) {
+        stopReplay();
+
+        grid = newGrid;
+        pathCells = new BitSet();
+        raster = new MazeRaster(grid, pathCells);
+        frontColors.clear();
+
+        // New maze: start fully zoomed out
+        scale = fitScale();
+        clampView();
+        render();
+
+        return viewPane;
+    }
+
+    public Pane drawPath(PathFindingAlgorithm algorithm) {
+        // If it has no maze grid and algorith, path==null
+        if (algorithm == null || grid == null)
+            return viewPane;
+
+        // Get start/end nodes from the model
+        Node start = grid.getStartNode();
+        Node end = grid.getEndNode();
+
+        // Prevent maze solve conflict
+        if (start == null || end == null) {
+            System.err.println("Start or End node not found in the grid.");
+            return viewPane;
+        }
+
+        // Find the path (re-used if this maze was already solved the same way)
+        List<Node> path = MazeCache.shared().findPath(grid, algorithm, start, end);
+
+        stopReplay();
+        showPath(path);
+
+        return viewPane;
+    }
+
+    /**
+     * Runs the solver with the trace attached (the solver must record into
+     * it, see BFSAlgorithm/AStarAlgorithm.setTrace), then replays the logged
+     * events at the given rate. Each frame paints every event due since the
+     * last one, so a fast replay of a big search costs one batch per frame.
+     * The path is shown once the replay finishes.
+     */
+    public Pane animateSearch(PathFindingAlgorithm algorithm, SearchTrace trace, double eventsPerSecond) {
+        if (algorithm == null || grid == null)
+            return viewPane;
+
+        Node start = grid.getStartNode();
+        Node end = grid.getEndNode();
+        if (start == null || end == null) {
+            System.err.println("Start or End node not found in the grid.");
+            return viewPane;
+        }
+
+        // Solved directly rather than through MazeCache: a cached path has no trace
+        List<Node> path = algorithm.findPath(grid, start, end);
+        if (trace.isTruncated())
+            System.err.println("Search trace full after " + trace.size() + " events; replay is partial.");
+
+        stopReplay();
+        showPath(List.of());
+        replay = trace;
+        replayed = 0;
+
+        animation = new AnimationTimer() {
+            private long startedAt = -1;
+
+            @Override
+            public void handle(long now) {
+                if (startedAt < 0)
+                    startedAt = now;
+                int due = (int) Math.min(trace.size(), (now - startedAt) / 1e9 * eventsPerSecond);
+                drawTrace(canvas.getGraphicsContext2D(), replayed, due);
+                replayed = due;
+
+                if (due == trace.size()) {
+                    stop();
+                    showPath(path);
+                }
+            }
+        };
+        animation.start();
+        return viewPane;
+    }
+
+    /**
+     * Searches the steps/weight Pareto front on a background thread and adds
+     * each path to the view as it is found, fewest steps first, so the first
+     * routes show before the lightest one is known. Each path gets its own
+     * colour where cells are drawn one by one (the overview keeps them
+     * yellow); the listener (may be null) gets each path and its colour.
+     */
+    public Pane drawParetoFront(ParetoFrontAlgorithm algorithm, FrontPathListener listener) {
+        if (algorithm == null || grid == null)
+            return viewPane;
+
+        Node start = grid.getStartNode();
+        Node end = grid.getEndNode();
+        if (start == null || end == null) {
+            System.err.println("Start or End node not found in the grid.");
+            return viewPane;
+        }
+
+        stopReplay();
+        showPath(List.of());
+
+        Grid searched = grid;
+        int run = frontRun;
+        frontSearch = new Thread(() -> algorithm.front(searched, start, end, path -> Platform.runLater(() -> {
+            // A new maze or path was shown meanwhile
+            if (run != frontRun)
+                return;
+            int color = frontColor(frontPaths++);
+            addPath(path.cells(), color);
+            if (listener != null)
+                listener.onPath(path, toColor(color));
+        })), "pareto-front");
+        frontSearch.setDaemon(true);
+        frontSearch.start();
+        return viewPane;
+    }
+
+    private void stopReplay() {
+        if (frontSearch != null)
+            frontSearch.interrupt();
+        frontSearch = null;
+        frontRun++;
+
+        if (animation != null)
+            animation.stop();
+        animation = null;
+        replay = null;
+        replayed = 0;
+    }
+
+    // Keep the current zoom and pan, only the colours change
+    private void showPath(List<Node> path) {
+        pathCells = new BitSet();
+        for (Node n : path)
+            pathCells.set(n.y * grid.getWidth() + n.x);
+        raster = new MazeRaster(grid, pathCells);
+        frontColors.clear();
+        frontPaths = 0;
+        render();
+    }
+
+    // Overlay one more path (cell indexes) in its own colour; the raster only touches the pixels over it
+    private void addPath(int[] cells, int color) {
+        for (int cell : cells)
+            frontColors.put(cell, color);
+        raster.addPath(cells);
+        render();
+    }
+
+    // Well spread hues (golden angle steps), bright enough on the dark maze; ARGB like the raster
+    private static int frontColor(int index) {
+        Color c = Color.hsb(index * 137.508 % 360, 0.85, 1.0);
+        return 0xFF000000 | (int) Math.round(c.getRed() * 255) << 16 | (int) Math.round(c.getGreen() * 255) << 8
+                | (int) Math.round(c.getBlue() * 255);
+    }
+
+    // Raster colour, except path cells of a front path take that path's colour
+    private int colorAt(int x, int y) {
+        int color = raster.cellColor(x, y);
+        if (color == MazeRaster.PATH && !frontColors.isEmpty())
+            return frontColors.getOrDefault(y * grid.getWidth() + x, color);
+        return color;
+    }
+
+    /**
+     * Rows fromRow..toRow of the current grid were edited in place. The
+     * raster refreshes only the mipmap pixels over those rows; zoomed in,
+     * only those rows are repainted, zoomed out the (viewport-sized) view is
+     * redrawn from the updated levels.
+     */
+    public void repaintRows(int fromRow, int toRow) {
+        if (grid == null)
+            return;
+        raster.rowsChanged(fromRow, toRow);
+        if (scale < CELL_SCALE || replay != null) {
+            render();
+            return;
+        }
+
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        int y0 = Math.max(fromRow, (int) Math.floor(originY));
+        int y1 = Math.min(toRow + 1, (int) Math.ceil(originY + maxHeight / scale));
+        if (y0 >= y1)
+            return;
+        g.setFill(BACKGROUND);
+        g.fillRect(0, (y0 - originY) * scale, maxWidth, (y1 - y0) * scale);
+        drawCells(g, y0, y1);
+    }
+
+    // Whole maze in view
+    private double fitScale() {
+        return Math.min(MAX_SCALE, Math.min((double) maxWidth / grid.getWidth(), (double) maxHeight / grid.getHeight()));
+    }
+
+    private void zoomAt(double x, double y, double factor) {
+        if (grid == null)
+            return;
+        double newScale = Math.max(fitScale(), Math.min(MAX_SCALE, scale * factor));
+
+        // Keep the cell under the cursor where it is
+        originX += x / scale - x / newScale;
+        originY += y / scale - y / newScale;
+        scale = newScale;
+        clampView();
+        render();
+    }
+
+    // Centre an axis that fits in the viewport, otherwise keep it inside the maze
+    private void clampView() {
+        double viewCellsX = maxWidth / scale;
+        double viewCellsY = maxHeight / scale;
+        if (grid.getWidth() <= viewCellsX)
+            originX = (grid.getWidth() - viewCellsX) / 2;
+        else
+            originX = Math.max(0, Math.min(grid.getWidth() - viewCellsX, originX));
+        if (grid.getHeight() <= viewCellsY)
+            originY = (grid.getHeight() - viewCellsY) / 2;
+        else
+            originY = Math.max(0, Math.min(grid.getHeight() - viewCellsY, originY));
+    }
+
+    private void render() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, maxWidth, maxHeight);
+        if (grid == null)
+            return;
+
+        if (scale >= CELL_SCALE)
+            drawCells(g, 0, grid.getHeight());
+        else
+            drawRaster(g);
+
+        if (replay != null)
+            drawTrace(g, 0, replayed);
+    }
+
+    // Paint trace events [from, to) that fall inside the viewport; path, start and end stay on top
+    private void drawTrace(GraphicsContext g, int from, int to) {
+        int width = grid.getWidth();
+        double size = Math.max(1, scale);
+        double viewCellsX = maxWidth / scale;
+        double viewCellsY = maxHeight / scale;
+        Node start = grid.getStartNode();
+        Node end = grid.getEndNode();
+
+        for (int i = from; i < to; i++) {
+            int cell = replay.cell(i);
+            int x = cell % width;
+            int y = cell / width;
+            if (x + 1 < originX || y + 1 < originY || x > originX + viewCellsX || y > originY + viewCellsY)
+                continue;
+            if (pathCells.get(cell) || (start != null && start.x == x && start.y == y)
+                    || (end != null && end.x == x && end.y == y))
+                continue;
+
+            double sx = (x - originX) * scale;
+            double sy = (y - originY) * scale;
+            g.setFill(replay.type(i) == SearchTrace.CLOSE ? TRACE_CLOSE : TRACE_OPEN);
+            if (scale >= BORDER_SCALE) {
+                g.fillRect(sx + 1, sy + 1, size - 2, size - 2);
+            } else {
+                g.fillRect(sx, sy, size, size);
+            }
+        }
+    }
+
+    // Zoomed in: one square per visible cell of rows fromRow..toRow-1 (walls, start, end, weights || path)
+    private void drawCells(GraphicsContext g, int fromRow, int toRow) {
+        int x0 = Math.max(0, (int) Math.floor(originX));
+        int y0 = Math.max(fromRow, (int) Math.floor(originY));
+        int x1 = Math.min(grid.getWidth(), (int) Math.ceil(originX + maxWidth / scale));
+        int y1 = Math.min(toRow, (int) Math.ceil(originY + maxHeight / scale));
+
+        boolean borders = scale >= BORDER_SCALE;
+        boolean labels = scale >= LABEL_SCALE;
+        g.setStroke(Color.web("#333333"));
+        g.setLineWidth(1);
+        if (labels) {
+            g.setFont(Font.font(Font.getDefault().getFamily(), FontWeight.BOLD, (int) scale / 3));
+            g.setTextAlign(TextAlignment.CENTER);
+            g.setTextBaseline(VPos.CENTER);
+        }
+
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                double sx = (x - originX) * scale;
+                double sy = (y - originY) * scale;
+
+                g.setFill(toColor(colorAt(x, y)));
+                g.fillRect(sx, sy, scale, scale);
+                if (borders)
+                    g.strokeRect(sx, sy, scale, scale);
+
+                // Weight label on weighted cells
+                Node n = grid.getNode(x, y);
+                if (labels && n.getWeight() >= 1 && !n.isStart() && !n.isEnd()) {
+                    g.setFill(Color.BLACK);
+                    g.fillText(String.valueOf(n.getWeight()), sx + scale / 2, sy + scale / 2);
+                }
+            }
+        }
+
+        // Final re-draw of start/end to ensure they are on top of the path color
+        drawStartEndNodes(g);
+    }
+
+    // draw start/end on top
+    private void drawStartEndNodes(GraphicsContext g) {
+        Node start = grid.getStartNode();
+        Node end = grid.getEndNode();
+
+        g.setStroke(Color.web("#CCCCCC")); // Light border
+        if (start != null) {
+            drawSpecialRect(g, start, Color.GREEN);
+        }
+        if (end != null) {
+            boolean reached = pathCells.get(end.y * grid.getWidth() + end.x);
+            drawSpecialRect(g, end, reached ? Color.RED.darker() : Color.RED);
+        }
+    }
+
+    private void drawSpecialRect(GraphicsContext g, Node n, Color color) {
+        double sx = (n.x - originX) * scale;
+        double sy = (n.y - originY) * scale;
+        g.setFill(color);
+        g.fillRect(sx, sy, scale, scale);
+        g.strokeRect(sx, sy, scale, scale);
+    }
+
+    /**
+     * Zoomed out: one pixel per cell (or per 2^L x 2^L block from mipmap
+     * level L, picked so a source pixel is at most one screen pixel), copied
+     * into a scratch image for the visible window and scaled onto the canvas.
+     */
+    private void drawRaster(GraphicsContext g) {
+        int level = 0;
+        while (level < raster.maxLevel() && scale * (1 << (level + 1)) <= 1)
+            level++;
+        int block = 1 << level;
+
+        int lw = raster.levelWidth(level);
+        int lh = raster.levelHeight(level);
+        int px0 = Math.max(0, (int) Math.floor(originX / block));
+        int py0 = Math.max(0, (int) Math.floor(originY / block));
+        int px1 = Math.min(lw, (int) Math.ceil((originX + maxWidth / scale) / block));
+        int py1 = Math.min(lh, (int) Math.ceil((originY + maxHeight / scale) / block));
+        int w = px1 - px0;
+        int h = py1 - py0;
+        if (w <= 0 || h <= 0)
+            return;
+
+        if (frame == null || frame.getWidth() < w || frame.getHeight() < h)
+            frame = new WritableImage(Math.max(w, frame == null ? 0 : (int) frame.getWidth()),
+                    Math.max(h, frame == null ? 0 : (int) frame.getHeight()));
+
+        if (level == 0) {
+            if (framePixels.length < w * h)
+                framePixels = new int[w * h];
+            for (int y = 0; y < h; y++)
+                for (int x = 0; x < w; x++)
+                    framePixels[y * w + x] = colorAt(px0 + x, py0 + y);
+            frame.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), framePixels, 0, w);
+        } else {
+            frame.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), raster.level(level),
+                    py0 * lw + px0, lw);
+        }
+
+        // Crisp cells when magnified, smoothed when several source pixels share a screen pixel
+        g.setImageSmoothing(scale * block < 1);
+        g.drawImage(frame, 0, 0, w, h,
+                (px0 * block - originX) * scale, (py0 * block - originY) * scale,
+                w * block * scale, h * block * scale);
+    }
+
+    private static Color toColor(int argb) {
+        return Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+    }
+}